@@ -0,0 +1,84 @@
+package com.logicleaf.invplatform.service;
+
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.PageSize;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.jfree.chart.JFreeChart;
+import org.jfree.data.category.DefaultCategoryDataset;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The two report charts embedded in a one-page PDF, rasterized to PNG (the old path, without the chart cache)
+ * versus drawn as vector graphics. Run with {@code -prof gc} for allocation; the PDF size of each path is
+ * reported alongside the timings as the {@code pdfBytes} secondary result.
+ */
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ChartEmbeddingBenchmark {
+
+    @Param({"RASTER", "VECTOR"})
+    public String embedding;
+
+    private DefaultCategoryDataset revenue;
+    private DefaultCategoryDataset burnAndRunway;
+
+    @Setup
+    public void setUp() throws Exception {
+        revenue = new DefaultCategoryDataset();
+        PdfGeneratorService.addSampleRevenue(revenue);
+        burnAndRunway = new DefaultCategoryDataset();
+        PdfGeneratorService.addSampleBurnAndRunway(burnAndRunway);
+    }
+
+    /**
+     * Size of the PDF the benchmark produces. Every document in a run is the same, so this is simply the last one.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PdfSize {
+        public long pdfBytes;
+    }
+
+    @Benchmark
+    public byte[] chartsPdf(PdfSize size) throws Exception {
+        Document document = new Document(PageSize.A4, 36, 36, 54, 36);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+        document.add(embed(writer, PdfGeneratorService.revenueGrowthChart(revenue)));
+        document.add(embed(writer, PdfGeneratorService.burnVsRunwayChart(burnAndRunway)));
+        document.close();
+        byte[] pdf = out.toByteArray();
+        size.pdfBytes = pdf.length;
+        return pdf;
+    }
+
+    private Image embed(PdfWriter writer, JFreeChart chart) throws Exception {
+        Image image = "VECTOR".equals(embedding)
+                ? PdfGeneratorService.vectorImage(writer, chart, PdfGeneratorService.CHART_WIDTH,
+                        PdfGeneratorService.CHART_HEIGHT)
+                : Image.getInstance(PdfGeneratorService.chartToBytes(chart, PdfGeneratorService.CHART_WIDTH,
+                        PdfGeneratorService.CHART_HEIGHT));
+        image.scaleToFit(450, 250);
+        return image;
+    }
+}
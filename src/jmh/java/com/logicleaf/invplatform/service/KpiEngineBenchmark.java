@@ -0,0 +1,94 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard KPIs over synthetic Zoho lists: all of them in the engine's single pass, and each KPI alone
+ * so a regression can be pinned on one of them. Throughput plus sampled latency percentiles; add
+ * {@code -prof gc} (the profile's default) for allocation rate.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KpiEngineBenchmark {
+
+    // Contacts and invoices each; expenses are a tenth of that
+    @Param({"1000", "10000", "100000"})
+    public int records;
+
+    private List<ZohoContact> contacts;
+    private List<ZohoInvoice> invoices;
+    private List<ZohoExpense> expenses;
+    private KpiScope scope;
+
+    private KpiEngine allKpis;
+    private KpiEngine churn;
+    private KpiEngine lifetimeValue;
+    private KpiEngine acquisitionCost;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.of(2025, 9, 15);
+        SyntheticZohoData data = new SyntheticZohoData(42L, today);
+        contacts = data.contacts(records);
+        invoices = data.invoices(records);
+        expenses = data.expenses(Math.max(1, records / 10), DashboardWindow.DEFAULT_MONTHS);
+
+        LocalDate previousMonth = today.minusMonths(1);
+        YearMonth month = YearMonth.from(today);
+        DashboardWindow window = DashboardWindow.of(month.minusMonths(DashboardWindow.DEFAULT_MONTHS - 1L), month,
+                RollupPeriod.MONTH);
+        scope = KpiScope.of(today, previousMonth.withDayOfMonth(1),
+                previousMonth.withDayOfMonth(previousMonth.lengthOfMonth()), window,
+                SyntheticZohoData.profitAndLoss(records * 5_000.0));
+
+        allKpis = new KpiEngine(List.of(new ChurnKpi(), new LifetimeValueKpi(), new AcquisitionCostKpi()));
+        churn = new KpiEngine(List.of(new ChurnKpi()));
+        lifetimeValue = new KpiEngine(List.of(new LifetimeValueKpi()));
+        acquisitionCost = new KpiEngine(List.of(new AcquisitionCostKpi()));
+    }
+
+    @Benchmark
+    public Map<String, Double> allKpis() {
+        return allKpis.evaluate(contacts, invoices, expenses, scope);
+    }
+
+    @Benchmark
+    public Map<String, Double> churn() {
+        return churn.evaluate(contacts, invoices, expenses, scope);
+    }
+
+    @Benchmark
+    public Map<String, Double> lifetimeValue() {
+        return lifetimeValue.evaluate(contacts, invoices, expenses, scope);
+    }
+
+    @Benchmark
+    public Map<String, Double> acquisitionCost() {
+        return acquisitionCost.evaluate(contacts, invoices, expenses, scope);
+    }
+}
@@ -0,0 +1,63 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.dto.ZohoSalesOrder;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The revenue/burn chart series: sales orders summed per month of the window, then folded into quarters.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MonthBucketingBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    public int records;
+
+    private List<ZohoSalesOrder> salesOrders;
+    private DashboardWindow monthly;
+    private DashboardWindow quarterly;
+
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.of(2025, 9, 15);
+        salesOrders = new SyntheticZohoData(7L, today).salesOrders(records, 24);
+
+        YearMonth to = YearMonth.from(today);
+        monthly = DashboardWindow.of(to.minusMonths(DashboardWindow.DEFAULT_MONTHS - 1L), to, RollupPeriod.MONTH);
+        quarterly = DashboardWindow.of(to.minusMonths(23), to, RollupPeriod.QUARTER);
+    }
+
+    @Benchmark
+    public double[] defaultWindow() {
+        return DashboardService.bucketByMonth(salesOrders, ZohoSalesOrder::getDate, ZohoSalesOrder::getTotal,
+                monthly);
+    }
+
+    @Benchmark
+    public double[] twoYearsByQuarter() {
+        double[] months = DashboardService.bucketByMonth(salesOrders, ZohoSalesOrder::getDate,
+                ZohoSalesOrder::getTotal, quarterly);
+        return DashboardService.toBuckets(months, quarterly);
+    }
+}
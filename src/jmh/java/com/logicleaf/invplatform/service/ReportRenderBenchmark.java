@@ -0,0 +1,61 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.model.TimelyReport;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole timely report renders, as when a batch of startups' reports is generated at once.
+ * The report has no startup id, so the charts use the placeholder series and no metrics are read.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+@State(Scope.Benchmark)
+public class ReportRenderBenchmark {
+
+    private PdfGeneratorService pdfGeneratorService;
+    private TimelyReport report;
+
+    @Setup
+    public void setUp() {
+        pdfGeneratorService = new PdfGeneratorService();
+        ReflectionTestUtils.setField(pdfGeneratorService, "vectorCharts", true);
+
+        report = TimelyReport.builder()
+                .title("Monthly update")
+                .reportingPeriod("September 2025")
+                .monthlyRevenue(27.5)
+                .monthlyBurn(12.0)
+                .cashRunway(14)
+                .teamSize(23)
+                .keyAchievements("• Closed two enterprise pilots\n• Shipped the investor portal")
+                .challengesAndLearnings("• Hiring for senior backend roles is slow")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] singleThread() {
+        return pdfGeneratorService.generateTimelyReportPdf(report, "Acme Analytics");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] fourThreads() {
+        return pdfGeneratorService.generateTimelyReportPdf(report, "Acme Analytics");
+    }
+}
@@ -0,0 +1,98 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.dto.ZohoProfitAndLoss;
+import com.logicleaf.invplatform.dto.ZohoSalesOrder;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Zoho lists shaped like what the mirror hands to the dashboard, generated from a fixed seed so every
+ * run and every fork sees the same data. Mixes are rough guesses at a typical startup: mostly active
+ * customers, some vendors, a few contacts without a created date, and three years of history.
+ */
+final class SyntheticZohoData {
+
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final String[] INVOICE_STATUSES = {"paid", "paid", "paid", "paid", "sent", "sent", "overdue", "draft"};
+    private static final String[] EXPENSE_ACCOUNTS = {"Marketing", "Rent", "Salaries", "Software", "Travel"};
+
+    private final Random random;
+    private final LocalDate today;
+
+    SyntheticZohoData(long seed, LocalDate today) {
+        this.random = new Random(seed);
+        this.today = today;
+    }
+
+    List<ZohoContact> contacts(int count) {
+        List<ZohoContact> contacts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String type = random.nextInt(10) < 9 ? "customer" : "vendor";
+            int roll = random.nextInt(100);
+            String status = roll < 80 ? "active" : roll < 95 ? "inactive" : null;
+            String created = random.nextInt(50) == 0
+                    ? null
+                    : daysAgo(random.nextInt(3 * 365)).format(DATE) + "T10:15:30+0530";
+            contacts.add(new ZohoContact("c" + i, type, status, created));
+        }
+        return contacts;
+    }
+
+    List<ZohoInvoice> invoices(int count) {
+        List<ZohoInvoice> invoices = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ZohoInvoice invoice = new ZohoInvoice();
+            invoice.setStatus(INVOICE_STATUSES[random.nextInt(INVOICE_STATUSES.length)]);
+            invoice.setTotal(amount());
+            invoices.add(invoice);
+        }
+        return invoices;
+    }
+
+    /**
+     * Expenses dated within the last {@code months} months, as the dashboard reads them for its window.
+     */
+    List<ZohoExpense> expenses(int count, int months) {
+        List<ZohoExpense> expenses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ZohoExpense expense = new ZohoExpense();
+            expense.setDate(daysAgo(random.nextInt(months * 30)).format(DATE));
+            expense.setTotal(amount());
+            expense.setAccountName(EXPENSE_ACCOUNTS[random.nextInt(EXPENSE_ACCOUNTS.length)]);
+            expenses.add(expense);
+        }
+        return expenses;
+    }
+
+    List<ZohoSalesOrder> salesOrders(int count, int months) {
+        List<ZohoSalesOrder> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ZohoSalesOrder order = new ZohoSalesOrder();
+            order.setDate(daysAgo(random.nextInt(months * 30)).format(DATE));
+            order.setTotal(amount());
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    static ZohoProfitAndLoss profitAndLoss(double grossProfit) {
+        ZohoProfitAndLoss pnl = new ZohoProfitAndLoss();
+        pnl.getSections().add(new ZohoProfitAndLoss.Section("Gross Profit", grossProfit));
+        return pnl;
+    }
+
+    private LocalDate daysAgo(int days) {
+        return today.minusDays(days);
+    }
+
+    private double amount() {
+        return 100 + random.nextInt(50_000);
+    }
+}
@@ -0,0 +1,130 @@
+package com.logicleaf.invplatform.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Executors for work that fans out to remote systems.
+ * We are on Java 17, so this is a bounded platform-thread pool rather than virtual threads.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Value("${zoho.executor.core-size:16}")
+    private int zohoCoreSize;
+
+    @Value("${zoho.executor.max-size:32}")
+    private int zohoMaxSize;
+
+    @Value("${zoho.executor.queue-capacity:200}")
+    private int zohoQueueCapacity;
+
+    @Value("${zoho.sync.executor.size:4}")
+    private int syncPoolSize;
+
+    @Value("${zoho.sync.executor.queue-capacity:1000}")
+    private int syncQueueCapacity;
+
+    @Value("${dashboard.snapshot.executor.size:2}")
+    private int snapshotPoolSize;
+
+    @Value("${dashboard.snapshot.executor.queue-capacity:500}")
+    private int snapshotQueueCapacity;
+
+    @Value("${portfolio.executor.size:8}")
+    private int portfolioPoolSize;
+
+    @Value("${portfolio.executor.queue-capacity:500}")
+    private int portfolioQueueCapacity;
+
+    @Value("${reports.publish.executor.size:2}")
+    private int reportPoolSize;
+
+    @Value("${reports.publish.executor.queue-capacity:100}")
+    private int reportQueueCapacity;
+
+    /**
+     * Runs blocking Zoho calls. When the queue is full submissions are rejected,
+     * and callers treat that as a degraded section instead of piling up work.
+     */
+    @Bean(name = "zohoExecutor")
+    public ThreadPoolTaskExecutor zohoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(zohoCoreSize);
+        executor.setMaxPoolSize(zohoMaxSize);
+        executor.setQueueCapacity(zohoQueueCapacity);
+        executor.setThreadNamePrefix("zoho-");
+        // Lets ZohoResponseCache tell its own pool's threads apart
+        executor.setThreadGroupName("zoho");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs scheduled Zoho mirror syncs, one startup per task, so a slow or rate-limited org
+     * holds one of these threads instead of the shared scheduler thread.
+     */
+    @Bean(name = "syncExecutor")
+    public ThreadPoolTaskExecutor syncExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(syncPoolSize);
+        executor.setMaxPoolSize(syncPoolSize);
+        executor.setQueueCapacity(syncQueueCapacity);
+        executor.setThreadNamePrefix("zoho-sync-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Recomputes dashboard snapshots in the background. Each recompute fans out on zohoExecutor,
+     * so a couple of threads is enough.
+     */
+    @Bean(name = "snapshotExecutor")
+    public ThreadPoolTaskExecutor snapshotExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(snapshotPoolSize);
+        executor.setMaxPoolSize(snapshotPoolSize);
+        executor.setQueueCapacity(snapshotQueueCapacity);
+        executor.setThreadNamePrefix("snapshot-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Computes portfolio companies' dashboards for investor analytics, one company per task.
+     * Each task fans out on zohoExecutor in turn, so this pool size caps how many companies
+     * are in flight across all investors at once.
+     */
+    @Bean(name = "portfolioExecutor")
+    public ThreadPoolTaskExecutor portfolioExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(portfolioPoolSize);
+        executor.setMaxPoolSize(portfolioPoolSize);
+        executor.setQueueCapacity(portfolioQueueCapacity);
+        executor.setThreadNamePrefix("portfolio-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Runs timely report publishing jobs (PDF rendering and investor mail). Jobs are persisted,
+     * so one rejected by a full queue is picked up later by the publishing scheduler.
+     */
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(reportPoolSize);
+        executor.setMaxPoolSize(reportPoolSize);
+        executor.setQueueCapacity(reportQueueCapacity);
+        executor.setThreadNamePrefix("report-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -2,6 +2,7 @@ package com.logicleaf.invplatform.config;
 
 import com.logicleaf.invplatform.security.JwtAuthenticationEntryPoint;
 import com.logicleaf.invplatform.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -56,6 +57,8 @@ public class SecurityConfig {
             .exceptionHandling(ex -> ex.authenticationEntryPoint(unauthorizedHandler))
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
+                    // Async dispatches (SSE streams) were authorized on the original request
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                     .requestMatchers(
                             "/api/auth/**",
                             "/v3/api-docs/**",
@@ -105,6 +108,8 @@ public class SecurityConfig {
          config.setAllowedOrigins(List.of("*"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        // Lets browser clients read ETag to send it back as If-None-Match, and Location of publishing jobs
+        config.setExposedHeaders(List.of("ETag", "Location"));
         // config.setAllowCredentials(true);
         config.setMaxAge(3600L);
 
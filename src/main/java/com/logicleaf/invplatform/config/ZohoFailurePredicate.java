@@ -0,0 +1,22 @@
+package com.logicleaf.invplatform.config;
+
+import com.logicleaf.invplatform.exception.ZohoApiException;
+
+import java.util.function.Predicate;
+
+/**
+ * What counts against a Zoho circuit breaker: network failures and 5xx. A 4xx (bad token,
+ * bad filter) says nothing about Zoho's health and must not open the breaker.
+ * Referenced from resilience4j.circuitbreaker.configs.default.record-failure-predicate.
+ */
+public class ZohoFailurePredicate implements Predicate<Throwable> {
+
+    @Override
+    public boolean test(Throwable throwable) {
+        if (throwable instanceof ZohoApiException zohoException) {
+            int status = zohoException.getStatusCode();
+            return status == 0 || status >= 500;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.logicleaf.invplatform.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shared HTTP client for all Zoho traffic (OAuth + Books APIs).
+ * One keep-alive pool means we pay the TLS handshake to zohoapis.in once per connection, not per call.
+ */
+@Configuration
+public class ZohoHttpConfig {
+
+    @Value("${zoho.http.max-idle-connections:20}")
+    private int maxIdleConnections;
+
+    @Value("${zoho.http.keep-alive-seconds:300}")
+    private long keepAliveSeconds;
+
+    @Value("${zoho.http.connect-timeout-ms:3000}")
+    private long connectTimeoutMs;
+
+    @Value("${zoho.http.read-timeout-ms:15000}")
+    private long readTimeoutMs;
+
+    // Bounds the whole call, so a response that trickles in under the read timeout still ends
+    @Value("${zoho.http.call-timeout-ms:30000}")
+    private long callTimeoutMs;
+
+    @Bean
+    public ConnectionPool zohoConnectionPool(MeterRegistry meterRegistry) {
+        ConnectionPool pool = new ConnectionPool(maxIdleConnections, keepAliveSeconds, TimeUnit.SECONDS);
+
+        Gauge.builder("zoho.http.pool.connections", pool, ConnectionPool::connectionCount)
+                .description("Open connections in the Zoho HTTP pool")
+                .register(meterRegistry);
+        Gauge.builder("zoho.http.pool.idle", pool, ConnectionPool::idleConnectionCount)
+                .description("Idle keep-alive connections in the Zoho HTTP pool")
+                .register(meterRegistry);
+
+        return pool;
+    }
+
+    @Bean
+    public OkHttpClient zohoOkHttpClient(ConnectionPool zohoConnectionPool) {
+        return new OkHttpClient.Builder()
+                .connectionPool(zohoConnectionPool)
+                .protocols(List.of(Protocol.HTTP_2, Protocol.HTTP_1_1))
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .readTimeout(Duration.ofMillis(readTimeoutMs))
+                .callTimeout(Duration.ofMillis(callTimeoutMs))
+                .retryOnConnectionFailure(true)
+                .build();
+    }
+}
@@ -1,34 +1,161 @@
 package com.logicleaf.invplatform.controller;
 
-import com.logicleaf.invplatform.dto.FounderDashboardResponse;
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.model.DashboardSnapshot;
+import com.logicleaf.invplatform.model.RollupPeriod;
 import com.logicleaf.invplatform.service.DashboardService;
+import com.logicleaf.invplatform.service.DashboardSnapshotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.YearMonth;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api")
 public class DashboardController {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardController.class);
+
+    // Browsers keep the dashboard but revalidate on every view, which is a 304 until the snapshot changes
+    private static final CacheControl SNAPSHOT_CACHING = CacheControl.noCache().cachePrivate();
+
+    @Autowired
+    private DashboardSnapshotService dashboardSnapshotService;
+
     @Autowired
     private DashboardService dashboardService;
 
+    @Value("${dashboard.stream.timeout-ms:30000}")
+    private long streamTimeoutMs;
+
     @PreAuthorize("hasRole('FOUNDER')")
     @GetMapping("/founder/dashboard")
-    public ResponseEntity<?> getFounderDashboard(@AuthenticationPrincipal UserDetails userDetails) {
-        FounderDashboardResponse dashboard = dashboardService.getFounderDashboardData(userDetails.getUsername());
+    public ResponseEntity<?> getFounderDashboard(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean fresh,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) RollupPeriod granularity,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        DashboardWindow window = DashboardWindow.of(from, to, granularity);
+
+        // Stored snapshots are tagged by version; answer 304 before the snapshot body is even read
+        if (ifNoneMatch != null && window.isDefault() && !fresh) {
+            DashboardSnapshot current = dashboardSnapshotService.findVersion(userDetails.getUsername());
+            if (current != null) {
+                String etag = ETags.of(current.getStartupId(), current.getVersion());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    return ETags.notModified(etag, SNAPSHOT_CACHING);
+                }
+            }
+        }
+
+        DashboardSnapshot snapshot = dashboardSnapshotService.getDashboard(userDetails.getUsername(), window, fresh);
 
         Map<String, Object> response = new HashMap<>();
         response.put("status", "success");
         response.put("message", "Founder dashboard fetched successfully");
-        response.put("data", dashboard);
+        response.put("data", snapshot.getDashboard());
+        response.put("computedAt", snapshot.getComputedAt());
+        response.put("version", snapshot.getVersion());
+
+        // Version 0 means computed on the spot and not stored, so there is nothing to revalidate against
+        if (snapshot.getVersion() > 0) {
+            return ResponseEntity.ok()
+                    .eTag(ETags.of(snapshot.getStartupId(), snapshot.getVersion()))
+                    .cacheControl(SNAPSHOT_CACHING)
+                    .body(response);
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(response);
+    }
+
+    /**
+     * Streams the founder dashboard as Server-Sent Events, one event per section as soon as its data is in:
+     * monthlyGoalsProgress, revenueGrowth, burnRateAnalysis, cashRunwayMonths, keyPerformanceIndicators and
+     * teamSize, in whatever order they finish. A final "complete" event carries the degraded sections, after
+     * which the stream is closed. Always computed live; the snapshot-backed endpoint above stays the cheap one.
+     * If the client disconnects or the stream times out, the sections still pending are cancelled.
+     */
+    @PreAuthorize("hasRole('FOUNDER')")
+    @GetMapping(value = "/founder/dashboard/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamFounderDashboard(@AuthenticationPrincipal UserDetails userDetails,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM") YearMonth to,
+            @RequestParam(required = false) RollupPeriod granularity) {
+        DashboardWindow window = DashboardWindow.of(from, to, granularity);
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+
+        CompletableFuture<List<String>> stream = dashboardService.streamFounderDashboard(
+                userDetails.getUsername(), window, (section, data) -> send(emitter, section, data));
+        emitter.onTimeout(() -> {
+            stream.cancel(true);
+            emitter.complete();
+        });
+        emitter.onError(error -> stream.cancel(true));
+        emitter.onCompletion(() -> stream.cancel(true));
+
+        stream.whenComplete((degradedSections, error) -> {
+            if (error == null) {
+                try {
+                    send(emitter, "complete", Map.of("degradedSections", degradedSections));
+                    emitter.complete();
+                } catch (UncheckedIOException e) {
+                    emitter.completeWithError(e.getCause());
+                }
+                return;
+            }
+
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof CancellationException) {
+                // Cancelled by the emitter callbacks above; the emitter is already done
+                return;
+            }
+            if (cause instanceof UncheckedIOException) {
+                // Client went away; nothing left to tell it
+                emitter.completeWithError(cause.getCause());
+                return;
+            }
+            logger.warn("Dashboard stream for {} failed: {}", userDetails.getUsername(), cause.getMessage());
+            try {
+                send(emitter, "error", Map.of("status", "error",
+                        "message", String.valueOf(cause.getMessage())));
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                emitter.completeWithError(e.getCause());
+            }
+        });
+
+        return emitter;
+    }
 
-        return ResponseEntity.ok(response);
+    private static void send(SseEmitter emitter, String event, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 }
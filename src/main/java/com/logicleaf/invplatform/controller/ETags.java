@@ -0,0 +1,66 @@
+package com.logicleaf.invplatform.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Strong ETags for conditional GETs. The tag is a hash of whatever versions the response body is built
+ * from, so a controller can answer {@code If-None-Match} with a 304 before doing the expensive work:
+ *
+ * <pre>
+ * String etag = ETags.of(userId, snapshotVersion);
+ * if (ETags.matches(ifNoneMatch, etag)) {
+ *     return ETags.notModified(etag, cacheControl);
+ * }
+ * </pre>
+ *
+ * The full response then carries the same tag via {@code ResponseEntity.eTag(...)}.
+ * Every input that can change the body must be part of the tag, including the caller's id,
+ * since the same URL returns different bodies per user.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Object... parts) {
+        StringJoiner joined = new StringJoiner("|");
+        for (Object part : parts) {
+            joined.add(Objects.toString(part));
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(joined.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header value names {@code etag}, using the weak comparison
+     * RFC 9110 prescribes for that header.
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static ResponseEntity<?> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
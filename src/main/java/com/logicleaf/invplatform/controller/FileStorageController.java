@@ -10,6 +10,8 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/document")
 public class FileStorageController {
@@ -25,16 +27,15 @@ public class FileStorageController {
     @GetMapping("/download")
     public ResponseEntity<Resource> downloadFile(@RequestParam String fileName) {
         try {
-            byte[] data = fileStorageService.downloadFile(fileName);
-
-            ByteArrayResource resource = new ByteArrayResource(data);
+            // Streamed from disk, the file is never loaded into memory
+            Resource resource = fileStorageService.loadFile(fileName);
             return ResponseEntity.ok()
                     .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
                     .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(data.length)
+                    .contentLength(resource.contentLength())
                     .body(resource);
 
-        } catch (RuntimeException e) {
+        } catch (IOException | RuntimeException e) {
             return ResponseEntity
                     .status(404)
                     .body(new ByteArrayResource(("Error: " + e.getMessage()).getBytes()));
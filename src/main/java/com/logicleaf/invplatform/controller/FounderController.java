@@ -1,12 +1,20 @@
 package com.logicleaf.invplatform.controller;
 
 import com.logicleaf.invplatform.dto.InviteInvestorRequest;
+import com.logicleaf.invplatform.dto.MetricEntryRequest;
+import com.logicleaf.invplatform.model.MetricType;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import com.logicleaf.invplatform.model.Startup;
+import com.logicleaf.invplatform.model.StartupMetrics;
 import com.logicleaf.invplatform.service.ConnectionService;
+import com.logicleaf.invplatform.service.StartupMetricsService;
 import jakarta.validation.Valid;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -21,6 +29,9 @@ public class FounderController {
     @Autowired
     private ConnectionService connectionService;
 
+    @Autowired
+    private StartupMetricsService startupMetricsService;
+
     @PreAuthorize("hasRole('FOUNDER')")
     @PostMapping("/connections/invite")
     public ResponseEntity<?> inviteInvestor(@AuthenticationPrincipal UserDetails userDetails,
@@ -51,4 +62,33 @@ public class FounderController {
                 "status", "success",
                 "message", "Connection rejected and removed successfully."));
     }
+
+    @PreAuthorize("hasRole('FOUNDER')")
+    @PostMapping("/metrics")
+    public ResponseEntity<?> recordMetric(@AuthenticationPrincipal UserDetails userDetails,
+            @Valid @RequestBody MetricEntryRequest request) {
+        StartupMetrics point = startupMetricsService.recordManual(userDetails.getUsername(), request);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Metric recorded successfully.",
+                "data", point));
+    }
+
+    // Raw points, or monthly/quarterly rollups when period is given
+    @PreAuthorize("hasRole('FOUNDER')")
+    @GetMapping("/metrics/{metricName}")
+    public ResponseEntity<?> getMetricSeries(@AuthenticationPrincipal UserDetails userDetails,
+            @PathVariable MetricType metricName,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) RollupPeriod period) {
+        Startup startup = startupMetricsService.findStartupForFounder(userDetails.getUsername());
+        Object series = period == null
+                ? startupMetricsService.findSeries(startup.getId(), metricName, from, to)
+                : startupMetricsService.findRollups(startup.getId(), metricName, period, from, to);
+        return ResponseEntity.ok(Map.of(
+                "status", "success",
+                "message", "Metric series fetched successfully.",
+                "data", series));
+    }
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.logicleaf.invplatform.model.Investor;
 import com.logicleaf.invplatform.security.CustomUserDetails;
 import com.logicleaf.invplatform.service.InvestmentService;
 import com.logicleaf.invplatform.service.InvestorService;
+import com.logicleaf.invplatform.service.PortfolioAnalyticsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -23,6 +24,7 @@ public class InvestmentController {
 
     private final InvestmentService investmentService;
     private final InvestorService investorService;
+    private final PortfolioAnalyticsService portfolioAnalyticsService;
 
     @PostMapping
     public ResponseEntity<?> addInvestment(@AuthenticationPrincipal CustomUserDetails userDetails,
@@ -65,4 +67,19 @@ public class InvestmentController {
 
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/analytics")
+    public ResponseEntity<?> getPortfolioAnalytics(
+            @AuthenticationPrincipal CustomUserDetails userDetails,
+            @RequestParam(defaultValue = "false") boolean fresh) {
+        String userId = userDetails.getUser().getId();
+        Investor investor = investorService.findByUserId(userId);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", "Portfolio analytics fetched successfully.");
+        response.put("data", portfolioAnalyticsService.getPortfolioAnalytics(investor.getId(), fresh));
+
+        return ResponseEntity.ok(response);
+    }
 }
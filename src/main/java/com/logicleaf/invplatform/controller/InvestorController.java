@@ -3,22 +3,31 @@ package com.logicleaf.invplatform.controller;
 import com.logicleaf.invplatform.dto.ConnectStartupRequest;
 import com.logicleaf.invplatform.dto.InvestorStartupDTO;
 import com.logicleaf.invplatform.dto.StartupActivityDTO;
+import com.logicleaf.invplatform.model.DashboardSnapshot;
 import com.logicleaf.invplatform.model.Investor;
 import com.logicleaf.invplatform.model.StartupActivity;
+import com.logicleaf.invplatform.model.StartupInvestorMapping;
 import com.logicleaf.invplatform.model.User;
 import com.logicleaf.invplatform.service.ConnectionService;
+import com.logicleaf.invplatform.service.DashboardSnapshotService;
 import com.logicleaf.invplatform.service.InvestorService;
 import com.logicleaf.invplatform.service.StartupActivityService;
 import com.logicleaf.invplatform.service.UserService;
 import com.logicleaf.invplatform.exception.ResourceNotFoundException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -29,6 +38,13 @@ import java.util.stream.Collectors;
 @PreAuthorize("hasRole('INVESTOR')")
 public class InvestorController {
 
+        // Same snapshot and tag the founder gets; revalidated on every view, mostly answered with a 304
+        private static final CacheControl DASHBOARD_CACHING = CacheControl.noCache().cachePrivate();
+
+        // Polled feed; a short max-age absorbs bursts, after that a revalidation that is usually a 304
+        private static final CacheControl ACTIVITY_CACHING = CacheControl.maxAge(Duration.ofSeconds(30))
+                        .cachePrivate();
+
         @Autowired
         private ConnectionService connectionService;
 
@@ -41,6 +57,9 @@ public class InvestorController {
         @Autowired
         private StartupActivityService startupActivityService;
 
+        @Autowired
+        private DashboardSnapshotService dashboardSnapshotService;
+
         @PostMapping("/connections/request")
         public ResponseEntity<?> requestConnection(@AuthenticationPrincipal UserDetails userDetails,
                         @Valid @RequestBody ConnectStartupRequest request) {
@@ -90,14 +109,22 @@ public class InvestorController {
 
         @GetMapping("/startups/latest-activities")
         public ResponseEntity<?> getLatestActivitiesForConnectedStartups(
-                        @AuthenticationPrincipal UserDetails userDetails) {
+                        @AuthenticationPrincipal UserDetails userDetails,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
                 // 1. Verify Investor
                 User user = userService.findByEmail(userDetails.getUsername())
                                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
                 Investor investor = investorService.findByUserId(user.getId());
 
+                // Tag from the mappings, startup names and activity timestamps; 304 before any startup is loaded
+                Collection<StartupInvestorMapping> mappings = investorService.getConnectionMappings(investor.getId());
+                String etag = latestActivitiesETag(investor.getId(), mappings);
+                if (ETags.matches(ifNoneMatch, etag)) {
+                        return ETags.notModified(etag, ACTIVITY_CACHING);
+                }
+
                 // 2. Get all connected startups
-                List<InvestorStartupDTO> startups = investorService.getConnectedStartups(investor.getId());
+                List<InvestorStartupDTO> startups = investorService.getConnectedStartups(mappings);
                 List<String> startupIds = startups.stream()
                                 .map(InvestorStartupDTO::getStartupId)
                                 .collect(Collectors.toList());
@@ -129,7 +156,72 @@ public class InvestorController {
                 response.put("status", "success");
                 response.put("data", activityDTOs);
 
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                                .eTag(etag)
+                                .cacheControl(ACTIVITY_CACHING)
+                                .body(response);
+        }
+
+        @GetMapping("/startups/{startupId}/dashboard")
+        public ResponseEntity<?> getStartupDashboard(@AuthenticationPrincipal UserDetails userDetails,
+                        @PathVariable String startupId,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+                User user = userService.findByEmail(userDetails.getUsername())
+                                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+                Investor investor = investorService.findByUserId(user.getId());
+                investorService.requireActiveConnection(investor.getId(), user.getEmail(), startupId);
+
+                // One cached snapshot per startup serves the founder and every connected investor alike
+                DashboardSnapshot snapshot = dashboardSnapshotService.getSharedSnapshot(startupId);
+                String etag = ETags.of(startupId, snapshot.getVersion());
+                if (snapshot.getVersion() > 0 && ETags.matches(ifNoneMatch, etag)) {
+                        return ETags.notModified(etag, DASHBOARD_CACHING);
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("status", "success");
+                response.put("message", "Startup dashboard fetched successfully");
+                response.put("data", snapshot.getDashboard());
+                response.put("computedAt", snapshot.getComputedAt());
+                response.put("version", snapshot.getVersion());
+
+                if (snapshot.getVersion() > 0) {
+                        return ResponseEntity.ok()
+                                        .eTag(etag)
+                                        .cacheControl(DASHBOARD_CACHING)
+                                        .body(response);
+                }
+                return ResponseEntity.ok()
+                                .cacheControl(CacheControl.noStore())
+                                .body(response);
+        }
+
+        /**
+         * Everything the feed is built from: which mappings the investor has, each startup's name, and each
+         * activity's updatedAt together with its "time ago" text, so the tag also turns over as that text ages.
+         */
+        private String latestActivitiesETag(String investorId, Collection<StartupInvestorMapping> connections) {
+                List<String> mappings = new ArrayList<>();
+                List<String> startupIds = new ArrayList<>();
+                for (StartupInvestorMapping mapping : connections) {
+                        mappings.add(mapping.getId() + ":" + mapping.getStartupId() + ":" + mapping.getStatus()
+                                        + ":" + mapping.getInvestorRole());
+                        startupIds.add(mapping.getStartupId());
+                }
+
+                List<String> names = new ArrayList<>();
+                investorService.getStartupNames(startupIds).forEach((id, name) -> names.add(id + ":" + name));
+
+                List<String> activities = new ArrayList<>();
+                for (StartupActivity activity : startupActivityService.getActivityVersionsForStartups(startupIds)) {
+                        activities.add(activity.getId() + ":" + activity.getUpdatedAt() + ":"
+                                        + calculateTimeAgo(activity.getUpdatedAt()));
+                }
+
+                Collections.sort(mappings);
+                Collections.sort(names);
+                Collections.sort(activities);
+                return ETags.of(investorId, mappings, names, activities);
         }
 
         private String calculateTimeAgo(java.time.Instant pastTime) {
@@ -1,11 +1,17 @@
 package com.logicleaf.invplatform.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicleaf.invplatform.model.DeliveryStatus;
+import com.logicleaf.invplatform.model.ReportDelivery;
+import com.logicleaf.invplatform.model.ReportPublishJob;
 import com.logicleaf.invplatform.model.TimelyReport;
 import com.logicleaf.invplatform.model.User;
+import com.logicleaf.invplatform.service.ReportPublishingService;
 import com.logicleaf.invplatform.service.TimelyReportService;
 import com.logicleaf.invplatform.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,7 +19,12 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +35,11 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class TimelyReportController {
 
+        // Founders expect their own edits to show up at once, so always revalidate
+        private static final CacheControl REPORT_LIST_CACHING = CacheControl.noCache().cachePrivate();
+
         private final TimelyReportService timelyReportService;
+        private final ReportPublishingService reportPublishingService;
         private final UserService userService;
         private final ObjectMapper objectMapper;
 
@@ -47,10 +62,13 @@ public class TimelyReportController {
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("status", "success");
-                response.put("message", "Timely report created successfully with attachments and emailed to investors");
+                response.put("message", "Timely report saved; the PDF and investor emails are being prepared");
                 response.put("data", created);
+                response.put("jobId", created.getPublishJobId());
 
-                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .location(publishJobLocation(created))
+                                .body(response);
         }
 
         @PutMapping(value = "/{reportId}", consumes = { "multipart/form-data" })
@@ -74,10 +92,42 @@ public class TimelyReportController {
 
                 Map<String, Object> response = new HashMap<>();
                 response.put("status", "success");
-                response.put("message", "Timely report updated successfully");
+                response.put("message", "Timely report updated; the PDF and investor emails are being prepared");
                 response.put("data", updatedReport);
+                response.put("jobId", updatedReport.getPublishJobId());
 
-                return ResponseEntity.ok(response);
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .location(publishJobLocation(updatedReport))
+                                .body(response);
+        }
+
+        @GetMapping("/jobs/{jobId}")
+        public ResponseEntity<?> getPublishJob(@PathVariable String jobId,
+                        @AuthenticationPrincipal UserDetails userDetails) {
+
+                String founderEmail = userDetails.getUsername();
+                User founder = userService.findByEmail(founderEmail)
+                                .orElseThrow(() -> new RuntimeException("Authenticated founder not found"));
+
+                ReportPublishJob job = reportPublishingService.getJobForFounder(jobId, founder.getId());
+
+                Map<DeliveryStatus, Long> deliveryCounts = new EnumMap<>(DeliveryStatus.class);
+                for (DeliveryStatus status : DeliveryStatus.values()) {
+                        deliveryCounts.put(status, 0L);
+                }
+                for (ReportDelivery delivery : job.getDeliveries()) {
+                        deliveryCounts.merge(delivery.getStatus(), 1L, Long::sum);
+                }
+
+                Map<String, Object> response = new HashMap<>();
+                response.put("status", "success");
+                response.put("message", "Report publishing status fetched successfully");
+                response.put("data", job);
+                response.put("deliveries", deliveryCounts);
+
+                return ResponseEntity.ok()
+                                .cacheControl(CacheControl.noStore())
+                                .body(response);
         }
 
         @GetMapping("/draft")
@@ -105,12 +155,24 @@ public class TimelyReportController {
 
         @GetMapping
         public ResponseEntity<?> getReportsByAuthenticatedFounder(
-                        @AuthenticationPrincipal UserDetails userDetails) {
+                        @AuthenticationPrincipal UserDetails userDetails,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
                 String founderEmail = userDetails.getUsername();
                 User founder = userService.findByEmail(founderEmail)
                                 .orElseThrow(() -> new RuntimeException("Authenticated founder not found"));
 
+                // Every write to a report bumps its updatedAt, so ids plus updatedAt identify the list
+                List<String> versions = new ArrayList<>();
+                for (TimelyReport version : timelyReportService.getReportVersionsByFounder(founder.getId())) {
+                        versions.add(version.getId() + ":" + version.getUpdatedAt());
+                }
+                Collections.sort(versions);
+                String etag = ETags.of(founder.getId(), versions);
+                if (ETags.matches(ifNoneMatch, etag)) {
+                        return ETags.notModified(etag, REPORT_LIST_CACHING);
+                }
+
                 List<TimelyReport> reports = timelyReportService.getReportsByFounder(founder.getId());
 
                 Map<String, Object> response = new HashMap<>();
@@ -118,6 +180,16 @@ public class TimelyReportController {
                 response.put("count", reports.size());
                 response.put("data", reports);
 
-                return ResponseEntity.ok(response);
+                return ResponseEntity.ok()
+                                .eTag(etag)
+                                .cacheControl(REPORT_LIST_CACHING)
+                                .body(response);
+        }
+
+        private static URI publishJobLocation(TimelyReport report) {
+                return ServletUriComponentsBuilder.fromCurrentContextPath()
+                                .path("/api/timely-reports/jobs/{jobId}")
+                                .buildAndExpand(report.getPublishJobId())
+                                .toUri();
         }
 }
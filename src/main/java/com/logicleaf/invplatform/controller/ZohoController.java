@@ -1,6 +1,8 @@
 package com.logicleaf.invplatform.controller;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.logicleaf.invplatform.exception.ZohoRateLimitException;
+import com.logicleaf.invplatform.exception.ZohoUnavailableException;
 import com.logicleaf.invplatform.service.ZohoService;
 
 import java.util.Map;
@@ -53,6 +55,9 @@ public class ZohoController {
                     "status", "success",
                     "message", "Sales orders fetched successfully.",
                     "data", salesOrders));
+        } catch (ZohoRateLimitException | ZohoUnavailableException e) {
+            // Let GlobalExceptionHandler answer 429 with Retry-After / 503
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "status", "error",
@@ -77,6 +82,9 @@ public class ZohoController {
                     "status", "success",
                     "message", "Expenses fetched successfully.",
                     "data", expenses));
+        } catch (ZohoRateLimitException | ZohoUnavailableException e) {
+            // Let GlobalExceptionHandler answer 429 with Retry-After / 503
+            throw e;
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(Map.of(
                     "status", "error",
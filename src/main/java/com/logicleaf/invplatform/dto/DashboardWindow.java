@@ -0,0 +1,89 @@
+package com.logicleaf.invplatform.dto;
+
+import com.logicleaf.invplatform.exception.BadRequestException;
+import com.logicleaf.invplatform.model.RollupPeriod;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+
+/**
+ * The months a founder dashboard covers, inclusive, and how they are grouped into chart buckets.
+ * Quarterly windows are widened to whole quarters.
+ */
+public record DashboardWindow(YearMonth from, YearMonth to, RollupPeriod granularity) {
+
+    public static final int DEFAULT_MONTHS = 6;
+    public static final int MAX_MONTHS = 60;
+
+    private static final DateTimeFormatter SHORT_MONTH = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
+    private static final DateTimeFormatter MONTH_AND_YEAR = DateTimeFormatter.ofPattern("MMM yyyy", Locale.ENGLISH);
+
+    /**
+     * The last {@code months} months up to and including the current one, by month.
+     */
+    public static DashboardWindow lastMonths(int months) {
+        YearMonth now = YearMonth.now();
+        return new DashboardWindow(now.minusMonths(months - 1L), now, RollupPeriod.MONTH);
+    }
+
+    /**
+     * Window from request parameters; any of them may be null and then falls back to the default window.
+     */
+    public static DashboardWindow of(YearMonth from, YearMonth to, RollupPeriod granularity) {
+        YearMonth end = to != null ? to : YearMonth.now();
+        YearMonth start = from != null ? from : end.minusMonths(DEFAULT_MONTHS - 1L);
+        RollupPeriod period = granularity != null ? granularity : RollupPeriod.MONTH;
+
+        if (start.isAfter(end)) {
+            throw new BadRequestException("Dashboard window start " + start + " is after its end " + end);
+        }
+        if (period == RollupPeriod.QUARTER) {
+            start = YearMonth.from(period.startOf(start.atDay(1)));
+            end = YearMonth.from(period.endOf(period.startOf(end.atDay(1))));
+        }
+
+        DashboardWindow window = new DashboardWindow(start, end, period);
+        if (window.months() > MAX_MONTHS) {
+            throw new BadRequestException("Dashboard window cannot be longer than " + MAX_MONTHS + " months");
+        }
+        return window;
+    }
+
+    public boolean isDefault() {
+        return equals(lastMonths(DEFAULT_MONTHS));
+    }
+
+    public int months() {
+        return (int) (index(to) - index(from)) + 1;
+    }
+
+    public int buckets() {
+        return granularity == RollupPeriod.QUARTER ? months() / 3 : months();
+    }
+
+    /**
+     * Position of {@code year}/{@code month} in this window's monthly series, or -1 if outside it.
+     */
+    public int monthIndex(int year, int month) {
+        long index = year * 12L + month - 1 - index(from);
+        return index >= 0 && index < months() ? (int) index : -1;
+    }
+
+    /**
+     * "Jun" while the window fits in a year (as the dashboard always showed it), otherwise "Jun 2024";
+     * quarters as "Q2 2024".
+     */
+    public String label(int bucket) {
+        if (granularity == RollupPeriod.QUARTER) {
+            YearMonth quarterStart = from.plusMonths(bucket * 3L);
+            return "Q" + ((quarterStart.getMonthValue() - 1) / 3 + 1) + " " + quarterStart.getYear();
+        }
+        YearMonth month = from.plusMonths(bucket);
+        return month.format(months() <= 12 ? SHORT_MONTH : MONTH_AND_YEAR);
+    }
+
+    private static long index(YearMonth month) {
+        return month.getYear() * 12L + month.getMonthValue() - 1;
+    }
+}
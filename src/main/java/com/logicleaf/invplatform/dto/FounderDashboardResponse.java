@@ -23,4 +23,7 @@ public class FounderDashboardResponse {
 
     // Progress bars
     private Map<String, Integer> monthlyGoalsProgress;
+
+    // Data sources that failed or missed the deadline; their figures are shown as 0
+    private List<String> degradedSections;
 }
@@ -0,0 +1,19 @@
+package com.logicleaf.invplatform.dto;
+
+import com.logicleaf.invplatform.model.MetricType;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+@Data
+public class MetricEntryRequest {
+    @NotNull
+    private MetricType metricName;
+
+    @NotNull
+    private Double value;
+
+    // Defaults to today
+    private LocalDate date;
+}
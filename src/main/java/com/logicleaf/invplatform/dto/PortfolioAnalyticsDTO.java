@@ -0,0 +1,35 @@
+package com.logicleaf.invplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioAnalyticsDTO {
+    private Integer totalCompanies;
+    private Integer companiesWithData;
+    private List<String> unavailableStartupIds;
+
+    // Money figures are in rupees, whichever source each company's figures came from
+
+    // Plain sums over companies with data
+    private Double totalMonthlyRevenue;
+    private Double totalMonthlyBurn;
+
+    // Investor's share: each company's figure × ownership percentage
+    private Double ownershipWeightedMonthlyRevenue;
+    private Double ownershipWeightedMonthlyBurn;
+
+    // Averages weighted by invested amount, over companies that report the figure
+    private Double investmentWeightedGrowthPercentage;
+    private Double investmentWeightedRunwayMonths;
+    private Double investmentWeightedChurnPercentage;
+
+    private List<PortfolioCompanyAnalyticsDTO> companies;
+}
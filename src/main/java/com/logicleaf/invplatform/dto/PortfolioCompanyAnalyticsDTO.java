@@ -0,0 +1,39 @@
+package com.logicleaf.invplatform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioCompanyAnalyticsDTO {
+    private String startupId;
+    private String startupName;
+
+    // zoho (dashboard snapshot or live computation), reports (founder-reported metrics) or none
+    private String source;
+    // ok, partial (some Zoho sections degraded) or unavailable
+    private String status;
+    // Why Zoho data was not used (or, when unavailable, why there is none)
+    private String fallbackReason;
+    private List<String> degradedSections;
+    private LocalDateTime computedAt;
+
+    // Revenue and burn in rupees; founder reports (lakh ₹) are converted
+    private List<MonthlyMetric> revenueTrend;
+    private Double monthlyRevenue;
+    private Double revenueGrowthPercentage;
+    private Double monthlyBurn;
+    private Integer cashRunwayMonths;
+    private Double churnPercentage;
+
+    // Weights used for the portfolio-level figures
+    private Double investmentAmount;
+    private Double ownershipPercentage;
+}
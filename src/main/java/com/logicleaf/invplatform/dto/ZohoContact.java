@@ -0,0 +1,29 @@
+package com.logicleaf.invplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZohoContact {
+
+    @JsonProperty("contact_id")
+    private String contactId;
+
+    @JsonProperty("contact_type")
+    private String contactType; // customer or vendor
+
+    private String status; // active or inactive
+
+    @JsonProperty("created_time")
+    private String createdTime; // e.g. 2025-09-24T22:18:31+0530
+
+    public boolean isCustomer() {
+        return "customer".equalsIgnoreCase(contactType);
+    }
+}
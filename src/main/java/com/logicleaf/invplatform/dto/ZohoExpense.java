@@ -0,0 +1,19 @@
+package com.logicleaf.invplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZohoExpense {
+    private String date; // yyyy-MM-dd
+    private Double total;
+
+    @JsonProperty("account_name")
+    private String accountName;
+}
@@ -0,0 +1,15 @@
+package com.logicleaf.invplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZohoInvoice {
+    private String status; // draft, sent, paid, overdue, ...
+    private Double total;
+}
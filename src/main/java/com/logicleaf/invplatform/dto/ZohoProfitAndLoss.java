@@ -0,0 +1,45 @@
+package com.logicleaf.invplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Top-level sections of the Zoho profit and loss report (Gross Profit, Operating Profit, ...).
+ * The nested account breakdown is not bound.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZohoProfitAndLoss {
+
+    @JsonProperty("profit_and_loss")
+    private List<Section> sections = new ArrayList<>();
+
+    public double sectionTotal(String name) {
+        if (sections == null) {
+            return 0.0;
+        }
+        for (Section section : sections) {
+            if (name.equalsIgnoreCase(section.getName())) {
+                return section.getTotal();
+            }
+        }
+        return 0.0;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Section {
+        private String name;
+        private double total;
+    }
+}
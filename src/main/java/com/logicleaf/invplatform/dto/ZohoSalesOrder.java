@@ -0,0 +1,18 @@
+package com.logicleaf.invplatform.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The parts of a Zoho Books sales order the dashboard reads; everything else in the payload is skipped.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ZohoSalesOrder {
+    private String date; // yyyy-MM-dd
+    private Double total;
+}
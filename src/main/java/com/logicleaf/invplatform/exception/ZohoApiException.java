@@ -0,0 +1,23 @@
+package com.logicleaf.invplatform.exception;
+
+public class ZohoApiException extends RuntimeException {
+
+    private final int statusCode;
+
+    public ZohoApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public ZohoApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    /**
+     * HTTP status returned by Zoho, or 0 when the call never got a response.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
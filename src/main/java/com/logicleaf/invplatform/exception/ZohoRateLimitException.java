@@ -0,0 +1,20 @@
+package com.logicleaf.invplatform.exception;
+
+import java.time.Duration;
+
+/**
+ * Zoho (or our own per-organization budget) refused the call; retry after {@link #getRetryAfter()}.
+ */
+public class ZohoRateLimitException extends ZohoApiException {
+
+    private final Duration retryAfter;
+
+    public ZohoRateLimitException(String message, Duration retryAfter) {
+        super(429, message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,11 @@
+package com.logicleaf.invplatform.exception;
+
+/**
+ * The call was not attempted: Zoho's circuit breaker is open or too many Zoho calls are already in flight.
+ */
+public class ZohoUnavailableException extends ZohoApiException {
+
+    public ZohoUnavailableException(String message) {
+        super(503, message);
+    }
+}
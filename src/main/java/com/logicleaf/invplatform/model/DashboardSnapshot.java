@@ -0,0 +1,33 @@
+package com.logicleaf.invplatform.model;
+
+import com.logicleaf.invplatform.dto.FounderDashboardResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last computed founder dashboard of a startup, so page views are one read by _id.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "dashboard_snapshots")
+public class DashboardSnapshot {
+
+    // One snapshot per startup
+    @Id
+    private String startupId;
+
+    private FounderDashboardResponse dashboard;
+
+    // Incremented on every recompute
+    private long version;
+
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,34 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a one-off data migration, shared by every instance so it runs once per database.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "data_migrations")
+public class DataMigration {
+
+    // Migration name
+    @Id
+    private String id;
+
+    // Held by the instance running it until then; once it passes another instance may take over
+    private LocalDateTime leaseUntil;
+
+    // Last source document migrated, so a run that was cut off resumes after it
+    private String resumeAfterId;
+
+    // Set once the migration has finished; it never runs again
+    private LocalDateTime completedAt;
+}
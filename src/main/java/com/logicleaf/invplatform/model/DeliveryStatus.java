@@ -0,0 +1,7 @@
+package com.logicleaf.invplatform.model;
+
+public enum DeliveryStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
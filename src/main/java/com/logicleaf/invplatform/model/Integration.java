@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -19,6 +20,10 @@ public class Integration {
     @Id
     private String id;
 
+    // Optimistic lock: token refreshes from different nodes must not overwrite each other
+    @Version
+    private Long version;
+
     private String startupId;
 
     private IntegrationType integrationType;   
@@ -26,13 +31,19 @@ public class Integration {
 
     private LocalDateTime lastSyncTime;
 
+    // Start of the last sync that read every Zoho list in full, pruning records deleted in Zoho
+    private LocalDateTime lastFullSyncTime;
+
     private String accessToken;
 
     private String refreshToken;
 
     private LocalDateTime expiresAt;
 
-    private String connectionConfig; // Store JSON string (orgId, sheetId, etc.)
+    // Zoho Books organization the integration reads from
+    private String organizationId;
+
+    private String connectionConfig; // Store JSON string (sheetId, etc.)
 
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -0,0 +1,31 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Whether a startup's {@link KpiMonthAggregate}s can be trusted, and the next free contact ordinal.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "kpi_aggregate_states")
+public class KpiAggregateState {
+
+    @Id
+    private String startupId;
+
+    private long nextOrdinal;
+
+    private LocalDateTime builtAt;
+
+    // Set when a delta could not be applied; the next sync rebuilds from the mirror
+    private boolean stale;
+}
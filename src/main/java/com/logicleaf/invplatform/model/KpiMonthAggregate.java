@@ -0,0 +1,56 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Running KPI inputs of one startup for one month, maintained from Zoho sync deltas.
+ * Contacts count toward the month they were created in; invoices, expenses and sales orders
+ * toward the month of their date. Records without a date go to the {@code "undated"} bucket.
+ * Customer sets are bitmaps over {@link ZohoRecord#getOrdinal()}, stored as {@code BitSet.toByteArray()}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "kpi_month_aggregates")
+public class KpiMonthAggregate {
+
+    public static final String UNDATED = "undated";
+
+    // startupId:yyyy-MM, or startupId:undated
+    @Id
+    private String id;
+
+    @Indexed
+    private String startupId;
+
+    private String month;
+
+    // Customers created this month, in total and per day of month (index 0 is the 1st)
+    private int customers;
+    private int[] customersByCreatedDay;
+
+    private byte[] activeCustomers;
+    private byte[] inactiveCustomers;
+    // Active customers created on the 1st, i.e. already there when the month started
+    private byte[] activeCustomersOnFirstDay;
+
+    private double revenue;
+    private double expenses;
+    private double marketingExpenses;
+    private double paidInvoices;
+
+    @Version
+    private Long version;
+
+    public static String idFor(String startupId, String month) {
+        return startupId + ":" + month;
+    }
+}
@@ -0,0 +1,29 @@
+package com.logicleaf.invplatform.model;
+
+/**
+ * Metrics kept in startup_metrics. Flows (revenue, expenses, burn) add up over a period;
+ * levels (cash, runway, team size, figures founders report) take the period's latest value.
+ */
+public enum MetricType {
+    REVENUE(true),
+    EXPENSES(true),
+    BURN(true),
+    CASH_BALANCE(false),
+    RUNWAY_MONTHS(false),
+    TEAM_SIZE(false),
+    // As typed into a published timely report (lakh ₹), kept apart from the Zoho figures
+    REPORTED_MONTHLY_REVENUE(false),
+    REPORTED_MONTHLY_BURN(false),
+    REPORTED_RUNWAY_MONTHS(false),
+    REPORTED_TEAM_SIZE(false);
+
+    private final boolean additive;
+
+    MetricType(boolean additive) {
+        this.additive = additive;
+    }
+
+    public boolean isAdditive() {
+        return additive;
+    }
+}
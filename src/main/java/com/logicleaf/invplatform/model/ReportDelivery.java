@@ -0,0 +1,26 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One investor's copy of a published report, tracked inside its {@link ReportPublishJob}.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReportDelivery {
+
+    private String investorId;
+    private String investorEmail;  // Resolved when the mail is sent
+
+    private DeliveryStatus status;
+    private int attempts;
+    private String lastError;
+    private LocalDateTime sentAt;
+}
@@ -0,0 +1,51 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishing of one timely report version: render the PDF, store it with the report's metrics and
+ * activity, then mail it to each investor. Persisted so a restart resumes where it stopped.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "report_publish_jobs")
+public class ReportPublishJob {
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String reportId;
+    private String startupId;
+    private String founderUserId;
+
+    private boolean draft;
+    private boolean update;  // Republishing an edited report; changes the activity text only
+
+    private ReportPublishStatus status;
+    private int attempts;
+    private String lastError;
+
+    // PDF, metrics and activity written; a resumed job goes straight to distribution
+    private boolean stored;
+
+    private List<ReportDelivery> deliveries;
+
+    // Held by a worker until then; once it passes the scheduler may pick the job up again
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime completedAt;
+}
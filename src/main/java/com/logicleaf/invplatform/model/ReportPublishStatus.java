@@ -0,0 +1,11 @@
+package com.logicleaf.invplatform.model;
+
+public enum ReportPublishStatus {
+    QUEUED,
+    RENDERING,
+    DISTRIBUTING,
+    COMPLETED,
+    FAILED,
+    // A later edit of the report started a new job before this one finished
+    SUPERSEDED
+}
@@ -0,0 +1,29 @@
+package com.logicleaf.invplatform.model;
+
+import java.time.LocalDate;
+
+public enum RollupPeriod {
+    MONTH(1),
+    QUARTER(3);
+
+    private final int months;
+
+    RollupPeriod(int months) {
+        this.months = months;
+    }
+
+    /**
+     * First day of the period containing {@code date}.
+     */
+    public LocalDate startOf(LocalDate date) {
+        int firstMonth = ((date.getMonthValue() - 1) / months) * months + 1;
+        return LocalDate.of(date.getYear(), firstMonth, 1);
+    }
+
+    /**
+     * Last day of the period starting at {@code start}.
+     */
+    public LocalDate endOf(LocalDate start) {
+        return start.plusMonths(months).minusDays(1);
+    }
+}
@@ -0,0 +1,47 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * A metric summarized over one month or quarter, precomputed from {@link StartupMetrics} points.
+ * {@code value} is the sum for additive metrics and the latest point otherwise.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "startup_metric_rollups")
+@CompoundIndex(name = "startup_metric_period_start",
+        def = "{'startupId': 1, 'metricName': 1, 'period': 1, 'periodStart': 1}")
+public class StartupMetricRollup {
+
+    // startupId:metricName:period:periodStart
+    @Id
+    private String id;
+
+    private String startupId;
+    private MetricType metricName;
+    private RollupPeriod period;
+    private LocalDate periodStart;
+
+    private double value;
+    private double sum;
+    private double min;
+    private double max;
+    private int count;
+
+    private LocalDateTime computedAt;
+
+    public static String idFor(String startupId, MetricType metricName, RollupPeriod period, LocalDate periodStart) {
+        return startupId + ":" + metricName + ":" + period + ":" + periodStart;
+    }
+}
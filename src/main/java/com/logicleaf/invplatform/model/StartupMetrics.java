@@ -5,20 +5,34 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
+/**
+ * One point of a startup's metric time series. Rollups per month and quarter live in
+ * {@link StartupMetricRollup} and are refreshed whenever points are written.
+ */
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "startup_metrics")
+@CompoundIndex(name = "startup_metric_date", def = "{'startupId': 1, 'metricName': 1, 'dateCaptured': 1}")
 public class StartupMetrics {
+    // startupId:metricName:dateCaptured:source, so capturing the same point again overwrites it
+    // while a manual entry and a Zoho figure for the same day are both kept
     @Id
     private String id;
     private String startupId;
-    private String metricName;
-    private String metricValue;
+    private MetricType metricName;
+    private Double metricValue;
     private LocalDate dateCaptured;
-    private String source; // e.g., "zoho", "manual"
-}
\ No newline at end of file
+    private String source; // e.g., "zoho", "report", "manual"
+    private LocalDateTime recordedAt;
+
+    public static String idFor(String startupId, MetricType metricName, LocalDate dateCaptured, String source) {
+        return startupId + ":" + metricName + ":" + dateCaptured + ":" + source;
+    }
+}
@@ -45,6 +45,9 @@ public class TimelyReport {
 
     private List<String> investorUserIds;
 
+    // Latest ReportPublishJob; only that job may attach its PDF to the report
+    private String publishJobId;
+
     private Long createdAt;
     private Long updatedAt;
 }
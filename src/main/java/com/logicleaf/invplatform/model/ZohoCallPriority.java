@@ -0,0 +1,10 @@
+package com.logicleaf.invplatform.model;
+
+/**
+ * Who a Zoho call is for. Interactive calls serve a user waiting on a page; background calls
+ * (mirror sync, cache reloads) only get what interactive traffic leaves over.
+ */
+public enum ZohoCallPriority {
+    INTERACTIVE,
+    BACKGROUND
+}
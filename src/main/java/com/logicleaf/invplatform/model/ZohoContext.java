@@ -0,0 +1,37 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything a Zoho call needs, resolved once per request instead of once per fetch.
+ * Immutable; a token refresh produces a new context.
+ */
+@Getter
+@Builder(toBuilder = true)
+@AllArgsConstructor
+@ToString(exclude = "accessToken")
+public class ZohoContext {
+
+    private final String startupId;
+    private final String integrationId;
+    private final String organizationId;
+    private final String accessToken;
+    private final LocalDateTime expiresAt;
+    private final LocalDateTime lastSyncTime;
+
+    public boolean isTokenExpired() {
+        return expiresAt == null || expiresAt.isBefore(LocalDateTime.now());
+    }
+
+    /**
+     * True once a full sync has completed, so the local Zoho mirror can be read instead of the API.
+     */
+    public boolean isMirrorReady() {
+        return lastSyncTime != null;
+    }
+}
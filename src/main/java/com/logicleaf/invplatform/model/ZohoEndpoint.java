@@ -0,0 +1,65 @@
+package com.logicleaf.invplatform.model;
+
+import java.time.Duration;
+
+/**
+ * Zoho APIs we call, with how long a response stays fresh in cache and, where it differs from
+ * {@code zoho.http.read-timeout-ms}, the read timeout the endpoint is allowed. Such an endpoint's whole call,
+ * including a body that trickles in, is bounded to {@value #CALL_TIMEOUT_FACTOR}× its read timeout;
+ * the others share {@code zoho.http.call-timeout-ms}.
+ * Reports are computed on Zoho's side and are noticeably slower than plain list calls.
+ * A zero cache TTL means the endpoint is never cached (OAuth, org discovery).
+ */
+public enum ZohoEndpoint {
+    OAUTH_TOKEN("oauth/v2/token", Duration.ofSeconds(10), Duration.ZERO),
+    ORGANIZATIONS("organizations", Duration.ofSeconds(10), Duration.ZERO),
+    SALES_ORDERS("salesorders", Duration.ofMinutes(5)),
+    EXPENSES("expenses", Duration.ofMinutes(5)),
+    BANK_ACCOUNTS("bankaccounts", Duration.ofSeconds(10), Duration.ofMinutes(2)),
+    CONTACTS("contacts", Duration.ofMinutes(15)),
+    INVOICES("invoices", Duration.ofMinutes(5)),
+    RECURRING_INVOICES("recurringinvoices", Duration.ofMinutes(15)),
+    PROFIT_AND_LOSS("reports/profitandloss", Duration.ofSeconds(30), Duration.ofMinutes(10)),
+    USERS("users", Duration.ofSeconds(10), Duration.ofMinutes(30)),
+    EMPLOYEES("employees", Duration.ofSeconds(10), Duration.ofMinutes(30));
+
+    public static final int CALL_TIMEOUT_FACTOR = 2;
+
+    private final String path;
+    // Null means the shared client's default
+    private final Duration readTimeout;
+    private final Duration cacheTtl;
+
+    ZohoEndpoint(String path, Duration cacheTtl) {
+        this(path, null, cacheTtl);
+    }
+
+    ZohoEndpoint(String path, Duration readTimeout, Duration cacheTtl) {
+        this.path = path;
+        this.readTimeout = readTimeout;
+        this.cacheTtl = cacheTtl;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    /**
+     * Null means the shared client's default.
+     */
+    public Duration getCallTimeout() {
+        return readTimeout == null ? null : readTimeout.multipliedBy(CALL_TIMEOUT_FACTOR);
+    }
+
+    public Duration getCacheTtl() {
+        return cacheTtl;
+    }
+
+    public boolean isCacheable() {
+        return !cacheTtl.isZero();
+    }
+}
@@ -0,0 +1,34 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Calls made to one Zoho organization within one minute or one UTC day, shared by every node.
+ * Mongo removes the document shortly after the period is over.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "zoho_rate_windows")
+public class ZohoRateWindow {
+
+    // organizationId:epochMinute, or organizationId:day:epochDay
+    @Id
+    private String id;
+
+    private String organizationId;
+
+    private int count;
+
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+}
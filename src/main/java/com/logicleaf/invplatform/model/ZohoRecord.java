@@ -0,0 +1,47 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * One Zoho Books record mirrored locally. The raw Zoho JSON is kept in {@code data}
+ * so readers see the same shape as the live API.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "zoho_records")
+@CompoundIndex(name = "startup_entity_date", def = "{'startupId': 1, 'entity': 1, 'date': 1}")
+public class ZohoRecord {
+
+    // startupId:entity:zohoId, so re-syncing a record overwrites it
+    @Id
+    private String id;
+
+    private String startupId;
+    private ZohoSyncEntity entity;
+    private String zohoId;
+
+    // Copied out of data for range queries (yyyy-MM-dd, as Zoho sends it)
+    private String date;
+
+    private Map<String, Object> data;
+
+    // Contacts only: dense per-startup number, the contact's bit in the KPI aggregate bitmaps
+    private Integer ordinal;
+
+    private LocalDateTime syncedAt;
+
+    public static String idFor(String startupId, ZohoSyncEntity entity, String zohoId) {
+        return startupId + ":" + entity + ":" + zohoId;
+    }
+}
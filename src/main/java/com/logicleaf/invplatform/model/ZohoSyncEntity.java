@@ -0,0 +1,42 @@
+package com.logicleaf.invplatform.model;
+
+/**
+ * Zoho Books lists that are mirrored into Mongo.
+ * Incremental entities are re-read with a last_modified_time filter; the rest are small and re-read in full.
+ */
+public enum ZohoSyncEntity {
+    SALES_ORDERS(ZohoEndpoint.SALES_ORDERS, "salesorders", "salesorder_id", true),
+    EXPENSES(ZohoEndpoint.EXPENSES, "expenses", "expense_id", true),
+    INVOICES(ZohoEndpoint.INVOICES, "invoices", "invoice_id", true),
+    CONTACTS(ZohoEndpoint.CONTACTS, "contacts", "contact_id", true),
+    BANK_ACCOUNTS(ZohoEndpoint.BANK_ACCOUNTS, "bankaccounts", "account_id", false),
+    RECURRING_INVOICES(ZohoEndpoint.RECURRING_INVOICES, "recurring_invoices", "recurring_invoice_id", true);
+
+    private final ZohoEndpoint endpoint;
+    private final String recordsField;
+    private final String idField;
+    private final boolean incremental;
+
+    ZohoSyncEntity(ZohoEndpoint endpoint, String recordsField, String idField, boolean incremental) {
+        this.endpoint = endpoint;
+        this.recordsField = recordsField;
+        this.idField = idField;
+        this.incremental = incremental;
+    }
+
+    public ZohoEndpoint getEndpoint() {
+        return endpoint;
+    }
+
+    public String getRecordsField() {
+        return recordsField;
+    }
+
+    public String getIdField() {
+        return idField;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+}
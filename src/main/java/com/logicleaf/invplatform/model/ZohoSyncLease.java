@@ -0,0 +1,32 @@
+package com.logicleaf.invplatform.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Which instance is syncing an integration, so instances sharing the database don't mirror it twice.
+ * Kept apart from {@link Integration}, whose whole-document saves (token refresh) would overwrite it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "zoho_sync_leases")
+public class ZohoSyncLease {
+
+    // Integration id
+    @Id
+    private String id;
+
+    // Random per sync run; renewals and the release only apply while it still matches
+    private String owner;
+
+    // Held until then; once it passes another instance may sync the integration
+    private LocalDateTime leaseUntil;
+}
@@ -0,0 +1,7 @@
+package com.logicleaf.invplatform.repository;
+
+import com.logicleaf.invplatform.model.DashboardSnapshot;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface DashboardSnapshotRepository extends MongoRepository<DashboardSnapshot, String> {
+}
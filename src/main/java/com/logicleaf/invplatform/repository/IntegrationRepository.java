@@ -1,11 +1,22 @@
 package com.logicleaf.invplatform.repository;
 
 import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationStatus;
 import com.logicleaf.invplatform.model.IntegrationType;
 import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface IntegrationRepository extends MongoRepository<Integration, String> {
     List<Integration> findByStartupId(String startupId);
     Integration findByStartupIdAndIntegrationType(String startupId, IntegrationType type);
+
+    List<Integration> findByStartupIdInAndIntegrationType(Collection<String> startupIds, IntegrationType type);
+
+    List<Integration> findByIntegrationTypeAndStatus(IntegrationType type, IntegrationStatus status);
+
+    List<Integration> findByIntegrationTypeAndStatusAndExpiresAtBefore(IntegrationType type,
+            IntegrationStatus status, LocalDateTime expiresBefore);
 }
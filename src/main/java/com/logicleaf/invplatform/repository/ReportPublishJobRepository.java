@@ -0,0 +1,13 @@
+package com.logicleaf.invplatform.repository;
+
+import com.logicleaf.invplatform.model.ReportPublishJob;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReportPublishJobRepository extends MongoRepository<ReportPublishJob, String> {
+
+    Optional<ReportPublishJob> findByIdAndFounderUserId(String id, String founderUserId);
+}
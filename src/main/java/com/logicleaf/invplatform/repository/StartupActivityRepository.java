@@ -2,6 +2,7 @@ package com.logicleaf.invplatform.repository;
 
 import com.logicleaf.invplatform.model.StartupActivity;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -11,4 +12,8 @@ public interface StartupActivityRepository extends MongoRepository<StartupActivi
     Optional<StartupActivity> findByStartupId(String startupId);
 
     java.util.List<StartupActivity> findByStartupIdIn(java.util.List<String> startupIds);
+
+    // Only startupId and updatedAt; a changed message always comes with a new updatedAt
+    @Query(value = "{ 'startupId': { $in: ?0 } }", fields = "{ 'startupId': 1, 'updatedAt': 1 }")
+    java.util.List<StartupActivity> findUpdatedAtByStartupIdIn(java.util.List<String> startupIds);
 }
@@ -0,0 +1,7 @@
+package com.logicleaf.invplatform.repository;
+
+import com.logicleaf.invplatform.model.StartupMetricRollup;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface StartupMetricRollupRepository extends MongoRepository<StartupMetricRollup, String> {
+}
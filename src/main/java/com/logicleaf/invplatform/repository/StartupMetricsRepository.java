@@ -1,9 +1,13 @@
 package com.logicleaf.invplatform.repository;
 
+import com.logicleaf.invplatform.model.MetricType;
 import com.logicleaf.invplatform.model.StartupMetrics;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import java.util.List;
 
 public interface StartupMetricsRepository extends MongoRepository<StartupMetrics, String> {
     List<StartupMetrics> findByStartupId(String startupId);
-}
\ No newline at end of file
+
+    List<StartupMetrics> findTop2ByStartupIdAndMetricNameOrderByDateCapturedDesc(String startupId,
+            MetricType metricName);
+}
@@ -2,8 +2,16 @@ package com.logicleaf.invplatform.repository;
 
 import com.logicleaf.invplatform.model.Startup;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface StartupRepository extends MongoRepository<Startup, String> {
     Optional<Startup> findByFounderUserId(String founderUserId);
-}
\ No newline at end of file
+
+    // Only _id and startupName, to fingerprint a list of startups without loading them
+    @Query(value = "{ '_id': { $in: ?0 } }", fields = "{ 'startupName': 1 }")
+    List<Startup> findNamesByIdIn(Collection<String> ids);
+}
@@ -2,6 +2,7 @@ package com.logicleaf.invplatform.repository;
 
 import com.logicleaf.invplatform.model.TimelyReport;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,6 +12,10 @@ import java.util.Optional;
 public interface TimelyReportRepository extends MongoRepository<TimelyReport, String> {
     List<TimelyReport> findByFounderUserId(String founderUserId);
 
+    // Only _id and updatedAt, to fingerprint the list without loading report bodies
+    @Query(value = "{ 'founderUserId': ?0 }", fields = "{ 'updatedAt': 1 }")
+    List<TimelyReport> findUpdatedAtByFounderUserId(String founderUserId);
+
     boolean existsByStartupIdAndDraftReportTrue(String startupId);
 
     Optional<TimelyReport> findByStartupIdAndDraftReportTrue(String startupId);
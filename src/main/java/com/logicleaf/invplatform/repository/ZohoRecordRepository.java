@@ -0,0 +1,14 @@
+package com.logicleaf.invplatform.repository;
+
+import com.logicleaf.invplatform.model.ZohoRecord;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.List;
+
+public interface ZohoRecordRepository extends MongoRepository<ZohoRecord, String> {
+
+    List<ZohoRecord> findByStartupIdAndEntity(String startupId, ZohoSyncEntity entity);
+
+    void deleteByStartupId(String startupId);
+}
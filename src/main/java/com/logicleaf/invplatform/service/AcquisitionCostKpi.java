@@ -0,0 +1,72 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Customer acquisition cost: marketing spend divided by customers created in the period.
+ */
+@Component
+@Order(30)
+public class AcquisitionCostKpi implements DashboardKpi {
+
+    // Expense accounts that count as marketing spend
+    private static final Set<String> MARKETING_ACCOUNTS = Set.of("Marketing");
+
+    @Override
+    public String name() {
+        return "CAC";
+    }
+
+    @Override
+    public Accumulator newAccumulator(KpiScope scope) {
+        return new Accumulator() {
+
+            private double marketingSpend;
+            private int newCustomers;
+
+            @Override
+            public void acceptContact(ContactFacts contact) {
+                if (contact.isCustomer() && contact.hasCreatedDate() && scope.inPeriod(contact.createdEpochDay())) {
+                    newCustomers++;
+                }
+            }
+
+            @Override
+            public void acceptExpense(ZohoExpense expense) {
+                if (isMarketing(expense) && expense.getTotal() != null) {
+                    marketingSpend += expense.getTotal();
+                }
+            }
+
+            @Override
+            public double result() {
+                return newCustomers == 0 ? 0.0 : marketingSpend / newCustomers;
+            }
+        };
+    }
+
+    @Override
+    public double fromAggregates(KpiAggregates aggregates, KpiScope scope) {
+        KpiMonthAggregate period = aggregates.months().get(scope.periodMonth());
+        int newCustomers = period != null ? period.getCustomers() : 0;
+        if (newCustomers == 0) {
+            return 0.0;
+        }
+
+        double marketingSpend = 0.0;
+        for (KpiMonthAggregate month : aggregates.months()
+                .subMap(scope.windowFrom(), true, scope.windowTo(), true).values()) {
+            marketingSpend += month.getMarketingExpenses();
+        }
+        return marketingSpend / newCustomers;
+    }
+
+    static boolean isMarketing(ZohoExpense expense) {
+        return expense.getAccountName() != null && MARKETING_ACCOUNTS.contains(expense.getAccountName());
+    }
+}
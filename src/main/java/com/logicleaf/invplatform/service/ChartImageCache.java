@@ -0,0 +1,163 @@
+package com.logicleaf.invplatform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Rendered report chart images keyed by a content hash of the chart spec and dataset, so an identical
+ * chart is rasterized once. A byte-bounded in-memory LRU sits in front of a directory of PNG files that
+ * survives restarts and is shared by every instance pointing at the same directory. A file's last-modified
+ * time is its last use, refreshed on memory hits too (at most once an hour).
+ * Only used when report charts are embedded as PNG ({@code reports.charts.vector=false}); vector charts
+ * are drawn into each PDF directly. Cached arrays are shared between callers and must be treated as read-only.
+ */
+@Component
+public class ChartImageCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChartImageCache.class);
+
+    private static final Duration TOUCH_INTERVAL = Duration.ofHours(1);
+    // Temp files this old belong to a write that never finished
+    private static final Duration ORPHAN_TEMP_AGE = Duration.ofHours(1);
+
+    private final Cache<String, CachedChart> memory;
+    private final Path directory;
+    private final Duration diskTtl;
+
+    public ChartImageCache(MeterRegistry meterRegistry,
+            @Value("${reports.chart-cache.max-bytes:33554432}") long maxBytes,
+            @Value("${reports.chart-cache.dir:${java.io.tmpdir}/invplatform-chart-cache}") String directory,
+            @Value("${reports.chart-cache.disk-ttl-days:30}") long diskTtlDays) {
+        this.directory = Paths.get(directory);
+        this.diskTtl = Duration.ofDays(diskTtlDays);
+
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedChart chart) -> chart.image().length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "report.charts");
+    }
+
+    /**
+     * The image for {@code key}, from memory, then disk, and only then from {@code renderer}.
+     * Concurrent misses for the same key share one render.
+     */
+    public byte[] get(String key, Supplier<byte[]> renderer) {
+        CachedChart chart = memory.get(key, k -> {
+            byte[] stored = readFromDisk(k);
+            if (stored != null) {
+                return new CachedChart(stored, new AtomicLong(System.currentTimeMillis()));
+            }
+            byte[] rendered = renderer.get();
+            writeToDisk(k, rendered);
+            return new CachedChart(rendered, new AtomicLong(System.currentTimeMillis()));
+        });
+        touch(key, chart);
+        return chart.image();
+    }
+
+    /**
+     * Drops disk entries not used for {@code reports.chart-cache.disk-ttl-days}, and temp files left behind
+     * by writes that never finished.
+     */
+    @Scheduled(fixedDelayString = "${reports.chart-cache.prune-ms:86400000}",
+            initialDelayString = "${reports.chart-cache.prune-ms:86400000}")
+    public void pruneDisk() {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        Instant now = Instant.now();
+        FileTime cutoff = FileTime.from(now.minus(diskTtl));
+        FileTime tempCutoff = FileTime.from(now.minus(ORPHAN_TEMP_AGE));
+        int removed = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{png,tmp}")) {
+            for (Path file : files) {
+                FileTime fileCutoff = file.getFileName().toString().endsWith(".tmp") ? tempCutoff : cutoff;
+                try {
+                    if (Files.getLastModifiedTime(file).compareTo(fileCutoff) < 0 && Files.deleteIfExists(file)) {
+                        removed++;
+                    }
+                } catch (IOException e) {
+                    logger.warn("Could not prune chart cache file {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list chart cache directory {}: {}", directory, e.getMessage());
+        }
+        if (removed > 0) {
+            logger.info("✅ Pruned {} cached chart images", removed);
+        }
+    }
+
+    /**
+     * Refreshes the file's last-modified time on a memory hit, so a chart served only from memory is not
+     * pruned from disk. Puts the file back if it was pruned meanwhile, e.g. by another instance.
+     */
+    private void touch(String key, CachedChart chart) {
+        long now = System.currentTimeMillis();
+        long touchedAt = chart.touchedAtMillis().get();
+        if (now - touchedAt < TOUCH_INTERVAL.toMillis() || !chart.touchedAtMillis().compareAndSet(touchedAt, now)) {
+            return;
+        }
+        Path file = directory.resolve(key + ".png");
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+        } catch (NoSuchFileException e) {
+            writeToDisk(key, chart.image());
+        } catch (IOException e) {
+            logger.warn("Could not touch cached chart {}: {}", file, e.getMessage());
+        }
+    }
+
+    private byte[] readFromDisk(String key) {
+        Path file = directory.resolve(key + ".png");
+        try {
+            byte[] image = Files.readAllBytes(file);
+            // Last-modified doubles as last-used, so pruning keeps charts that are still being read
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return image;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            logger.warn("Could not read cached chart {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    // Best effort: a chart that cannot be written is still returned, just rendered again next time
+    private void writeToDisk(String key, byte[] image) {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temp, image);
+            Files.move(temp, directory.resolve(key + ".png"),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not store chart {} on disk: {}", key, e.getMessage());
+        }
+    }
+
+    private record CachedChart(byte[] image, AtomicLong touchedAtMillis) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Share of customers active at the start of the period that are inactive by its end, in percent.
+ */
+@Component
+@Order(10)
+public class ChurnKpi implements DashboardKpi {
+
+    @Override
+    public String name() {
+        return "Churn";
+    }
+
+    @Override
+    public Accumulator newAccumulator(KpiScope scope) {
+        Set<String> activeAtStart = new HashSet<>();
+        Set<String> inactiveAtEnd = new HashSet<>();
+
+        return new Accumulator() {
+
+            @Override
+            public void acceptContact(ContactFacts contact) {
+                if (!contact.isCustomer() || !contact.hasCreatedDate()) {
+                    return;
+                }
+                // Customer existed by the start date and was active → potential start customer
+                if (contact.createdEpochDay() <= scope.periodStartEpochDay() && contact.isActive()) {
+                    activeAtStart.add(contact.contactId());
+                }
+                // Customer existed by the end date and is inactive now → churned
+                if (contact.createdEpochDay() <= scope.periodEndEpochDay() && contact.isInactive()) {
+                    inactiveAtEnd.add(contact.contactId());
+                }
+            }
+
+            @Override
+            public double result() {
+                if (activeAtStart.isEmpty()) {
+                    return 0.0;
+                }
+                int lost = 0;
+                for (String id : inactiveAtEnd) {
+                    if (activeAtStart.contains(id)) {
+                        lost++;
+                    }
+                }
+                return (lost * 100.0) / activeAtStart.size();
+            }
+        };
+    }
+
+    /**
+     * Same sets as the accumulator, as bitmaps: active customers created before the period month or
+     * on its 1st, and inactive customers created up to the end of the period month.
+     */
+    @Override
+    public double fromAggregates(KpiAggregates aggregates, KpiScope scope) {
+        YearMonth period = scope.periodMonth();
+        BitSet activeAtStart = new BitSet();
+        BitSet inactiveAtEnd = new BitSet();
+
+        for (KpiMonthAggregate month : aggregates.months().headMap(period, true).values()) {
+            boolean periodMonth = YearMonth.parse(month.getMonth()).equals(period);
+            activeAtStart.or(KpiAggregates.bits(periodMonth
+                    ? month.getActiveCustomersOnFirstDay()
+                    : month.getActiveCustomers()));
+            inactiveAtEnd.or(KpiAggregates.bits(month.getInactiveCustomers()));
+        }
+
+        int started = activeAtStart.cardinality();
+        if (started == 0) {
+            return 0.0;
+        }
+        activeAtStart.and(inactiveAtEnd);
+        return (activeAtStart.cardinality() * 100.0) / started;
+    }
+}
@@ -0,0 +1,102 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+
+/**
+ * A founder dashboard KPI evaluated by {@link KpiEngine}. Implementations are Spring beans and are
+ * picked up automatically; {@link org.springframework.core.annotation.Order} decides where the KPI
+ * appears in the dashboard.
+ * The engine walks each data source once and feeds every record to every KPI, so a new KPI never
+ * adds another pass over contacts, invoices or expenses.
+ */
+public interface DashboardKpi {
+
+    /**
+     * Key in {@code keyPerformanceIndicators}.
+     */
+    String name();
+
+    /**
+     * Fresh per-request state. Beans are shared, so anything mutable belongs in the accumulator.
+     */
+    Accumulator newAccumulator(KpiScope scope);
+
+    /**
+     * The KPI from the startup's monthly aggregates instead of the raw records; must give the same value
+     * as the accumulator. A KPI that needs more than the aggregates hold adds it to {@link KpiAggregateService}.
+     */
+    double fromAggregates(KpiAggregates aggregates, KpiScope scope);
+
+    interface Accumulator {
+
+        default void acceptContact(ContactFacts contact) {
+        }
+
+        default void acceptInvoice(ZohoInvoice invoice) {
+        }
+
+        default void acceptExpense(ZohoExpense expense) {
+        }
+
+        double result();
+    }
+
+    /**
+     * A contact with its type, status and created date decoded once for all KPIs.
+     * The engine reuses one instance for the whole pass, so accumulators must not keep a reference to it.
+     */
+    final class ContactFacts {
+
+        public static final int NO_DATE = Integer.MIN_VALUE;
+
+        String contactId;
+        boolean customer;
+        boolean active;
+        boolean inactive;
+        int createdEpochDay;
+        int createdProlepticMonth;
+        int createdDayOfMonth;
+
+        public String contactId() {
+            return contactId;
+        }
+
+        public boolean isCustomer() {
+            return customer;
+        }
+
+        /**
+         * Zoho omits the status for some contacts; those count as active.
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        public boolean isInactive() {
+            return inactive;
+        }
+
+        public boolean hasCreatedDate() {
+            return createdEpochDay != NO_DATE;
+        }
+
+        public int createdEpochDay() {
+            return createdEpochDay;
+        }
+
+        /**
+         * Whole months from the created date to the given day, as {@code ChronoUnit.MONTHS.between} counts them.
+         */
+        public long monthsUntil(int prolepticMonth, int dayOfMonth) {
+            long months = prolepticMonth - createdProlepticMonth;
+            int days = dayOfMonth - createdDayOfMonth;
+            if (months > 0 && days < 0) {
+                months--;
+            } else if (months < 0 && days > 0) {
+                months++;
+            }
+            return months;
+        }
+    }
+}
@@ -1,415 +1,504 @@
 package com.logicleaf.invplatform.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.logicleaf.invplatform.dto.DashboardWindow;
 import com.logicleaf.invplatform.dto.FounderDashboardResponse;
 import com.logicleaf.invplatform.dto.MonthlyMetric;
+import com.logicleaf.invplatform.dto.ZohoBankAccount;
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.dto.ZohoProfitAndLoss;
+import com.logicleaf.invplatform.dto.ZohoSalesOrder;
+import com.logicleaf.invplatform.exception.BadRequestException;
+import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import com.logicleaf.invplatform.model.ZohoContext;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Service
 public class DashboardService {
 
+    private static final Logger logger = LoggerFactory.getLogger(DashboardService.class);
+
     @Autowired
     private ZohoService zohoService;
 
+    @Autowired
+    private ZohoMirrorService zohoMirrorService;
+
+    @Autowired
+    private KpiEngine kpiEngine;
+
+    @Autowired
+    private KpiAggregateService kpiAggregateService;
+
+    @Autowired
+    private ZohoRateLimiter zohoRateLimiter;
+
+    @Autowired
+    @Qualifier("zohoExecutor")
+    private Executor zohoExecutor;
+
+    @Value("${dashboard.fetch-deadline-ms:10000}")
+    private long fetchDeadlineMs;
+
     public FounderDashboardResponse getFounderDashboardData(String founderEmail) {
-        LocalDate now = LocalDate.now();
-        LocalDate startDate = now.minusMonths(5).withDayOfMonth(1);
-        LocalDate endDate = now.withDayOfMonth(now.lengthOfMonth());
+        // Resolve startup, integration and token once; every fetch below reuses it
+        return computeDashboard(zohoService.resolveContext(founderEmail));
+    }
 
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-        String startDateStr = startDate.format(dateFormatter);
-        String endDateStr = endDate.format(dateFormatter);
+    /**
+     * Builds the dashboard from scratch. Page views are served from {@link DashboardSnapshotService},
+     * which calls this on a schedule, after Zoho data changes, or when asked for fresh data.
+     */
+    public FounderDashboardResponse computeDashboard(ZohoContext context) {
+        return computeDashboard(context, DashboardWindow.lastMonths(DashboardWindow.DEFAULT_MONTHS));
+    }
 
-        LocalDate previousMonth = now.minusMonths(1);
+    /**
+     * Builds the dashboard for any window of up to {@link DashboardWindow#MAX_MONTHS} months.
+     * KPIs, the P&L behind them and runway always describe the present (the default window);
+     * only the charts follow the requested window.
+     */
+    public FounderDashboardResponse computeDashboard(ZohoContext context, DashboardWindow window) {
+        Fetches fetches = startFetches(context, window);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchDeadlineMs);
+        List<String> degradedSections = new ArrayList<>();
+
+        List<ZohoSalesOrder> salesOrders = await(fetches.salesOrders(), "salesOrders", deadline, degradedSections,
+                List.of());
+        List<ZohoExpense> expenses = await(fetches.expenses(), "expenses", deadline, degradedSections, List.of());
+        List<ZohoExpense> kpiExpenses = fetches.kpiExpenses() == fetches.expenses()
+                ? expenses
+                : await(fetches.kpiExpenses(), "expenses", deadline, degradedSections, List.of());
+        List<ZohoBankAccount> bankAccounts = await(fetches.bankAccounts(), "bankAccounts", deadline,
+                degradedSections, List.of());
+        List<ZohoContact> contacts = await(fetches.contacts(), "contacts", deadline, degradedSections, List.of());
+        List<ZohoInvoice> invoices = await(fetches.invoices(), "invoices", deadline, degradedSections, List.of());
+        ZohoProfitAndLoss pnl = await(fetches.profitAndLoss(), "profitAndLoss", deadline, degradedSections,
+                new ZohoProfitAndLoss());
+        int teamSize = await(fetches.teamSize(), "teamSize", deadline, degradedSections, 0);
+
+        double[] monthlyRevenue = monthlyRevenue(fetches, salesOrders, window);
+        double[] monthlyExpenses = monthlyExpenses(fetches, expenses, window);
+        double[] kpiMonthlyExpenses = monthlyExpenses(fetches, kpiExpenses, fetches.kpiWindow());
 
-        LocalDate previousMonthStart = previousMonth.withDayOfMonth(1);
-        LocalDate previousMonthEnd = previousMonth.withDayOfMonth(previousMonth.lengthOfMonth());
+        return FounderDashboardResponse.builder()
+                .cashRunwayMonths(cashRunwayMonths(bankAccounts, kpiMonthlyExpenses))
+                .revenueGrowth(revenueGrowth(monthlyRevenue, window))
+                .burnRateAnalysis(burnRateAnalysis(monthlyRevenue, monthlyExpenses, window))
+                .keyPerformanceIndicators(keyPerformanceIndicators(fetches, contacts, invoices, kpiExpenses, pnl))
+                .monthlyGoalsProgress(monthlyGoalsProgress())
+                .teamSize(teamSize)
+                .degradedSections(degradedSections)
+                .build();
+    }
 
-        String previousMonthStartStr = previousMonthStart.format(dateFormatter);
-        String previousMonthEndStr = previousMonthEnd.format(dateFormatter);
+    public CompletableFuture<List<String>> streamFounderDashboard(String founderEmail, DashboardWindow window,
+            BiConsumer<String, Object> sink) {
+        // Resolved up front, so a founder without Zoho gets the usual error instead of an empty stream
+        return streamDashboard(zohoService.resolveContext(founderEmail), window, sink);
+    }
 
-        // Fetch Zoho data in one request each
-        JsonNode salesOrders = zohoService.fetchSalesOrdersForFounder(founderEmail, startDateStr, endDateStr);
-        JsonNode expenses = zohoService.fetchExpensesForFounder(founderEmail, startDateStr, endDateStr);
-        JsonNode bankAccounts = zohoService.fetchAllBankAccountsForFounder(founderEmail);
-        JsonNode contacts = zohoService.fetchContactsFromZoho(founderEmail, new HashMap<>());
-        JsonNode invoices = zohoService.fetchInvoicesFromZoho(founderEmail, new HashMap<>());
-        JsonNode pnl = zohoService.fetchProfitAndLossReport(founderEmail, startDateStr, endDateStr);
-        JsonNode recurringInvoices = zohoService.fetchRecurringInvoicesFromZoho(founderEmail, new HashMap<>());
+    /**
+     * Same dashboard as {@link #computeDashboard(ZohoContext, DashboardWindow)}, handed to {@code sink} one
+     * section at a time as soon as the data behind it has arrived, so the fastest section shows first.
+     * Nothing blocks: each section is a continuation of the fetches it depends on and runs on whichever
+     * thread completes the last of them. Sections are named like the fields of {@link FounderDashboardResponse}.
+     * The returned future completes with the degraded sections once every section has been handed over,
+     * or exceptionally on "not connected" style errors. Cancelling it (the client went away) cancels the
+     * sections still pending and the Zoho reads that have not started yet.
+     */
+    public CompletableFuture<List<String>> streamDashboard(ZohoContext context, DashboardWindow window,
+            BiConsumer<String, Object> sink) {
+        Fetches fetches = startFetches(context, window);
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fetchDeadlineMs);
+        Set<String> degradedSections = ConcurrentHashMap.newKeySet();
+
+        CompletableFuture<List<ZohoExpense>> expenses = settle(fetches.expenses(), "expenses", deadline,
+                degradedSections, List.of());
+        CompletableFuture<double[]> monthlyRevenue = settle(fetches.salesOrders(), "salesOrders", deadline,
+                degradedSections, List.<ZohoSalesOrder>of())
+                .thenApply(salesOrders -> monthlyRevenue(fetches, salesOrders, window));
+        CompletableFuture<double[]> monthlyExpenses = expenses
+                .thenApply(expenseList -> monthlyExpenses(fetches, expenseList, window));
+        CompletableFuture<List<ZohoExpense>> kpiExpenses = fetches.kpiExpenses() == fetches.expenses()
+                ? expenses
+                : settle(fetches.kpiExpenses(), "expenses", deadline, degradedSections, List.of());
+        CompletableFuture<double[]> kpiMonthlyExpenses = kpiExpenses
+                .thenApply(expenseList -> monthlyExpenses(fetches, expenseList, fetches.kpiWindow()));
+        CompletableFuture<List<ZohoBankAccount>> bankAccounts = settle(fetches.bankAccounts(), "bankAccounts",
+                deadline, degradedSections, List.of());
+        CompletableFuture<List<ZohoContact>> contacts = settle(fetches.contacts(), "contacts", deadline,
+                degradedSections, List.of());
+        CompletableFuture<List<ZohoInvoice>> invoices = settle(fetches.invoices(), "invoices", deadline,
+                degradedSections, List.of());
+        CompletableFuture<ZohoProfitAndLoss> pnl = settle(fetches.profitAndLoss(), "profitAndLoss", deadline,
+                degradedSections, new ZohoProfitAndLoss());
+        CompletableFuture<Integer> teamSize = settle(fetches.teamSize(), "teamSize", deadline, degradedSections, 0);
+
+        sink.accept("monthlyGoalsProgress", monthlyGoalsProgress());
+
+        CompletableFuture<Void> revenueSection = monthlyRevenue
+                .thenAccept(revenue -> sink.accept("revenueGrowth", revenueGrowth(revenue, window)));
+        CompletableFuture<Void> burnSection = monthlyRevenue
+                .thenCombine(monthlyExpenses, (revenue, expense) -> burnRateAnalysis(revenue, expense, window))
+                .thenAccept(burn -> sink.accept("burnRateAnalysis", burn));
+        CompletableFuture<Void> runwaySection = bankAccounts
+                .thenCombine(kpiMonthlyExpenses, this::cashRunwayMonths)
+                .thenAccept(runway -> sink.accept("cashRunwayMonths", runway));
+        CompletableFuture<Void> kpiSection = CompletableFuture.allOf(contacts, invoices, kpiExpenses, pnl)
+                .thenAccept(ignored -> sink.accept("keyPerformanceIndicators", keyPerformanceIndicators(fetches,
+                        contacts.join(), invoices.join(), kpiExpenses.join(), pnl.join())));
+        CompletableFuture<Void> teamSection = teamSize
+                .thenAccept(size -> sink.accept("teamSize", size));
+
+        List<CompletableFuture<?>> pending = List.of(revenueSection, burnSection, runwaySection, kpiSection,
+                teamSection, fetches.salesOrders(), fetches.expenses(), fetches.kpiExpenses(), fetches.bankAccounts(),
+                fetches.contacts(), fetches.invoices(), fetches.profitAndLoss(), fetches.teamSize());
+        CompletableFuture<List<String>> result = CompletableFuture
+                .allOf(revenueSection, burnSection, runwaySection, kpiSection, teamSection)
+                .thenApply(ignored -> List.copyOf(degradedSections));
+        result.whenComplete((ignored, error) -> {
+            if (error instanceof CancellationException) {
+                // Sections first, so a fetch cancelled below can't still hand its fallback to the sink
+                pending.forEach(future -> future.cancel(true));
+            }
+        });
+        return result;
+    }
 
-        // Group by month (like "Jun", "Sep")
-        Map<String, Double> monthlyRevenueMap = groupByMonthShortName(salesOrders, "salesorders", "total");
-        Map<String, Double> monthlyExpenseMap = groupByMonthShortName(expenses, "expenses", "total");
+    /**
+     * The Zoho reads behind one dashboard, already running. With current KPI aggregates the record
+     * lists are not read at all and their futures hold empty lists.
+     * {@code kpiExpenses} covers {@code kpiWindow} and is the same future as {@code expenses} when the
+     * requested window is the default one.
+     */
+    private record Fetches(
+            KpiAggregates aggregates,
+            DashboardWindow kpiWindow,
+            CompletableFuture<List<ZohoSalesOrder>> salesOrders,
+            CompletableFuture<List<ZohoExpense>> expenses,
+            CompletableFuture<List<ZohoExpense>> kpiExpenses,
+            CompletableFuture<List<ZohoBankAccount>> bankAccounts,
+            CompletableFuture<List<ZohoContact>> contacts,
+            CompletableFuture<List<ZohoInvoice>> invoices,
+            CompletableFuture<ZohoProfitAndLoss> profitAndLoss,
+            CompletableFuture<Integer> teamSize) {
+    }
 
-        List<LocalDate> last6Months = IntStream.rangeClosed(0, 5)
-                .mapToObj(i -> now.minusMonths(5 - i).withDayOfMonth(1))
-                .collect(Collectors.toList());
+    private Fetches startFetches(ZohoContext context, DashboardWindow window) {
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        String startDateStr = window.from().atDay(1).format(dateFormatter);
+        String endDateStr = window.to().atEndOfMonth().format(dateFormatter);
+
+        // KPIs, P&L and runway are always evaluated against the current default window
+        DashboardWindow kpiWindow = DashboardWindow.lastMonths(DashboardWindow.DEFAULT_MONTHS);
+        String kpiStartDateStr = kpiWindow.from().atDay(1).format(dateFormatter);
+        String kpiEndDateStr = kpiWindow.to().atEndOfMonth().format(dateFormatter);
+
+        // Once the startup has been synced and its KPI aggregates are current, the charts and KPIs
+        // are read from the aggregates and the record lists are not loaded at all
+        KpiAggregates aggregates = loadAggregates(context);
+
+        CompletableFuture<List<ZohoExpense>> expenses = aggregates != null
+                ? CompletableFuture.completedFuture(List.of())
+                : submit(mirrorOrLive(context, ZohoSyncEntity.EXPENSES, startDateStr, endDateStr,
+                        ZohoExpense.class, () -> zohoService.fetchExpenses(context, startDateStr, endDateStr)));
+        CompletableFuture<List<ZohoExpense>> kpiExpenses = aggregates != null || window.equals(kpiWindow)
+                ? expenses
+                : submit(mirrorOrLive(context, ZohoSyncEntity.EXPENSES, kpiStartDateStr, kpiEndDateStr,
+                        ZohoExpense.class, () -> zohoService.fetchExpenses(context, kpiStartDateStr, kpiEndDateStr)));
+
+        // Fetch Zoho data concurrently. Once the startup has been synced, list data comes from
+        // the local mirror; the P&L report and team size stay live.
+        return new Fetches(
+                aggregates,
+                kpiWindow,
+                aggregates != null
+                        ? CompletableFuture.completedFuture(List.of())
+                        : submit(mirrorOrLive(context, ZohoSyncEntity.SALES_ORDERS, startDateStr, endDateStr,
+                                ZohoSalesOrder.class,
+                                () -> zohoService.fetchSalesOrders(context, startDateStr, endDateStr))),
+                expenses,
+                kpiExpenses,
+                submit(mirrorOrLive(context, ZohoSyncEntity.BANK_ACCOUNTS, null, null, ZohoBankAccount.class,
+                        () -> zohoService.fetchBankAccounts(context))),
+                aggregates != null
+                        ? CompletableFuture.completedFuture(List.of())
+                        : submit(mirrorOrLive(context, ZohoSyncEntity.CONTACTS, null, null, ZohoContact.class,
+                                () -> zohoService.fetchContacts(context))),
+                aggregates != null
+                        ? CompletableFuture.completedFuture(List.of())
+                        : submit(mirrorOrLive(context, ZohoSyncEntity.INVOICES, null, null, ZohoInvoice.class,
+                                () -> zohoService.fetchInvoices(context))),
+                submit(() -> zohoService.fetchProfitAndLoss(context, kpiStartDateStr, kpiEndDateStr)),
+                submit(() -> getZohoUserCount(context)));
+    }
 
-        List<MonthlyMetric> revenueData = new ArrayList<>();
-        List<MonthlyMetric> expenseData = new ArrayList<>();
-        List<MonthlyMetric> burnRateData = new ArrayList<>();
+    // Monthly slots of the window, from the aggregates when there are any
+    private double[] monthlyRevenue(Fetches fetches, List<ZohoSalesOrder> salesOrders, DashboardWindow window) {
+        return fetches.aggregates() != null
+                ? fetches.aggregates().monthly(window, KpiMonthAggregate::getRevenue)
+                : bucketByMonth(salesOrders, ZohoSalesOrder::getDate, ZohoSalesOrder::getTotal, window);
+    }
 
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
+    private double[] monthlyExpenses(Fetches fetches, List<ZohoExpense> expenses, DashboardWindow window) {
+        return fetches.aggregates() != null
+                ? fetches.aggregates().monthly(window, KpiMonthAggregate::getExpenses)
+                : bucketByMonth(expenses, ZohoExpense::getDate, ZohoExpense::getTotal, window);
+    }
 
-        for (LocalDate monthStart : last6Months) {
-            String monthKey = monthStart.format(monthFormatter);
-            double monthlyRevenue = monthlyRevenueMap.getOrDefault(monthKey, 0.0);
-            double monthlyExpense = monthlyExpenseMap.getOrDefault(monthKey, 0.0);
+    private static List<MonthlyMetric> revenueGrowth(double[] monthlyRevenue, DashboardWindow window) {
+        double[] revenue = toBuckets(monthlyRevenue, window);
+        List<MonthlyMetric> revenueData = new ArrayList<>(revenue.length);
+        for (int i = 0; i < revenue.length; i++) {
+            revenueData.add(new MonthlyMetric(window.label(i), revenue[i]));
+        }
+        return revenueData;
+    }
 
-            double netProfit = monthlyRevenue - monthlyExpense;
+    private static List<MonthlyMetric> burnRateAnalysis(double[] monthlyRevenue, double[] monthlyExpenses,
+            DashboardWindow window) {
+        double[] revenue = toBuckets(monthlyRevenue, window);
+        double[] expense = toBuckets(monthlyExpenses, window);
+        List<MonthlyMetric> burnRateData = new ArrayList<>(revenue.length);
+        for (int i = 0; i < revenue.length; i++) {
+            double netProfit = revenue[i] - expense[i];
             double burnRate = netProfit < 0 ? Math.abs(netProfit) : 0.0;
-
-            revenueData.add(new MonthlyMetric(monthKey, monthlyRevenue));
-            expenseData.add(new MonthlyMetric(monthKey, monthlyExpense));
-            burnRateData.add(new MonthlyMetric(monthKey, burnRate));
+            burnRateData.add(new MonthlyMetric(window.label(i), burnRate));
         }
+        return burnRateData;
+    }
 
+    private int cashRunwayMonths(List<ZohoBankAccount> bankAccounts, double[] monthlyExpenses) {
         double totalBankBalance = getBankBalance(bankAccounts);
 
-        double latestMonthExpense = expenseData.isEmpty()
-                ? 0.0
-                : expenseData.get(expenseData.size() - 1).getValue();
+        double latestMonthExpense = monthlyExpenses.length == 0 ? 0.0 : monthlyExpenses[monthlyExpenses.length - 1];
 
-        int cashRunwayMonths = latestMonthExpense > 0
+        return latestMonthExpense > 0
                 ? (int) Math.floor(totalBankBalance / latestMonthExpense)
                 : 0;
+    }
 
-        int teamSize = getZohoUserCount(founderEmail);
-
-        double CAC = calculateCAC(expenses, contacts, previousMonthStartStr, previousMonthEndStr);
-
-        // LTV
-        double averageLifeSpam = calculateAverageCustomerLifespan(contacts);
-        double LTV = calculateLTV(invoices, pnl, contacts, averageLifeSpam);
-
-        // churn
-        double churn = getChurnRateFromContacts(contacts, previousMonthStartStr, previousMonthEndStr);
+    // Churn, LTV and CAC in one pass over contacts, invoices and expenses, or from the aggregates
+    private Map<String, Double> keyPerformanceIndicators(Fetches fetches, List<ZohoContact> contacts,
+            List<ZohoInvoice> invoices, List<ZohoExpense> expenses, ZohoProfitAndLoss pnl) {
+        LocalDate now = LocalDate.now();
+        LocalDate previousMonth = now.minusMonths(1);
+        LocalDate previousMonthStart = previousMonth.withDayOfMonth(1);
+        LocalDate previousMonthEnd = previousMonth.withDayOfMonth(previousMonth.lengthOfMonth());
 
         Map<String, Double> kpi = new LinkedHashMap<>();
         kpi.put("NPS", 30.0);
-        kpi.put("Churn", churn);
-        kpi.put("LTV", LTV);
-        kpi.put("CAC", CAC);
+        KpiScope scope = KpiScope.of(now, previousMonthStart, previousMonthEnd, fetches.kpiWindow(), pnl);
+        kpi.putAll(fetches.aggregates() != null
+                ? kpiEngine.evaluate(fetches.aggregates(), scope)
+                : kpiEngine.evaluate(contacts, invoices, expenses, scope));
+        return kpi;
+    }
 
-        Map<String, Integer> goals = Map.of(
+    private static Map<String, Integer> monthlyGoalsProgress() {
+        return Map.of(
                 "Revenue Target", 83,
                 "Customer Acquisition", 67,
                 "Product Development", 92);
-
-        return FounderDashboardResponse.builder()
-                .cashRunwayMonths(cashRunwayMonths)
-                .revenueGrowth(revenueData)
-                .burnRateAnalysis(burnRateData)
-                .keyPerformanceIndicators(kpi)
-                .monthlyGoalsProgress(goals)
-                .teamSize(teamSize)
-                .build();
     }
 
     /**
-     * ✅ Groups revenue or expense JSON by month name (e.g., "Jun", "Sep").
+     * The startup's KPI aggregates when dashboards can use them, otherwise null and the record lists are read.
      */
-    private Map<String, Double> groupByMonthShortName(JsonNode root, String arrayKey, String amountKey) {
-        Map<String, Double> monthMap = new HashMap<>();
-        if (root == null || !root.has(arrayKey))
-            return monthMap;
-
-        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
-
-        for (JsonNode entry : root.get(arrayKey)) {
-            if (entry.has("date") && entry.has(amountKey)) {
-                String dateStr = entry.get("date").asText();
-                double amount = entry.get(amountKey).asDouble(0.0);
-                try {
-                    LocalDate date = LocalDate.parse(dateStr);
-                    String monthKey = date.format(monthFormatter);
-                    monthMap.merge(monthKey, amount, Double::sum);
-                } catch (Exception ignored) {
-                }
-            }
+    private KpiAggregates loadAggregates(ZohoContext context) {
+        if (!context.isMirrorReady()) {
+            return null;
+        }
+        try {
+            return kpiAggregateService.loadIfReady(context.getStartupId());
+        } catch (Exception e) {
+            logger.warn("KPI aggregates unavailable for startupId {}: {}", context.getStartupId(), e.getMessage());
+            return null;
         }
-        return monthMap;
     }
 
-    /**
-     * ✅ Fetches all employees from Zoho and counts them.
-     */
-    public int getZohoUserCount(String founderEmail) {
-        JsonNode response = zohoService.fetchEmployeesFromZoho(founderEmail, 1, 200);
-        JsonNode users = response.path("employees");
-        if (users.isArray()) {
-            return users.size();
+    private <T> Supplier<List<T>> mirrorOrLive(ZohoContext context, ZohoSyncEntity entity, String fromDate,
+            String toDate, Class<T> type, Supplier<List<T>> live) {
+        if (!context.isMirrorReady()) {
+            return live;
+        }
+        return () -> zohoMirrorService.find(context.getStartupId(), entity, fromDate, toDate, type);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            // Background snapshot refreshes stay background traffic on the executor threads
+            return CompletableFuture.supplyAsync(zohoRateLimiter.propagate(task), zohoExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
         }
-        return 0;
     }
 
     /**
-     * ✅ Sums up all account balances from Zoho Bank Accounts API response.
+     * Waits for one section until the shared deadline. A slow or failed section is
+     * recorded as degraded and replaced by the fallback, except for "not connected"
+     * style errors which fail the whole dashboard as before.
      */
-    public double getBankBalance(JsonNode bankAccountsResponse) {
-        double totalBalance = 0.0;
-
-        if (bankAccountsResponse != null && bankAccountsResponse.has("bankaccounts")) {
-            for (JsonNode account : bankAccountsResponse.get("bankaccounts")) {
-                double balance = account.path("balance").asDouble(0.0);
-                totalBalance += balance;
+    private <T> T await(CompletableFuture<T> future, String section, long deadlineNanos,
+            List<String> degradedSections, T fallback) {
+        try {
+            long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof BadRequestException || cause instanceof ResourceNotFoundException) {
+                throw (RuntimeException) cause;
             }
+            logger.warn("Dashboard section {} failed: {}", section, cause != null ? cause.getMessage() : e.getMessage());
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Dashboard section {} missed the {} ms deadline", section, fetchDeadlineMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
-
-        return totalBalance;
+        if (!degradedSections.contains(section)) {
+            degradedSections.add(section);
+        }
+        return fallback;
     }
 
-    public double getChurnRateFromContacts(JsonNode contactsJson, String startDateStr, String endDateStr) {
-
-        LocalDate startDate = LocalDate.parse(startDateStr);
-        LocalDate endDate = LocalDate.parse(endDateStr);
-
-        Set<String> activeAtStart = new HashSet<>();
-        Set<String> inactiveAtEnd = new HashSet<>();
-
-        if (contactsJson.has("contacts")) {
-            for (JsonNode c : contactsJson.get("contacts")) {
-
-                // Only customers
-                if (!c.has("contact_type") ||
-                        !c.get("contact_type").asText().equalsIgnoreCase("customer")) {
-                    continue;
-                }
-
-                // Parse created_time → "YYYY-MM-DDTHH:MM:SS"
-                String createdRaw = c.get("created_time").asText();
-                LocalDate createdDate = LocalDate.parse(createdRaw.substring(0, 10));
-
-                String id = c.get("contact_id").asText();
-                String status = c.has("status") ? c.get("status").asText() : "active";
-
-                // Customer existed by the start date → count as potential start customers
-                if (!createdDate.isAfter(startDate)) {
-
-                    // Only count active customers at start
-                    if (status.equalsIgnoreCase("active")) {
-                        activeAtStart.add(id);
-                    }
-                }
-
-                // Customer existed by the end date & is inactive now → churned
-                if (!createdDate.isAfter(endDate)) {
-                    if (status.equalsIgnoreCase("inactive")) {
-                        inactiveAtEnd.add(id);
-                    }
-                }
+    /**
+     * Non-blocking counterpart of {@link #await}: completes with the section's data, or with the fallback
+     * once the shared deadline passes or the fetch fails, recording the section as degraded.
+     * "Not connected" style errors still fail it.
+     */
+    private <T> CompletableFuture<T> settle(CompletableFuture<T> future, String section, long deadlineNanos,
+            Set<String> degradedSections, T fallback) {
+        long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+        return future.copy().orTimeout(remaining, TimeUnit.NANOSECONDS).handle((value, error) -> {
+            if (error == null) {
+                return value;
             }
-        }
-
-        // Churned customers = active at start BUT inactive at end
-        Set<String> lost = new HashSet<>(activeAtStart);
-        lost.retainAll(inactiveAtEnd);
-
-        int startingActiveCustomers = activeAtStart.size();
-        int lostCount = lost.size();
-
-        if (startingActiveCustomers == 0)
-            return 0.0;
-
-        return (lostCount * 100.0) / startingActiveCustomers;
+            Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof BadRequestException || cause instanceof ResourceNotFoundException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof CancellationException) {
+                // The stream was abandoned; nobody is waiting for this section any more
+                return fallback;
+            }
+            if (cause instanceof TimeoutException) {
+                future.cancel(true);
+                logger.warn("Dashboard section {} missed the {} ms deadline", section, fetchDeadlineMs);
+            } else {
+                logger.warn("Dashboard section {} failed: {}", section, cause.getMessage());
+            }
+            degradedSections.add(section);
+            return fallback;
+        });
     }
 
-    public double calculateAverageCustomerLifespan(JsonNode contactsJson) {
-
-        LocalDate today = LocalDate.now();
-        double totalMonths = 0.0;
-        int customerCount = 0;
-
-        if (!contactsJson.has("contacts")) {
-            return 0.0;
-        }
-
-        for (JsonNode contact : contactsJson.get("contacts")) {
-
-            // Only customer type
-            if (!contact.has("contact_type") ||
-                    !contact.get("contact_type").asText().equalsIgnoreCase("customer")) {
+    /**
+     * ✅ Sums revenue or expense records into one slot per month of the window.
+     * Dates are "yyyy-MM-dd"; only year and month are read, without building a LocalDate per record.
+     * Package-private for the JMH benchmarks.
+     */
+    static <T> double[] bucketByMonth(List<T> records, Function<T, String> dateOf, Function<T, Double> amountOf,
+            DashboardWindow window) {
+        double[] buckets = new double[window.months()];
+
+        for (T entry : records) {
+            String date = dateOf.apply(entry);
+            Double amount = amountOf.apply(entry);
+            if (date == null || amount == null || date.length() < 7 || date.charAt(4) != '-') {
                 continue;
             }
-
-            // Parse created_time: "2025-09-24T22:18:31+0530"
-            if (!contact.has("created_time"))
+            int year = digits(date, 0, 4);
+            int month = digits(date, 5, 7);
+            if (year < 0 || month < 1 || month > 12) {
                 continue;
-
-            String createdRaw = contact.get("created_time").asText();
-            LocalDate createdDate = LocalDate.parse(createdRaw.substring(0, 10));
-
-            // Calculate lifespan in MONTHS
-            long months = ChronoUnit.MONTHS.between(createdDate, today);
-
-            if (months < 0)
-                months = 0; // safety check
-
-            totalMonths += months;
-            customerCount++;
-        }
-
-        if (customerCount == 0)
-            return 0.0;
-
-        return totalMonths / customerCount; // Average Months
-    }
-
-    public double calculateLTV(
-            JsonNode invoicesJson,
-            JsonNode pnlJson,
-            JsonNode contactsJson,
-            double averageLifespan) {
-
-        // ---------------------------
-        // 1️⃣ Calculate Total Revenue (from invoices)
-        // ---------------------------
-        double totalRevenue = 0.0;
-
-        if (invoicesJson.has("invoices")) {
-            for (JsonNode invoice : invoicesJson.get("invoices")) {
-
-                if (invoice.has("status") &&
-                        invoice.get("status").asText().equalsIgnoreCase("paid")) {
-
-                    if (invoice.has("total")) {
-                        totalRevenue += invoice.get("total").asDouble();
-                    }
-                }
             }
-        }
-
-        // Avoid divide-by-zero later
-        if (totalRevenue <= 0)
-            return 0.0;
-
-        // ---------------------------
-        // 2️⃣ Extract Gross Profit from P&L JSON
-        // ---------------------------
-        double grossProfit = 0.0;
-
-        if (pnlJson.has("profit_and_loss")) {
-            for (JsonNode section : pnlJson.get("profit_and_loss")) {
-                if (section.has("name") &&
-                        section.get("name").asText().equalsIgnoreCase("Gross Profit")) {
-
-                    grossProfit = section.get("total").asDouble();
-                    break;
-                }
+            int index = window.monthIndex(year, month);
+            if (index >= 0) {
+                buckets[index] += amount;
             }
         }
+        return buckets;
+    }
 
-        // If grossProfit missing → cannot compute margin
-        if (grossProfit <= 0)
-            return 0.0;
-
-        double grossMarginDecimal = grossProfit / totalRevenue; // 0.75 means 75% margin
-
-        // ---------------------------
-        // 3️⃣ Count customers from contacts JSON
-        // ---------------------------
-        int customerCount = 0;
-
-        if (contactsJson.has("contacts")) {
-            for (JsonNode c : contactsJson.get("contacts")) {
-                if (c.has("contact_type") &&
-                        c.get("contact_type").asText().equalsIgnoreCase("customer")) {
-
-                    customerCount++;
-                }
-            }
+    /**
+     * Monthly slots as they are for a monthly window, summed three at a time for a quarterly one.
+     */
+    static double[] toBuckets(double[] monthly, DashboardWindow window) {
+        if (window.granularity() != RollupPeriod.QUARTER) {
+            return monthly;
         }
-
-        if (customerCount == 0)
-            return 0.0;
-
-        // ---------------------------
-        // 4️⃣ Final LTV Calculation
-        // ---------------------------
-        double ltv = ((totalRevenue / customerCount) * grossMarginDecimal) * averageLifespan;
-
-        return ltv;
+        double[] quarterly = new double[window.buckets()];
+        for (int i = 0; i < monthly.length; i++) {
+            quarterly[i / 3] += monthly[i];
+        }
+        return quarterly;
     }
 
-    public double calculateCAC(
-            JsonNode expensesJson,
-            JsonNode contactsJson,
-            String startDateStr,
-            String endDateStr) {
-
-        LocalDate startDate = LocalDate.parse(startDateStr);
-        LocalDate endDate = LocalDate.parse(endDateStr);
-
-        // -----------------------------
-        // 1️⃣ Sum Marketing Expenses
-        // -----------------------------
-
-        // Customize your marketing categories here
-        Set<String> marketingCategories = Set.of(
-                "Marketing");
-
-        double marketingExpenseTotal = 0.0;
-
-        if (expensesJson.has("expenses")) {
-            for (JsonNode exp : expensesJson.get("expenses")) {
-
-                if (!exp.has("account_name"))
-                    continue;
-
-                String accountName = exp.get("account_name").asText();
-
-                // Check if this expense falls under marketing
-                if (marketingCategories.contains(accountName)) {
-
-                    if (exp.has("total")) {
-                        marketingExpenseTotal += exp.get("total").asDouble();
-                    }
-                }
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
             }
+            result = result * 10 + digit;
         }
+        return result;
+    }
 
-        // -----------------------------
-        // 2️⃣ Count New Customers
-        // -----------------------------
-        int newCustomerCount = 0;
-
-        if (contactsJson.has("contacts")) {
-            for (JsonNode contact : contactsJson.get("contacts")) {
-
-                if (!contact.has("contact_type") ||
-                        !contact.get("contact_type").asText().equalsIgnoreCase("customer")) {
-                    continue;
-                }
+    /**
+     * ✅ Fetches all employees from Zoho and counts them.
+     */
+    public int getZohoUserCount(String founderEmail) {
+        return getZohoUserCount(zohoService.resolveContext(founderEmail));
+    }
 
-                if (!contact.has("created_time"))
-                    continue;
+    public int getZohoUserCount(ZohoContext context) {
+        // Counting only, so stream the pages instead of collecting the records
+        return zohoService.forEachEmployee(context, employee -> { });
+    }
 
-                String createdTime = contact.get("created_time").asText();
-                LocalDate createdDate = LocalDate.parse(createdTime.substring(0, 10));
+    /**
+     * ✅ Sums up all account balances from Zoho Bank Accounts.
+     */
+    public double getBankBalance(List<ZohoBankAccount> bankAccounts) {
+        double totalBalance = 0.0;
 
-                // New customer falls inside the date range
-                if (!createdDate.isBefore(startDate) && !createdDate.isAfter(endDate)) {
-                    newCustomerCount++;
-                }
-            }
+        for (ZohoBankAccount account : bankAccounts) {
+            totalBalance += account.getBalance();
         }
 
-        // -----------------------------
-        // 3️⃣ Final CAC Calculation
-        // -----------------------------
-
-        if (newCustomerCount == 0)
-            return 0.0; // avoid division by zero
-
-        return marketingExpenseTotal / newCustomerCount;
+        return totalBalance;
     }
-
 }
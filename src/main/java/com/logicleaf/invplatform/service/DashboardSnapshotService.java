@@ -0,0 +1,325 @@
+package com.logicleaf.invplatform.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.dto.FounderDashboardResponse;
+import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.model.DashboardSnapshot;
+import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationStatus;
+import com.logicleaf.invplatform.model.IntegrationType;
+import com.logicleaf.invplatform.model.ZohoContext;
+import com.logicleaf.invplatform.repository.DashboardSnapshotRepository;
+import com.logicleaf.invplatform.repository.IntegrationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Serves founder dashboards from a materialized snapshot per startup.
+ * Snapshots are recomputed on a schedule and whenever Zoho data changes; a page view is one read by _id.
+ * A founder can still ask for a fresh computation, and a startup without a snapshot gets one on first view.
+ * The founder and the startup's active investors all read the same snapshot through one in-process cache
+ * entry per startup, so load grows with startups rather than with viewers.
+ */
+@Service
+public class DashboardSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardSnapshotService.class);
+
+    private final DashboardService dashboardService;
+    private final DashboardSnapshotRepository snapshotRepository;
+    private final IntegrationRepository integrationRepository;
+    private final ZohoContextService zohoContextService;
+    private final ZohoService zohoService;
+    private final ZohoRateLimiter zohoRateLimiter;
+    private final MongoTemplate mongoTemplate;
+    private final Executor snapshotExecutor;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    // First computations in progress, so concurrent viewers of a startup without a snapshot share one
+    private final Map<String, CompletableFuture<DashboardSnapshot>> computing = new ConcurrentHashMap<>();
+    private final Cache<String, DashboardSnapshot> sharedSnapshots;
+
+    @Value("${dashboard.snapshot.max-age-seconds:3600}")
+    private long maxAgeSeconds;
+
+    public DashboardSnapshotService(DashboardService dashboardService,
+            DashboardSnapshotRepository snapshotRepository,
+            IntegrationRepository integrationRepository,
+            ZohoContextService zohoContextService,
+            ZohoService zohoService,
+            ZohoRateLimiter zohoRateLimiter,
+            MongoTemplate mongoTemplate,
+            @Qualifier("snapshotExecutor") Executor snapshotExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${dashboard.snapshot.cache-seconds:30}") long cacheSeconds,
+            @Value("${dashboard.snapshot.cache-max-entries:10000}") long cacheMaxEntries) {
+        this.dashboardService = dashboardService;
+        this.snapshotRepository = snapshotRepository;
+        this.integrationRepository = integrationRepository;
+        this.zohoContextService = zohoContextService;
+        this.zohoService = zohoService;
+        this.zohoRateLimiter = zohoRateLimiter;
+        this.mongoTemplate = mongoTemplate;
+        this.snapshotExecutor = snapshotExecutor;
+
+        // Short TTL: snapshots stored by another instance show up here within cacheSeconds
+        this.sharedSnapshots = Caffeine.newBuilder()
+                .maximumSize(cacheMaxEntries)
+                .expireAfterWrite(Duration.ofSeconds(cacheSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, sharedSnapshots, "dashboard.snapshots");
+    }
+
+    /**
+     * The founder's dashboard snapshot; recomputed first when {@code fresh} is set or none exists yet.
+     * An old snapshot is still served while a background refresh replaces it. Recomputes go through
+     * {@link #computeOnce}, so a founder refreshing repeatedly, or alongside investors, costs one computation.
+     */
+    public DashboardSnapshot getSnapshot(String founderEmail, boolean fresh) {
+        // Cached lookup; also fails with "not connected" exactly like a live computation would
+        ZohoContext context = zohoContextService.resolve(founderEmail);
+
+        if (!fresh) {
+            DashboardSnapshot snapshot = cached(context.getStartupId());
+            if (snapshot != null) {
+                if (isOld(snapshot)) {
+                    refreshAsync(context.getStartupId());
+                }
+                return snapshot;
+            }
+        }
+
+        // Fresh requests skip the cached snapshot but join a computation that is already running
+        return computeOnce(context.getStartupId(), () -> zohoService.resolveContext(founderEmail));
+    }
+
+    /**
+     * The startup's snapshot while it is recent, otherwise recomputed now and stored as usual.
+     * For readers outside a founder request, such as investor portfolio analytics; the caller has
+     * already checked that the integration is connected.
+     */
+    public DashboardSnapshot getSnapshotForStartup(Integration integration, boolean fresh) {
+        String startupId = integration.getStartupId();
+        if (!fresh) {
+            DashboardSnapshot snapshot = cached(startupId);
+            if (snapshot != null && !isOld(snapshot)) {
+                return snapshot;
+            }
+        }
+        return computeOnce(integration);
+    }
+
+    /**
+     * The founder's current snapshot, or null if there is none yet. Lets a conditional GET be answered
+     * from the shared cache entry; an old snapshot is queued for refresh here too, as {@link #getSnapshot} would.
+     */
+    public DashboardSnapshot findVersion(String founderEmail) {
+        ZohoContext context = zohoContextService.resolve(founderEmail);
+
+        DashboardSnapshot snapshot = cached(context.getStartupId());
+        if (snapshot != null && isOld(snapshot)) {
+            refreshAsync(context.getStartupId());
+        }
+        return snapshot;
+    }
+
+    /**
+     * The startup's snapshot for any viewer allowed to see it (access is checked by the caller).
+     * Served from the shared cache entry; a startup without a snapshot gets one computed once,
+     * however many viewers ask at the same time.
+     */
+    public DashboardSnapshot getSharedSnapshot(String startupId) {
+        DashboardSnapshot snapshot = cached(startupId);
+        if (snapshot != null) {
+            if (isOld(snapshot)) {
+                refreshAsync(startupId);
+            }
+            return snapshot;
+        }
+
+        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
+                startupId, IntegrationType.ZOHO);
+        if (!isLive(integration)) {
+            throw new ResourceNotFoundException("No live dashboard for this startup: Zoho is not connected");
+        }
+        return computeOnce(integration);
+    }
+
+    /**
+     * The default window comes from the snapshot; any other window is computed on the spot and not stored.
+     */
+    public DashboardSnapshot getDashboard(String founderEmail, DashboardWindow window, boolean fresh) {
+        if (window.isDefault()) {
+            return getSnapshot(founderEmail, fresh);
+        }
+        return DashboardSnapshot.builder()
+                .dashboard(dashboardService.computeDashboard(zohoService.resolveContext(founderEmail), window))
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.snapshot.refresh-ms:3600000}",
+            initialDelayString = "${dashboard.snapshot.initial-delay-ms:300000}")
+    public void refreshAll() {
+        List<Integration> integrations = integrationRepository.findByIntegrationTypeAndStatus(
+                IntegrationType.ZOHO, IntegrationStatus.CONNECTED);
+
+        for (Integration integration : integrations) {
+            refreshAsync(integration.getStartupId());
+        }
+    }
+
+    @EventListener
+    public void onZohoDataChanged(ZohoDataChangedEvent event) {
+        refreshAsync(event.startupId());
+    }
+
+    /**
+     * Queues a recompute unless one is already queued or running for the startup.
+     */
+    public void refreshAsync(String startupId) {
+        if (!refreshing.add(startupId)) {
+            return;
+        }
+        try {
+            snapshotExecutor.execute(() -> {
+                try {
+                    zohoRateLimiter.inBackground(() -> refresh(startupId));
+                } catch (Exception e) {
+                    logger.warn("Dashboard snapshot refresh failed for startupId {}: {}", startupId, e.getMessage());
+                } finally {
+                    refreshing.remove(startupId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(startupId);
+            logger.warn("Dashboard snapshot refresh queue full, skipping startupId {}", startupId);
+        }
+    }
+
+    private void refresh(String startupId) {
+        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
+                startupId, IntegrationType.ZOHO);
+        if (!isLive(integration)) {
+            return;
+        }
+
+        FounderDashboardResponse dashboard = dashboardService.computeDashboard(
+                zohoContextService.fromIntegration(integration));
+
+        if (storeUnlessDegraded(startupId, dashboard) != null) {
+            logger.info("✅ Dashboard snapshot refreshed for startupId: {}", startupId);
+        }
+    }
+
+    private DashboardSnapshot cached(String startupId) {
+        return sharedSnapshots.get(startupId, id -> snapshotRepository.findById(id).orElse(null));
+    }
+
+    private DashboardSnapshot computeOnce(Integration integration) {
+        return computeOnce(integration.getStartupId(), () -> zohoContextService.fromIntegration(integration));
+    }
+
+    /**
+     * Computes and stores the startup's dashboard, whatever is cached; callers arriving while it runs wait
+     * for the same result.
+     */
+    private DashboardSnapshot computeOnce(String startupId, Supplier<ZohoContext> context) {
+        CompletableFuture<DashboardSnapshot> mine = new CompletableFuture<>();
+        CompletableFuture<DashboardSnapshot> running = computing.putIfAbsent(startupId, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            FounderDashboardResponse dashboard = dashboardService.computeDashboard(context.get());
+            DashboardSnapshot snapshot = storeOrPassThrough(startupId, dashboard);
+            mine.complete(snapshot);
+            return snapshot;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            computing.remove(startupId, mine);
+        }
+    }
+
+    private static boolean isLive(Integration integration) {
+        return integration != null && integration.getStatus() == IntegrationStatus.CONNECTED
+                && integration.getAccessToken() != null && integration.getOrganizationId() != null;
+    }
+
+    private DashboardSnapshot storeOrPassThrough(String startupId, FounderDashboardResponse dashboard) {
+        DashboardSnapshot stored = storeUnlessDegraded(startupId, dashboard);
+        if (stored != null) {
+            return stored;
+        }
+        // Show the caller what we got now, but leave the stored snapshot alone
+        return DashboardSnapshot.builder()
+                .startupId(startupId)
+                .dashboard(dashboard)
+                .computedAt(LocalDateTime.now())
+                .build();
+    }
+
+    /**
+     * Upserts the snapshot, bumping its version. A dashboard with degraded sections does not replace an
+     * existing snapshot: the last complete one is better than one with zeros in it. Returns null then.
+     */
+    private DashboardSnapshot storeUnlessDegraded(String startupId, FounderDashboardResponse dashboard) {
+        boolean degraded = dashboard.getDegradedSections() != null && !dashboard.getDegradedSections().isEmpty();
+        if (degraded && snapshotRepository.existsById(startupId)) {
+            logger.warn("Dashboard snapshot for startupId {} not replaced, degraded sections: {}", startupId,
+                    dashboard.getDegradedSections());
+            return null;
+        }
+
+        DashboardSnapshot stored = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(startupId)),
+                new Update().set("dashboard", dashboard)
+                        .set("computedAt", LocalDateTime.now())
+                        .inc("version", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                DashboardSnapshot.class);
+        if (stored != null) {
+            sharedSnapshots.put(startupId, stored);
+        }
+        return stored;
+    }
+
+    private boolean isOld(DashboardSnapshot snapshot) {
+        return snapshot.getComputedAt() == null
+                || snapshot.getComputedAt().isBefore(LocalDateTime.now().minusSeconds(maxAgeSeconds));
+    }
+}
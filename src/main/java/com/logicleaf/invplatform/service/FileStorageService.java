@@ -2,10 +2,14 @@ package com.logicleaf.invplatform.service;
 
 import org.springframework.beans.factory.annotation.Value;
 // import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.*;
 import java.util.UUID;
 
@@ -61,22 +65,54 @@ public class FileStorageService {
     }
 
     /**
-     * Download a file as byte array.
+     * Write a file by streaming its content, so it never has to be held in memory as a whole.
+     * The content goes to a temporary file first and replaces {@code fileName} only once complete.
      *
-     * @param fileName The file name (located inside fileStorageDir)
-     * @return File bytes
+     * @param fileName The file name (e.g. "report.pdf")
+     * @param content  Writes the file content; the stream is closed afterwards
+     * @return The absolute path of the saved file
      */
-    public byte[] downloadFile(String fileName) {
+    public String writeFile(String fileName, ContentWriter content) {
         try {
-            Path filePath = Paths.get(fileStorageDir).resolve(fileName);
-            if (!Files.exists(filePath)) {
-                throw new RuntimeException("File not found: " + fileName);
+            Path dirPath = Paths.get(fileStorageDir);
+            Files.createDirectories(dirPath);
+
+            Path filePath = dirPath.resolve(fileName);
+            Path tempPath = Files.createTempFile(dirPath, fileName, ".part");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tempPath))) {
+                content.writeTo(out);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(tempPath);
+                throw e;
             }
-            return Files.readAllBytes(filePath);
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            return filePath.toAbsolutePath().toString();
 
         } catch (IOException e) {
-            throw new RuntimeException("Failed to download file: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to write file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A stored file as a resource that is read as a stream, e.g. for a mail attachment or a download.
+     *
+     * @param fileName The file name (located inside fileStorageDir)
+     * @return The file resource
+     */
+    public Resource loadFile(String fileName) {
+        Path dirPath = Paths.get(fileStorageDir).toAbsolutePath().normalize();
+        Path filePath = dirPath.resolve(fileName).normalize();
+        // Names like "../x" must not reach outside the storage folder
+        if (!filePath.startsWith(dirPath) || !Files.isRegularFile(filePath)) {
+            throw new RuntimeException("File not found: " + fileName);
         }
+        return new FileSystemResource(filePath);
+    }
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream out) throws IOException;
     }
 
     public String getUniqueFileName(String fileName) {
@@ -9,11 +9,11 @@ import com.logicleaf.invplatform.model.Investment;
 import com.logicleaf.invplatform.model.MappingStatus;
 import com.logicleaf.invplatform.model.Startup;
 import com.logicleaf.invplatform.model.StartupInvestorMapping;
-import com.logicleaf.invplatform.model.TimelyReport;
+import com.logicleaf.invplatform.model.MetricType;
+import com.logicleaf.invplatform.model.StartupMetrics;
 import com.logicleaf.invplatform.repository.InvestmentRepository;
 import com.logicleaf.invplatform.repository.StartupInvestorMappingRepository;
 import com.logicleaf.invplatform.repository.StartupRepository;
-import com.logicleaf.invplatform.repository.TimelyReportRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -30,7 +30,7 @@ public class InvestmentService {
     private final InvestmentRepository investmentRepository;
     private final StartupRepository startupRepository;
     private final StartupInvestorMappingRepository startupInvestorMappingRepository;
-    private final TimelyReportRepository timelyReportRepository;
+    private final StartupMetricsService startupMetricsService;
 
     public void addInvestment(String investorId, InvestmentRequestDTO request) {
         // Validate startup exists
@@ -87,18 +87,17 @@ public class InvestmentService {
             if (startup == null)
                 return null;
 
-            // Get MRR and Growth
-            List<TimelyReport> reports = timelyReportRepository.findByStartupIdOrderByCreatedAtDesc(startup.getId());
+            // Get MRR and Growth from the two latest reported revenue points
+            List<StartupMetrics> revenue = startupMetricsService.findLatestTwo(startup.getId(),
+                    MetricType.REPORTED_MONTHLY_REVENUE);
             Double currentMrr = 0.0;
             Double growth = 0.0;
 
-            if (!reports.isEmpty()) {
-                TimelyReport latestReport = reports.get(0);
-                currentMrr = latestReport.getMonthlyRevenue() != null ? latestReport.getMonthlyRevenue() : 0.0;
+            if (!revenue.isEmpty()) {
+                currentMrr = revenue.get(0).getMetricValue() != null ? revenue.get(0).getMetricValue() : 0.0;
 
-                if (reports.size() >= 2) {
-                    TimelyReport previousReport = reports.get(1);
-                    Double previousMrr = previousReport.getMonthlyRevenue() != null ? previousReport.getMonthlyRevenue()
+                if (revenue.size() >= 2) {
+                    Double previousMrr = revenue.get(1).getMetricValue() != null ? revenue.get(1).getMetricValue()
                             : 0.0;
                     if (previousMrr > 0) {
                         growth = ((currentMrr - previousMrr) / previousMrr) * 100;
@@ -1,13 +1,17 @@
 package com.logicleaf.invplatform.service;
 
+import com.logicleaf.invplatform.exception.ForbiddenException;
 import com.logicleaf.invplatform.exception.ResourceNotFoundException;
 import com.logicleaf.invplatform.model.Investor;
+import com.logicleaf.invplatform.model.MappingStatus;
 import com.logicleaf.invplatform.repository.InvestorRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.Objects;
@@ -70,26 +74,14 @@ public class InvestorService {
      * ✅ Get all connected startups for an investor
      */
     public List<InvestorStartupDTO> getConnectedStartups(String investorId) {
-        List<StartupInvestorMapping> mappings = new ArrayList<>();
-
-        // 1. Find Investor & User to get Email
-        Investor investor = investorRepository.findById(investorId)
-                .orElseThrow(() -> new ResourceNotFoundException("Investor not found"));
-
-        User user = userRepository.findById(investor.getUserId())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
-
-        // 2. By ID (active/pending)
-        mappings.addAll(mappingRepository.findByInvestorId(investorId));
-
-        // 3. By Email (invites)
-        mappings.addAll(mappingRepository.findByInvestorEmail(user.getEmail()));
-
-        // Deduplicate by mapping ID
-        Map<String, StartupInvestorMapping> uniqueMappings = mappings.stream()
-                .collect(Collectors.toMap(StartupInvestorMapping::getId, m -> m, (m1, m2) -> m1));
+        return getConnectedStartups(getConnectionMappings(investorId));
+    }
 
-        return uniqueMappings.values().stream().map(m -> {
+    /**
+     * ✅ Same as {@link #getConnectedStartups(String)}, for mappings the caller already loaded
+     */
+    public List<InvestorStartupDTO> getConnectedStartups(Collection<StartupInvestorMapping> mappings) {
+        return mappings.stream().map(m -> {
             Startup startup = startupRepository.findById(m.getStartupId()).orElse(null);
             if (startup == null)
                 return null;
@@ -112,4 +104,56 @@ public class InvestorService {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * ✅ Startup id → name, reading only the names
+     */
+    public Map<String, String> getStartupNames(Collection<String> startupIds) {
+        Map<String, String> names = new HashMap<>();
+        for (Startup startup : startupRepository.findNamesByIdIn(startupIds)) {
+            names.put(startup.getId(), startup.getStartupName());
+        }
+        return names;
+    }
+
+    /**
+     * ✅ Mappings behind {@link #getConnectedStartups(String)}, without loading the startups
+     */
+    public Collection<StartupInvestorMapping> getConnectionMappings(String investorId) {
+        List<StartupInvestorMapping> mappings = new ArrayList<>();
+
+        // 1. Find Investor & User to get Email
+        Investor investor = investorRepository.findById(investorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Investor not found"));
+
+        User user = userRepository.findById(investor.getUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found"));
+
+        // 2. By ID (active/pending)
+        mappings.addAll(mappingRepository.findByInvestorId(investorId));
+
+        // 3. By Email (invites)
+        mappings.addAll(mappingRepository.findByInvestorEmail(user.getEmail()));
+
+        // Deduplicate by mapping ID
+        Map<String, StartupInvestorMapping> uniqueMappings = mappings.stream()
+                .collect(Collectors.toMap(StartupInvestorMapping::getId, m -> m, (m1, m2) -> m1));
+
+        return uniqueMappings.values();
+    }
+
+    /**
+     * ✅ Throws unless the investor has an ACTIVE connection to the startup, matched by id or by invite email
+     */
+    public void requireActiveConnection(String investorId, String investorEmail, String startupId) {
+        // An investor can have both a mapping by id and an older one by invite email; either may be the ACTIVE one
+        boolean active = mappingRepository.findByStartupIdAndInvestorId(startupId, investorId)
+                .filter(mapping -> mapping.getStatus() == MappingStatus.ACTIVE)
+                .or(() -> mappingRepository.findByStartupIdAndInvestorEmail(startupId, investorEmail)
+                        .filter(mapping -> mapping.getStatus() == MappingStatus.ACTIVE))
+                .isPresent();
+        if (!active) {
+            throw new ForbiddenException("You are not an active investor in this startup");
+        }
+    }
 }
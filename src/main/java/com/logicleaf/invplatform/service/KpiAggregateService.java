@@ -0,0 +1,314 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.dto.ZohoSalesOrder;
+import com.logicleaf.invplatform.model.KpiAggregateState;
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+import com.logicleaf.invplatform.model.ZohoRecord;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.BitSet;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps {@link KpiMonthAggregate}s in step with the Zoho mirror.
+ * Incremental syncs apply each changed record as a delta: the previous version's contribution is
+ * taken out and the new one added, so the cost is O(changed records). Full syncs, and any delta
+ * that could not be applied, rebuild the startup's aggregates from the mirror instead.
+ */
+@Service
+@RequiredArgsConstructor
+public class KpiAggregateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(KpiAggregateService.class);
+
+    private static final Set<ZohoSyncEntity> TRACKED = EnumSet.of(
+            ZohoSyncEntity.CONTACTS, ZohoSyncEntity.INVOICES, ZohoSyncEntity.EXPENSES, ZohoSyncEntity.SALES_ORDERS);
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The startup's aggregates, or null while they are missing or stale.
+     */
+    public KpiAggregates loadIfReady(String startupId) {
+        KpiAggregateState state = mongoTemplate.findById(startupId, KpiAggregateState.class);
+        if (state == null || state.getBuiltAt() == null || state.isStale()) {
+            return null;
+        }
+        return new KpiAggregates(mongoTemplate.find(
+                Query.query(Criteria.where("startupId").is(startupId)), KpiMonthAggregate.class));
+    }
+
+    public boolean needsRebuild(String startupId) {
+        KpiAggregateState state = mongoTemplate.findById(startupId, KpiAggregateState.class);
+        return state == null || state.getBuiltAt() == null || state.isStale();
+    }
+
+    /**
+     * Mirrored versions of the batch as they are before it is written, by id.
+     */
+    public Map<String, ZohoRecord> previousVersions(ZohoSyncEntity entity, List<ZohoRecord> batch) {
+        Map<String, ZohoRecord> previous = new HashMap<>();
+        if (!TRACKED.contains(entity) || batch.isEmpty()) {
+            return previous;
+        }
+        List<String> ids = batch.stream().map(ZohoRecord::getId).toList();
+        for (ZohoRecord record : mongoTemplate.find(Query.query(Criteria.where("_id").in(ids)), ZohoRecord.class)) {
+            previous.put(record.getId(), record);
+        }
+        return previous;
+    }
+
+    /**
+     * Contacts keep their ordinal across syncs; new contacts get the next free ones.
+     * Must run before the batch is written, since the write replaces the whole record.
+     */
+    public void assignOrdinals(String startupId, ZohoSyncEntity entity, List<ZohoRecord> batch,
+            Map<String, ZohoRecord> previous) {
+        if (entity != ZohoSyncEntity.CONTACTS) {
+            return;
+        }
+
+        int missing = 0;
+        for (ZohoRecord record : batch) {
+            ZohoRecord before = previous.get(record.getId());
+            if (before != null && before.getOrdinal() != null) {
+                record.setOrdinal(before.getOrdinal());
+            } else {
+                missing++;
+            }
+        }
+        if (missing == 0) {
+            return;
+        }
+
+        KpiAggregateState state = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(startupId)),
+                new Update().inc("nextOrdinal", missing),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                KpiAggregateState.class);
+        int next = (int) (state.getNextOrdinal() - missing);
+        for (ZohoRecord record : batch) {
+            if (record.getOrdinal() == null) {
+                record.setOrdinal(next++);
+            }
+        }
+    }
+
+    /**
+     * Applies a written batch as deltas against the versions it replaced.
+     */
+    public void applyChanges(String startupId, ZohoSyncEntity entity, Map<String, ZohoRecord> previous,
+            List<ZohoRecord> batch) {
+        if (!TRACKED.contains(entity) || batch.isEmpty() || needsRebuild(startupId)) {
+            return;
+        }
+
+        try {
+            Map<String, KpiMonthAggregate> touched = new HashMap<>();
+            Function<String, KpiMonthAggregate> bucket = month -> touched.computeIfAbsent(month, m -> {
+                KpiMonthAggregate existing = mongoTemplate.findById(KpiMonthAggregate.idFor(startupId, m),
+                        KpiMonthAggregate.class);
+                return existing != null ? existing : emptyBucket(startupId, m);
+            });
+
+            for (ZohoRecord record : batch) {
+                ZohoRecord before = previous.get(record.getId());
+                if (before != null) {
+                    contribute(entity, before, -1, bucket);
+                }
+                contribute(entity, record, 1, bucket);
+            }
+
+            for (KpiMonthAggregate aggregate : touched.values()) {
+                mongoTemplate.save(aggregate);
+            }
+        } catch (OptimisticLockingFailureException e) {
+            // Another sync moved the same month meanwhile; rebuilding is simpler than reconciling
+            markStale(startupId);
+            logger.warn("KPI aggregates of startupId {} changed concurrently, rebuilding", startupId);
+        } catch (RuntimeException e) {
+            markStale(startupId);
+            logger.warn("KPI aggregate update failed for startupId {}: {}", startupId, e.getMessage());
+        }
+    }
+
+    /**
+     * Recomputes every aggregate of the startup from its mirror, renumbering contacts from 0.
+     * The state is stale while the old aggregates are replaced and current again once the new ones are in.
+     */
+    public void rebuild(String startupId) {
+        Map<String, KpiMonthAggregate> buckets = new HashMap<>();
+        Function<String, KpiMonthAggregate> bucket = month -> buckets.computeIfAbsent(month,
+                m -> emptyBucket(startupId, m));
+
+        int[] ordinal = {0};
+        BulkOperations ordinals = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ZohoRecord.class);
+        for (ZohoSyncEntity entity : TRACKED) {
+            Query query = Query.query(Criteria.where("startupId").is(startupId).and("entity").is(entity));
+            try (Stream<ZohoRecord> records = mongoTemplate.stream(query, ZohoRecord.class)) {
+                records.forEach(record -> {
+                    if (entity == ZohoSyncEntity.CONTACTS) {
+                        record.setOrdinal(ordinal[0]++);
+                        ordinals.updateOne(Query.query(Criteria.where("_id").is(record.getId())),
+                                new Update().set("ordinal", record.getOrdinal()));
+                    }
+                    contribute(entity, record, 1, bucket);
+                });
+            }
+        }
+        // Readers fall back to the record lists until the new set is complete, instead of seeing it half-written
+        markStale(startupId);
+        if (ordinal[0] > 0) {
+            ordinals.execute();
+        }
+
+        mongoTemplate.remove(Query.query(Criteria.where("startupId").is(startupId)), KpiMonthAggregate.class);
+        mongoTemplate.insertAll(buckets.values());
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(startupId)),
+                new Update().set("nextOrdinal", ordinal[0])
+                        .set("builtAt", LocalDateTime.now())
+                        .set("stale", false),
+                KpiAggregateState.class);
+
+        logger.info("✅ Rebuilt {} KPI month aggregates for startupId: {}", buckets.size(), startupId);
+    }
+
+    public void markStale(String startupId) {
+        mongoTemplate.upsert(Query.query(Criteria.where("_id").is(startupId)),
+                new Update().set("stale", true), KpiAggregateState.class);
+    }
+
+    /**
+     * Adds ({@code sign} = 1) or removes ({@code sign} = -1) one record's share of the aggregates.
+     */
+    private void contribute(ZohoSyncEntity entity, ZohoRecord record, int sign,
+            Function<String, KpiMonthAggregate> bucket) {
+        if (record.getData() == null) {
+            return;
+        }
+
+        switch (entity) {
+            case CONTACTS -> contributeContact(record, sign, bucket);
+            case SALES_ORDERS -> {
+                String month = monthOf(record.getDate());
+                ZohoSalesOrder order = objectMapper.convertValue(record.getData(), ZohoSalesOrder.class);
+                if (month != null && order.getTotal() != null) {
+                    KpiMonthAggregate aggregate = bucket.apply(month);
+                    aggregate.setRevenue(aggregate.getRevenue() + sign * order.getTotal());
+                }
+            }
+            case EXPENSES -> {
+                String month = monthOf(record.getDate());
+                ZohoExpense expense = objectMapper.convertValue(record.getData(), ZohoExpense.class);
+                if (month != null && expense.getTotal() != null) {
+                    KpiMonthAggregate aggregate = bucket.apply(month);
+                    aggregate.setExpenses(aggregate.getExpenses() + sign * expense.getTotal());
+                    if (AcquisitionCostKpi.isMarketing(expense)) {
+                        aggregate.setMarketingExpenses(aggregate.getMarketingExpenses() + sign * expense.getTotal());
+                    }
+                }
+            }
+            case INVOICES -> {
+                ZohoInvoice invoice = objectMapper.convertValue(record.getData(), ZohoInvoice.class);
+                if ("paid".equalsIgnoreCase(invoice.getStatus()) && invoice.getTotal() != null) {
+                    String month = monthOf(record.getDate());
+                    KpiMonthAggregate aggregate = bucket.apply(month != null ? month : KpiMonthAggregate.UNDATED);
+                    aggregate.setPaidInvoices(aggregate.getPaidInvoices() + sign * invoice.getTotal());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void contributeContact(ZohoRecord record, int sign, Function<String, KpiMonthAggregate> bucket) {
+        ZohoContact contact = objectMapper.convertValue(record.getData(), ZohoContact.class);
+        if (!contact.isCustomer()) {
+            return;
+        }
+
+        String created = contact.getCreatedTime();
+        String month = monthOf(created);
+        if (month == null) {
+            KpiMonthAggregate undated = bucket.apply(KpiMonthAggregate.UNDATED);
+            undated.setCustomers(undated.getCustomers() + sign);
+            return;
+        }
+
+        KpiMonthAggregate aggregate = bucket.apply(month);
+        int day = Integer.parseInt(created.substring(8, 10));
+        aggregate.setCustomers(aggregate.getCustomers() + sign);
+        aggregate.getCustomersByCreatedDay()[day - 1] += sign;
+
+        if (record.getOrdinal() == null) {
+            return;
+        }
+        int ordinal = record.getOrdinal();
+        boolean set = sign > 0;
+        String status = contact.getStatus();
+        if (status == null || status.equalsIgnoreCase("active")) {
+            aggregate.setActiveCustomers(flip(aggregate.getActiveCustomers(), ordinal, set));
+            if (day == 1) {
+                aggregate.setActiveCustomersOnFirstDay(flip(aggregate.getActiveCustomersOnFirstDay(), ordinal, set));
+            }
+        } else if (status.equalsIgnoreCase("inactive")) {
+            aggregate.setInactiveCustomers(flip(aggregate.getInactiveCustomers(), ordinal, set));
+        }
+    }
+
+    private static byte[] flip(byte[] bytes, int ordinal, boolean set) {
+        BitSet bits = KpiAggregates.bits(bytes);
+        bits.set(ordinal, set);
+        return bits.toByteArray();
+    }
+
+    private static KpiMonthAggregate emptyBucket(String startupId, String month) {
+        return KpiMonthAggregate.builder()
+                .id(KpiMonthAggregate.idFor(startupId, month))
+                .startupId(startupId)
+                .month(month)
+                .customersByCreatedDay(new int[31])
+                .build();
+    }
+
+    /**
+     * "yyyy-MM" of a "yyyy-MM-dd..." date, or null if it doesn't look like one.
+     */
+    private static String monthOf(String date) {
+        if (date == null || date.length() < 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return null;
+        }
+        for (int i : new int[]{0, 1, 2, 3, 5, 6, 8, 9}) {
+            if (!Character.isDigit(date.charAt(i))) {
+                return null;
+            }
+        }
+        int month = Integer.parseInt(date.substring(5, 7));
+        int day = Integer.parseInt(date.substring(8, 10));
+        return month >= 1 && month <= 12 && day >= 1 && day <= 31 ? date.substring(0, 7) : null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+
+import java.time.YearMonth;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Read-only view over one startup's monthly KPI aggregates, for KPIs and dashboard series
+ * that combine the precomputed partials instead of walking records.
+ */
+public class KpiAggregates {
+
+    private final NavigableMap<YearMonth, KpiMonthAggregate> months = new TreeMap<>();
+    private final KpiMonthAggregate undated;
+
+    public KpiAggregates(List<KpiMonthAggregate> aggregates) {
+        KpiMonthAggregate undatedBucket = null;
+        for (KpiMonthAggregate aggregate : aggregates) {
+            if (KpiMonthAggregate.UNDATED.equals(aggregate.getMonth())) {
+                undatedBucket = aggregate;
+            } else {
+                months.put(YearMonth.parse(aggregate.getMonth()), aggregate);
+            }
+        }
+        this.undated = undatedBucket != null ? undatedBucket : new KpiMonthAggregate();
+    }
+
+    /**
+     * Dated buckets, oldest first.
+     */
+    public NavigableMap<YearMonth, KpiMonthAggregate> months() {
+        return Collections.unmodifiableNavigableMap(months);
+    }
+
+    public KpiMonthAggregate undated() {
+        return undated;
+    }
+
+    /**
+     * Sum of {@code field} over every bucket, undated included.
+     */
+    public double total(ToDoubleFunction<KpiMonthAggregate> field) {
+        double total = field.applyAsDouble(undated);
+        for (KpiMonthAggregate aggregate : months.values()) {
+            total += field.applyAsDouble(aggregate);
+        }
+        return total;
+    }
+
+    /**
+     * {@code field} per month of the window, in the same layout as the dashboard's monthly series.
+     */
+    public double[] monthly(DashboardWindow window, ToDoubleFunction<KpiMonthAggregate> field) {
+        double[] series = new double[window.months()];
+        for (KpiMonthAggregate aggregate : months.subMap(window.from(), true, window.to(), true).values()) {
+            YearMonth month = YearMonth.parse(aggregate.getMonth());
+            series[window.monthIndex(month.getYear(), month.getMonthValue())] = field.applyAsDouble(aggregate);
+        }
+        return series;
+    }
+
+    public static BitSet bits(byte[] bytes) {
+        return bytes != null ? BitSet.valueOf(bytes) : new BitSet();
+    }
+}
@@ -0,0 +1,116 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates every {@link DashboardKpi} with a single pass over each data source.
+ * Contact fields that several KPIs need (customer type, status, created date) are decoded once
+ * per contact instead of once per KPI.
+ */
+@Component
+public class KpiEngine {
+
+    private final List<DashboardKpi> kpis;
+
+    public KpiEngine(List<DashboardKpi> kpis) {
+        this.kpis = kpis;
+    }
+
+    /**
+     * Returns each KPI's value keyed by name, in KPI order.
+     */
+    public Map<String, Double> evaluate(List<ZohoContact> contacts, List<ZohoInvoice> invoices,
+            List<ZohoExpense> expenses, KpiScope scope) {
+        int size = kpis.size();
+        DashboardKpi.Accumulator[] accumulators = new DashboardKpi.Accumulator[size];
+        for (int i = 0; i < size; i++) {
+            accumulators[i] = kpis.get(i).newAccumulator(scope);
+        }
+
+        DashboardKpi.ContactFacts facts = new DashboardKpi.ContactFacts();
+        for (ZohoContact contact : contacts) {
+            decode(contact, facts);
+            for (DashboardKpi.Accumulator accumulator : accumulators) {
+                accumulator.acceptContact(facts);
+            }
+        }
+
+        for (ZohoInvoice invoice : invoices) {
+            for (DashboardKpi.Accumulator accumulator : accumulators) {
+                accumulator.acceptInvoice(invoice);
+            }
+        }
+
+        for (ZohoExpense expense : expenses) {
+            for (DashboardKpi.Accumulator accumulator : accumulators) {
+                accumulator.acceptExpense(expense);
+            }
+        }
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            results.put(kpis.get(i).name(), accumulators[i].result());
+        }
+        return results;
+    }
+
+    /**
+     * Same results as {@link #evaluate(List, List, List, KpiScope)}, from the startup's monthly
+     * aggregates; cost depends on the number of months, not records.
+     */
+    public Map<String, Double> evaluate(KpiAggregates aggregates, KpiScope scope) {
+        Map<String, Double> results = new LinkedHashMap<>();
+        for (DashboardKpi kpi : kpis) {
+            results.put(kpi.name(), kpi.fromAggregates(aggregates, scope));
+        }
+        return results;
+    }
+
+    private static void decode(ZohoContact contact, DashboardKpi.ContactFacts facts) {
+        String status = contact.getStatus();
+        facts.contactId = contact.getContactId();
+        facts.customer = contact.isCustomer();
+        facts.active = status == null || status.equalsIgnoreCase("active");
+        facts.inactive = status != null && status.equalsIgnoreCase("inactive");
+
+        facts.createdEpochDay = DashboardKpi.ContactFacts.NO_DATE;
+        String created = contact.getCreatedTime(); // e.g. 2025-09-24T22:18:31+0530
+        if (created == null || created.length() < 10 || created.charAt(4) != '-' || created.charAt(7) != '-') {
+            return;
+        }
+        int year = digits(created, 0, 4);
+        int month = digits(created, 5, 7);
+        int day = digits(created, 8, 10);
+        if (year < 0 || month < 0 || day < 0) {
+            return;
+        }
+        try {
+            facts.createdEpochDay = (int) LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            return;
+        }
+        facts.createdProlepticMonth = year * 12 + month - 1;
+        facts.createdDayOfMonth = day;
+    }
+
+    private static int digits(String value, int from, int to) {
+        int result = 0;
+        for (int i = from; i < to; i++) {
+            int digit = value.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            result = result * 10 + digit;
+        }
+        return result;
+    }
+}
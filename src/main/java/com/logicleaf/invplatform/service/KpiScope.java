@@ -0,0 +1,43 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.dto.ZohoProfitAndLoss;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Inputs shared by every KPI of one dashboard evaluation: today, the reporting period
+ * (the previous calendar month) as epoch days, the window the KPI expenses and P&L were read for
+ * (always the current default dashboard window, whatever window the charts show),
+ * and the P&L report.
+ */
+public record KpiScope(
+        int todayProlepticMonth,
+        int todayDayOfMonth,
+        int periodStartEpochDay,
+        int periodEndEpochDay,
+        YearMonth windowFrom,
+        YearMonth windowTo,
+        ZohoProfitAndLoss profitAndLoss) {
+
+    public static KpiScope of(LocalDate today, LocalDate periodStart, LocalDate periodEnd, DashboardWindow window,
+            ZohoProfitAndLoss profitAndLoss) {
+        return new KpiScope(
+                today.getYear() * 12 + today.getMonthValue() - 1,
+                today.getDayOfMonth(),
+                (int) periodStart.toEpochDay(),
+                (int) periodEnd.toEpochDay(),
+                window.from(),
+                window.to(),
+                profitAndLoss);
+    }
+
+    public YearMonth periodMonth() {
+        return YearMonth.from(LocalDate.ofEpochDay(periodStartEpochDay));
+    }
+
+    public boolean inPeriod(int epochDay) {
+        return epochDay >= periodStartEpochDay && epochDay <= periodEndEpochDay;
+    }
+}
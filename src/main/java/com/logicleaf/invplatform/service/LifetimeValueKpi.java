@@ -0,0 +1,103 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+
+/**
+ * Customer lifetime value: paid revenue per customer × gross margin × average customer lifespan in months.
+ */
+@Component
+@Order(20)
+public class LifetimeValueKpi implements DashboardKpi {
+
+    @Override
+    public String name() {
+        return "LTV";
+    }
+
+    @Override
+    public Accumulator newAccumulator(KpiScope scope) {
+        return new Accumulator() {
+
+            private double totalRevenue;
+            private int customerCount;
+            private double lifespanMonths;
+            private int datedCustomerCount;
+
+            @Override
+            public void acceptContact(ContactFacts contact) {
+                if (!contact.isCustomer()) {
+                    return;
+                }
+                customerCount++;
+                if (contact.hasCreatedDate()) {
+                    lifespanMonths += Math.max(0L,
+                            contact.monthsUntil(scope.todayProlepticMonth(), scope.todayDayOfMonth()));
+                    datedCustomerCount++;
+                }
+            }
+
+            @Override
+            public void acceptInvoice(ZohoInvoice invoice) {
+                if ("paid".equalsIgnoreCase(invoice.getStatus()) && invoice.getTotal() != null) {
+                    totalRevenue += invoice.getTotal();
+                }
+            }
+
+            @Override
+            public double result() {
+                return lifetimeValue(totalRevenue, customerCount, lifespanMonths, datedCustomerCount, scope);
+            }
+        };
+    }
+
+    /**
+     * Lifespans come from the per-day customer counts: a customer created on day d of a month before
+     * the current one has lived (today's month - that month) months, one less if today's day is before d.
+     * Customers created this month or later contribute 0, as in the accumulator.
+     */
+    @Override
+    public double fromAggregates(KpiAggregates aggregates, KpiScope scope) {
+        double totalRevenue = aggregates.total(KpiMonthAggregate::getPaidInvoices);
+        int customerCount = aggregates.undated().getCustomers();
+        int datedCustomerCount = 0;
+        double lifespanMonths = 0.0;
+
+        for (KpiMonthAggregate month : aggregates.months().values()) {
+            customerCount += month.getCustomers();
+            datedCustomerCount += month.getCustomers();
+
+            YearMonth created = YearMonth.parse(month.getMonth());
+            long months = scope.todayProlepticMonth() - (created.getYear() * 12L + created.getMonthValue() - 1);
+            int[] byDay = month.getCustomersByCreatedDay();
+            if (months <= 0 || byDay == null) {
+                continue;
+            }
+            for (int day = 1; day <= byDay.length; day++) {
+                lifespanMonths += byDay[day - 1] * (scope.todayDayOfMonth() < day ? months - 1 : months);
+            }
+        }
+
+        return lifetimeValue(totalRevenue, customerCount, lifespanMonths, datedCustomerCount, scope);
+    }
+
+    private static double lifetimeValue(double totalRevenue, int customerCount, double lifespanMonths,
+            int datedCustomerCount, KpiScope scope) {
+        if (totalRevenue <= 0 || customerCount == 0) {
+            return 0.0;
+        }
+
+        double grossProfit = scope.profitAndLoss().sectionTotal("Gross Profit");
+        if (grossProfit <= 0) {
+            return 0.0;
+        }
+
+        double grossMargin = grossProfit / totalRevenue; // 0.75 means 75% margin
+        double averageLifespan = datedCustomerCount == 0 ? 0.0 : lifespanMonths / datedCustomerCount;
+        return ((totalRevenue / customerCount) * grossMargin) * averageLifespan;
+    }
+}
@@ -14,7 +14,7 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamSource;
 
 @Service
 @RequiredArgsConstructor
@@ -50,7 +50,7 @@ public class MailService {
             String investorEmail,
             String startupName,
             TimelyReport report,
-            byte[] pdfBytes,
+            InputStreamSource pdf,
             String pdfFileName
     ) throws MessagingException {
 
@@ -66,9 +66,9 @@ public class MailService {
         // ✉️ Email body
         helper.setText(buildEmailBodyForTimelyReport(report, startupName), false);
 
-        // 📎 Attach PDF
+        // 📎 Attach PDF, read as a stream while the message is sent
 
-        helper.addAttachment(pdfFileName, new ByteArrayResource(pdfBytes));
+        helper.addAttachment(pdfFileName, pdf);
 
         mailSender.send(message);
     }
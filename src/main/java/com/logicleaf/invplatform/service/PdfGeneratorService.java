@@ -1,24 +1,42 @@
 package com.logicleaf.invplatform.service;
 
+import com.itextpdf.awt.PdfGraphics2D;
 import com.itextpdf.text.*;
 import com.itextpdf.text.Font;
 import com.itextpdf.text.Image;
+import com.itextpdf.text.pdf.BaseFont;
 import com.itextpdf.text.pdf.PdfPCell;
 import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfTemplate;
 import com.itextpdf.text.pdf.PdfWriter;
+import com.logicleaf.invplatform.model.MetricType;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import com.logicleaf.invplatform.model.StartupMetricRollup;
 import com.logicleaf.invplatform.model.TimelyReport;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartUtils;
 import org.jfree.chart.JFreeChart;
 import org.jfree.data.category.DefaultCategoryDataset;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.awt.*;
+import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
 
 /**
  * Service for generating investor-style PDF reports, now with embedded charts.
@@ -26,41 +44,72 @@ import java.time.format.DateTimeFormatter;
 @Service
 public class PdfGeneratorService {
 
+    private static final int CHART_MONTHS = 5;
+    private static final double LAKH = 100_000.0;
+
+    // Report styles, built once. Fonts hold their BaseFont, so laying out text never looks the font up
+    // again; none of these are modified after construction, which makes them safe to share between renders.
+    private static final BaseFont HELVETICA = standardFont(BaseFont.HELVETICA);
+    private static final BaseFont HELVETICA_BOLD = standardFont(BaseFont.HELVETICA_BOLD);
+    private static final BaseFont HELVETICA_OBLIQUE = standardFont(BaseFont.HELVETICA_OBLIQUE);
+
+    private static final Font TITLE_FONT = new Font(HELVETICA_BOLD, 18, Font.NORMAL, new BaseColor(64, 64, 128));
+    private static final Font SUBTITLE_FONT = new Font(HELVETICA_OBLIQUE, 12, Font.NORMAL, new BaseColor(100, 100, 100));
+    private static final Font SECTION_FONT = new Font(HELVETICA_BOLD, 13, Font.NORMAL, new BaseColor(60, 60, 60));
+    private static final Font BODY_FONT = new Font(HELVETICA, 11);
+    private static final Font GREEN_FONT = new Font(HELVETICA, 11, Font.NORMAL, new BaseColor(20, 150, 20));
+    private static final Font RED_FONT = new Font(HELVETICA, 11, Font.NORMAL, new BaseColor(200, 40, 40));
+    private static final BaseColor METRIC_BORDER = new BaseColor(240, 240, 240);
+    private static final float[] METRIC_COLUMN_WIDTHS = {2f, 2f, 2f, 2f};
+    private static final DateTimeFormatter GENERATED_ON = DateTimeFormatter.ofPattern("MMM d, yyyy");
+
+    static final int CHART_WIDTH = 500;
+    static final int CHART_HEIGHT = 300;
+    private static final String REVENUE_GROWTH_CHART = "line|Monthly Revenue Growth|Month|Revenue (Lakh ₹)";
+    private static final String BURN_VS_RUNWAY_CHART = "bar|Monthly Burn vs Runway|Month|Value";
+    // Bump when chart styling changes, so cached images rendered the old way stop matching
+    private static final int CHART_STYLE_VERSION = 1;
+
+    @Autowired
+    private StartupMetricsService startupMetricsService;
+
+    @Autowired
+    private ChartImageCache chartImageCache;
+
+    @Value("${reports.charts.vector:true}")
+    private boolean vectorCharts;
+
     public byte[] generateTimelyReportPdf(TimelyReport report, String startupName) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeTimelyReportPdf(report, startupName, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Renders the report into {@code out} as it is laid out, so the caller can stream it to a file
+     * without holding the whole PDF in memory. The stream is left open.
+     */
+    public void writeTimelyReportPdf(TimelyReport report, String startupName, OutputStream out) {
         try {
             Document document = new Document(PageSize.A4, 36, 36, 54, 36);
-            ByteArrayOutputStream out = new ByteArrayOutputStream();
-            PdfWriter.getInstance(document, out);
+            PdfWriter writer = PdfWriter.getInstance(document, out);
+            writer.setCloseStream(false);
 
             document.open();
 
-            // Fonts
-            Font titleFont = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD, new BaseColor(64, 64, 128));
-            Font subtitleFont = new Font(Font.FontFamily.HELVETICA, 12, Font.ITALIC, new BaseColor(100, 100, 100));
-            Font sectionTitle = new Font(Font.FontFamily.HELVETICA, 13, Font.BOLD, new BaseColor(60, 60, 60));
-            Font normal = new Font(Font.FontFamily.HELVETICA, 11);
-            Font green = new Font(Font.FontFamily.HELVETICA, 11, Font.NORMAL, new BaseColor(20, 150, 20));
-            Font red = new Font(Font.FontFamily.HELVETICA, 11, Font.NORMAL, new BaseColor(200, 40, 40));
-
             // Header
             String monthTitle = (report.getReportingPeriod() != null)
                     ? report.getReportingPeriod()
                     : "December 2024 Monthly Report";
 
-            Paragraph header = new Paragraph(monthTitle, titleFont);
-            header.setAlignment(Element.ALIGN_CENTER);
-            document.add(header);
-
-            Paragraph subHeader = new Paragraph(startupName + " • Generated on " +
-                    LocalDate.now().format(DateTimeFormatter.ofPattern("MMM d, yyyy")), subtitleFont);
-            subHeader.setAlignment(Element.ALIGN_CENTER);
-            document.add(subHeader);
+            document.add(centered(monthTitle, TITLE_FONT));
+            document.add(centered(startupName + " • Generated on " + LocalDate.now().format(GENERATED_ON),
+                    SUBTITLE_FONT));
             document.add(Chunk.NEWLINE);
 
             // Metrics Table
-            PdfPTable metricsTable = new PdfPTable(4);
+            PdfPTable metricsTable = new PdfPTable(METRIC_COLUMN_WIDTHS);
             metricsTable.setWidthPercentage(100);
-            metricsTable.setWidths(new float[]{2f, 2f, 2f, 2f});
 
             addMetric(metricsTable, "Monthly Revenue", "₹" + safeFormat(report.getMonthlyRevenue()) + "L");
             addMetric(metricsTable, "Monthly Burn", "₹" + safeFormat(report.getMonthlyBurn()) + "L");
@@ -71,10 +120,10 @@ public class PdfGeneratorService {
             document.add(Chunk.NEWLINE);
 
             // === Revenue Growth Chart ===
-            Paragraph revGrowth = new Paragraph("Revenue Growth", sectionTitle);
-            document.add(revGrowth);
+            document.add(new Paragraph("Revenue Growth", SECTION_FONT));
 
-            Image revenueChartImage = Image.getInstance(generateRevenueGrowthChart());
+            Image revenueChartImage = chartImage(writer, REVENUE_GROWTH_CHART,
+                    revenueGrowthData(report.getStartupId()), PdfGeneratorService::revenueGrowthChart);
             revenueChartImage.scaleToFit(450, 250);
             revenueChartImage.setAlignment(Element.ALIGN_CENTER);
             document.add(revenueChartImage);
@@ -82,10 +131,10 @@ public class PdfGeneratorService {
             document.add(Chunk.NEWLINE);
 
             // === Burn vs Runway Chart ===
-            Paragraph burnRunway = new Paragraph("Burn vs Runway", sectionTitle);
-            document.add(burnRunway);
+            document.add(new Paragraph("Burn vs Runway", SECTION_FONT));
 
-            Image burnChartImage = Image.getInstance(generateBurnVsRunwayChart());
+            Image burnChartImage = chartImage(writer, BURN_VS_RUNWAY_CHART,
+                    burnVsRunwayData(report.getStartupId()), PdfGeneratorService::burnVsRunwayChart);
             burnChartImage.scaleToFit(450, 250);
             burnChartImage.setAlignment(Element.ALIGN_CENTER);
             document.add(burnChartImage);
@@ -93,47 +142,41 @@ public class PdfGeneratorService {
             document.add(Chunk.NEWLINE);
 
             // === Achievements ===
-            Paragraph achievementsTitle = new Paragraph("Key Achievements", sectionTitle);
-            document.add(achievementsTitle);
+            document.add(new Paragraph("Key Achievements", SECTION_FONT));
             String achievements = report.getKeyAchievements() != null ? report.getKeyAchievements()
                     : "• Launched AI-powered analytics dashboard\n• Signed partnership with Microsoft for Startups\n• Onboarded Flipkart and Zomato as enterprise clients";
-            document.add(new Paragraph(achievements, green));
+            document.add(new Paragraph(achievements, GREEN_FONT));
 
             document.add(Chunk.NEWLINE);
 
             // === Challenges ===
-            Paragraph challengesTitle = new Paragraph("Challenges & Learnings", sectionTitle);
-            document.add(challengesTitle);
+            document.add(new Paragraph("Challenges & Learnings", SECTION_FONT));
             String challenges = report.getChallengesAndLearnings() != null ? report.getChallengesAndLearnings()
                     : "• Server downtime during peak usage (resolved)\n• New competitor analysis ongoing\n• Mobile app prioritized based on feedback";
-            document.add(new Paragraph(challenges, red));
+            document.add(new Paragraph(challenges, RED_FONT));
             document.add(Chunk.NEWLINE);
 
             // === Attachments ===
-            Paragraph attachmentsTitle = new Paragraph("Attachments", sectionTitle);
-            document.add(attachmentsTitle);
+            document.add(new Paragraph("Attachments", SECTION_FONT));
 
             if (report.getAttachments() != null && !report.getAttachments().isEmpty()) {
                 report.getAttachments().forEach(att -> {
                     try {
-                        document.add(new Paragraph("• " + att.getFileName(), normal));
+                        document.add(new Paragraph("• " + att.getFileName(), BODY_FONT));
                     } catch (DocumentException e) {
                         e.printStackTrace();
                     }
                 });
             } else {
-                document.add(new Paragraph("• Financial_Statements_Dec.pdf\n• Growth_Dashboard.png\n• Roadmap_Q1_2025.pdf", normal));
+                document.add(new Paragraph("• Financial_Statements_Dec.pdf\n• Growth_Dashboard.png\n• Roadmap_Q1_2025.pdf", BODY_FONT));
             }
 
             document.add(Chunk.NEWLINE);
 
             // Footer
-            Paragraph footer = new Paragraph("Generated automatically by InvestPlatform Reporting System", subtitleFont);
-            footer.setAlignment(Element.ALIGN_CENTER);
-            document.add(footer);
+            document.add(centered("Generated automatically by InvestPlatform Reporting System", SUBTITLE_FONT));
 
             document.close();
-            return out.toByteArray();
 
         } catch (Exception e) {
             throw new RuntimeException("Error generating PDF: " + e.getMessage(), e);
@@ -143,11 +186,25 @@ public class PdfGeneratorService {
     private void addMetric(PdfPTable table, String label, String value) {
         PdfPCell cell = new PdfPCell();
         cell.setPadding(10);
-        cell.setBorderColor(new BaseColor(240, 240, 240));
-        cell.setPhrase(new Phrase(label + "\n" + value, new Font(Font.FontFamily.HELVETICA, 11)));
+        cell.setBorderColor(METRIC_BORDER);
+        cell.setPhrase(new Phrase(label + "\n" + value, BODY_FONT));
         table.addCell(cell);
     }
 
+    private static Paragraph centered(String text, Font font) {
+        Paragraph paragraph = new Paragraph(text, font);
+        paragraph.setAlignment(Element.ALIGN_CENTER);
+        return paragraph;
+    }
+
+    private static BaseFont standardFont(String name) {
+        try {
+            return BaseFont.createFont(name, BaseFont.WINANSI, BaseFont.NOT_EMBEDDED);
+        } catch (DocumentException | IOException e) {
+            throw new IllegalStateException("Cannot load standard PDF font " + name, e);
+        }
+    }
+
     private String safeFormat(Double val) {
         if (val == null) return "0.0";
         return String.format("%.1f", val);
@@ -155,26 +212,130 @@ public class PdfGeneratorService {
 
     // === Chart Generators ===
 
-    private byte[] generateRevenueGrowthChart() throws IOException {
+    /**
+     * The chart as a PDF image: drawn straight into a vector template by default, or rasterized
+     * to PNG through the chart cache when {@code reports.charts.vector} is off.
+     */
+    private Image chartImage(PdfWriter writer, String spec, DefaultCategoryDataset dataset,
+            Function<DefaultCategoryDataset, JFreeChart> chart) throws BadElementException, IOException {
+        if (vectorCharts) {
+            return vectorImage(writer, chart.apply(dataset), CHART_WIDTH, CHART_HEIGHT);
+        }
+        byte[] png = chartImageCache.get(chartKey(spec, dataset),
+                () -> chartToBytes(chart.apply(dataset), CHART_WIDTH, CHART_HEIGHT));
+        return Image.getInstance(png);
+    }
+
+    private DefaultCategoryDataset revenueGrowthData(String startupId) {
         DefaultCategoryDataset dataset = new DefaultCategoryDataset();
-        dataset.addValue(12, "Revenue", "Jan");
-        dataset.addValue(15, "Revenue", "Feb");
-        dataset.addValue(18, "Revenue", "Mar");
-        dataset.addValue(22, "Revenue", "Apr");
-        dataset.addValue(27, "Revenue", "May");
+        if (!addMonthlySeries(dataset, startupId, MetricType.REVENUE, "Revenue", LAKH)) {
+            addSampleRevenue(dataset);
+        }
+        return dataset;
+    }
+
+    private DefaultCategoryDataset burnVsRunwayData(String startupId) {
+        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+        boolean burn = addMonthlySeries(dataset, startupId, MetricType.BURN, "Burn", LAKH);
+        boolean runway = addMonthlySeries(dataset, startupId, MetricType.RUNWAY_MONTHS, "Runway (months)", 1.0);
+        if (!burn && !runway) {
+            addSampleBurnAndRunway(dataset);
+        }
+        return dataset;
+    }
 
+    static JFreeChart revenueGrowthChart(DefaultCategoryDataset dataset) {
         JFreeChart chart = ChartFactory.createLineChart(
                 "Monthly Revenue Growth", "Month", "Revenue (Lakh ₹)",
                 dataset);
 
         chart.setBackgroundPaint(Color.white);
         chart.getPlot().setBackgroundPaint(new Color(245, 245, 245));
+        return chart;
+    }
+
+    static JFreeChart burnVsRunwayChart(DefaultCategoryDataset dataset) {
+        JFreeChart chart = ChartFactory.createBarChart(
+                "Monthly Burn vs Runway", "Month", "Value",
+                dataset);
 
-        return chartToBytes(chart, 500, 300);
+        chart.setBackgroundPaint(Color.white);
+        chart.getPlot().setBackgroundPaint(new Color(245, 245, 245));
+        return chart;
     }
 
-    private byte[] generateBurnVsRunwayChart() throws IOException {
-        DefaultCategoryDataset dataset = new DefaultCategoryDataset();
+    /**
+     * Draws the chart into a PDF template as vector graphics, so the PDF carries paths instead of pixels.
+     * Text goes in as glyph outlines from the AWT fonts, which keeps characters like ₹ that the
+     * built-in PDF fonts lack and makes the output look like the raster version.
+     */
+    static Image vectorImage(PdfWriter writer, JFreeChart chart, int width, int height) throws BadElementException {
+        PdfTemplate template = writer.getDirectContent().createTemplate(width, height);
+        Graphics2D graphics = new PdfGraphics2D(template, width, height, true);
+        try {
+            chart.draw(graphics, new Rectangle2D.Double(0, 0, width, height));
+        } finally {
+            graphics.dispose();
+        }
+        return Image.getInstance(template);
+    }
+
+    /**
+     * Content hash of everything a chart image depends on: its spec, size, styling version and every
+     * dataset cell in order. Equal keys mean byte-identical images.
+     */
+    private static String chartKey(String spec, DefaultCategoryDataset dataset) {
+        StringBuilder content = new StringBuilder()
+                .append(CHART_STYLE_VERSION).append('|')
+                .append(spec).append('|')
+                .append(CHART_WIDTH).append('x').append(CHART_HEIGHT);
+        for (int row = 0; row < dataset.getRowCount(); row++) {
+            for (int column = 0; column < dataset.getColumnCount(); column++) {
+                content.append('|').append(dataset.getRowKey(row))
+                        .append('/').append(dataset.getColumnKey(column))
+                        .append('=').append(dataset.getValue(row, column));
+            }
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(content.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Adds the last {@value #CHART_MONTHS} monthly rollups of the metric; false if there are none.
+     */
+    private boolean addMonthlySeries(DefaultCategoryDataset dataset, String startupId, MetricType metric,
+            String series, double divisor) {
+        if (startupId == null) {
+            return false;
+        }
+        LocalDate to = LocalDate.now();
+        LocalDate from = to.minusMonths(CHART_MONTHS - 1).withDayOfMonth(1);
+        List<StartupMetricRollup> rollups = startupMetricsService.findRollups(startupId, metric,
+                RollupPeriod.MONTH, from, to);
+
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM", Locale.ENGLISH);
+        for (StartupMetricRollup rollup : rollups) {
+            dataset.addValue(rollup.getValue() / divisor, series, rollup.getPeriodStart().format(monthFormatter));
+        }
+        return !rollups.isEmpty();
+    }
+
+    // Placeholder series for startups with no metric history yet
+
+    static void addSampleRevenue(DefaultCategoryDataset dataset) {
+        dataset.addValue(12, "Revenue", "Jan");
+        dataset.addValue(15, "Revenue", "Feb");
+        dataset.addValue(18, "Revenue", "Mar");
+        dataset.addValue(22, "Revenue", "Apr");
+        dataset.addValue(27, "Revenue", "May");
+    }
+
+    static void addSampleBurnAndRunway(DefaultCategoryDataset dataset) {
         dataset.addValue(8, "Burn", "Jan");
         dataset.addValue(10, "Burn", "Feb");
         dataset.addValue(9, "Burn", "Mar");
@@ -186,21 +347,16 @@ public class PdfGeneratorService {
         dataset.addValue(13, "Runway (months)", "Mar");
         dataset.addValue(12, "Runway (months)", "Apr");
         dataset.addValue(11, "Runway (months)", "May");
-
-        JFreeChart chart = ChartFactory.createBarChart(
-                "Monthly Burn vs Runway", "Month", "Value",
-                dataset);
-
-        chart.setBackgroundPaint(Color.white);
-        chart.getPlot().setBackgroundPaint(new Color(245, 245, 245));
-
-        return chartToBytes(chart, 500, 300);
     }
 
-    private byte[] chartToBytes(JFreeChart chart, int width, int height) throws IOException {
+    static byte[] chartToBytes(JFreeChart chart, int width, int height) {
         BufferedImage chartImage = chart.createBufferedImage(width, height);
         ByteArrayOutputStream baos = new ByteArrayOutputStream();
-        ChartUtils.writeBufferedImageAsPNG(baos, chartImage);
+        try {
+            ChartUtils.writeBufferedImageAsPNG(baos, chartImage);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
         return baos.toByteArray();
     }
 }
@@ -0,0 +1,365 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.FounderDashboardResponse;
+import com.logicleaf.invplatform.dto.MonthlyMetric;
+import com.logicleaf.invplatform.dto.PortfolioAnalyticsDTO;
+import com.logicleaf.invplatform.dto.PortfolioCompanyAnalyticsDTO;
+import com.logicleaf.invplatform.model.DashboardSnapshot;
+import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationStatus;
+import com.logicleaf.invplatform.model.IntegrationType;
+import com.logicleaf.invplatform.model.Investment;
+import com.logicleaf.invplatform.model.MetricType;
+import com.logicleaf.invplatform.model.Startup;
+import com.logicleaf.invplatform.model.StartupMetrics;
+import com.logicleaf.invplatform.repository.IntegrationRepository;
+import com.logicleaf.invplatform.repository.InvestmentRepository;
+import com.logicleaf.invplatform.repository.StartupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Live KPIs of every company in an investor's portfolio, rolled up into portfolio-level figures.
+ * Companies are evaluated in parallel on portfolioExecutor. Each one is a dashboard snapshot (recomputed
+ * when old) for Zoho-connected startups, or the latest founder-reported metrics otherwise. Companies
+ * sharing a Zoho organization take turns, so one org's rate limit is not hit by several at once.
+ * A company that fails or misses the deadline is reported as unavailable; the rest still come back.
+ * Money is in rupees throughout: reported figures are typed in lakh ₹ and converted on the way in.
+ */
+@Service
+public class PortfolioAnalyticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioAnalyticsService.class);
+
+    private static final double RUPEES_PER_LAKH = 100_000.0;
+
+    private final InvestmentRepository investmentRepository;
+    private final StartupRepository startupRepository;
+    private final IntegrationRepository integrationRepository;
+    private final DashboardSnapshotService dashboardSnapshotService;
+    private final StartupMetricsService startupMetricsService;
+    private final Executor portfolioExecutor;
+
+    // Zoho organization id → permits for computing that org's companies
+    private final Map<String, Semaphore> organizationPermits = new ConcurrentHashMap<>();
+
+    @Value("${portfolio.analytics.deadline-ms:30000}")
+    private long deadlineMs;
+
+    @Value("${portfolio.analytics.per-integration-concurrency:1}")
+    private int perIntegrationConcurrency;
+
+    public PortfolioAnalyticsService(InvestmentRepository investmentRepository,
+            StartupRepository startupRepository,
+            IntegrationRepository integrationRepository,
+            DashboardSnapshotService dashboardSnapshotService,
+            StartupMetricsService startupMetricsService,
+            @Qualifier("portfolioExecutor") Executor portfolioExecutor) {
+        this.investmentRepository = investmentRepository;
+        this.startupRepository = startupRepository;
+        this.integrationRepository = integrationRepository;
+        this.dashboardSnapshotService = dashboardSnapshotService;
+        this.startupMetricsService = startupMetricsService;
+        this.portfolioExecutor = portfolioExecutor;
+    }
+
+    /**
+     * ✅ Portfolio analytics for the investor's active investments.
+     * With {@code fresh} every Zoho-connected company is recomputed instead of served from a recent snapshot.
+     */
+    public PortfolioAnalyticsDTO getPortfolioAnalytics(String investorId, boolean fresh) {
+        List<Investment> investments = investmentRepository.findByInvestorId(investorId).stream()
+                .filter(investment -> !Boolean.FALSE.equals(investment.getIsActive()))
+                .toList();
+        List<String> startupIds = investments.stream().map(Investment::getStartupId).distinct().toList();
+
+        Map<String, Startup> startups = new HashMap<>();
+        startupRepository.findAllById(startupIds).forEach(startup -> startups.put(startup.getId(), startup));
+        Map<String, Integration> integrations = new HashMap<>();
+        for (Integration integration : integrationRepository.findByStartupIdInAndIntegrationType(startupIds,
+                IntegrationType.ZOHO)) {
+            integrations.put(integration.getStartupId(), integration);
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+
+        Map<Investment, CompletableFuture<PortfolioCompanyAnalyticsDTO>> futures = new LinkedHashMap<>();
+        for (Investment investment : investments) {
+            Startup startup = startups.get(investment.getStartupId());
+            if (startup == null) {
+                continue;
+            }
+            Integration integration = integrations.get(startup.getId());
+            futures.put(investment, submit(() -> analyze(startup, investment, integration, fresh, deadline)));
+        }
+
+        List<PortfolioCompanyAnalyticsDTO> companies = new ArrayList<>(futures.size());
+        futures.forEach((investment, future) -> companies.add(await(future, investment,
+                startups.get(investment.getStartupId()), deadline)));
+
+        return aggregate(companies);
+    }
+
+    private CompletableFuture<PortfolioCompanyAnalyticsDTO> submit(Supplier<PortfolioCompanyAnalyticsDTO> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, portfolioExecutor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private PortfolioCompanyAnalyticsDTO await(CompletableFuture<PortfolioCompanyAnalyticsDTO> future,
+            Investment investment, Startup startup, long deadlineNanos) {
+        String reason;
+        try {
+            long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+            return future.get(remaining, TimeUnit.NANOSECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            logger.warn("Portfolio analytics failed for startupId {}: {}", startup.getId(), cause.getMessage());
+            reason = cause instanceof RejectedExecutionException ? "busy" : "error";
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            logger.warn("Portfolio analytics for startupId {} missed the {} ms deadline", startup.getId(), deadlineMs);
+            reason = "timeout";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            reason = "interrupted";
+        }
+        return unavailable(startup, investment, reason);
+    }
+
+    private PortfolioCompanyAnalyticsDTO analyze(Startup startup, Investment investment, Integration integration,
+            boolean fresh, long deadlineNanos) {
+        if (!isConnected(integration)) {
+            return fromReports(startup, investment, "zoho not connected");
+        }
+
+        Semaphore permits = organizationPermits.computeIfAbsent(integration.getOrganizationId(),
+                org -> new Semaphore(perIntegrationConcurrency));
+        try {
+            long remaining = Math.max(0L, deadlineNanos - System.nanoTime());
+            if (!permits.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                return fromReports(startup, investment, "zoho busy");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return unavailable(startup, investment, "interrupted");
+        }
+
+        try {
+            DashboardSnapshot snapshot = dashboardSnapshotService.getSnapshotForStartup(integration, fresh);
+            return fromDashboard(startup, investment, snapshot);
+        } catch (Exception e) {
+            logger.warn("Zoho dashboard unavailable for startupId {}: {}", startup.getId(), e.getMessage());
+            return fromReports(startup, investment, "zoho unavailable");
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static boolean isConnected(Integration integration) {
+        return integration != null && integration.getStatus() == IntegrationStatus.CONNECTED
+                && integration.getAccessToken() != null && integration.getOrganizationId() != null;
+    }
+
+    /**
+     * Figures for the last complete month. The snapshot's last bucket is the month it was computed in,
+     * still partial, so it would read as a steep drop against the full month before it.
+     */
+    private static PortfolioCompanyAnalyticsDTO fromDashboard(Startup startup, Investment investment,
+            DashboardSnapshot snapshot) {
+        FounderDashboardResponse dashboard = snapshot.getDashboard();
+        List<MonthlyMetric> revenue = dashboard.getRevenueGrowth() != null ? dashboard.getRevenueGrowth() : List.of();
+        List<MonthlyMetric> burn = dashboard.getBurnRateAnalysis() != null
+                ? dashboard.getBurnRateAnalysis()
+                : List.of();
+        List<String> degraded = dashboard.getDegradedSections() != null ? dashboard.getDegradedSections() : List.of();
+
+        Double latestRevenue = lastCompleteMonth(revenue);
+        Double growth = null;
+        if (revenue.size() >= 3) {
+            double previous = revenue.get(revenue.size() - 3).getValue();
+            if (previous > 0) {
+                growth = ((latestRevenue - previous) / previous) * 100;
+            }
+        }
+
+        return base(startup, investment)
+                .source("zoho")
+                .status(degraded.isEmpty() ? "ok" : "partial")
+                .degradedSections(degraded)
+                .computedAt(snapshot.getComputedAt())
+                .revenueTrend(revenue)
+                .monthlyRevenue(latestRevenue)
+                .revenueGrowthPercentage(growth)
+                .monthlyBurn(lastCompleteMonth(burn))
+                .cashRunwayMonths(dashboard.getCashRunwayMonths())
+                .churnPercentage(dashboard.getKeyPerformanceIndicators() != null
+                        ? dashboard.getKeyPerformanceIndicators().get("Churn")
+                        : null)
+                .build();
+    }
+
+    private static Double lastCompleteMonth(List<MonthlyMetric> buckets) {
+        return buckets.size() >= 2 ? buckets.get(buckets.size() - 2).getValue() : null;
+    }
+
+    /**
+     * Latest founder-reported figures, for startups without usable Zoho data. There is no churn in reports.
+     * Revenue and burn are reported in lakh ₹ and returned in rupees, like the Zoho figures.
+     */
+    private PortfolioCompanyAnalyticsDTO fromReports(Startup startup, Investment investment, String reason) {
+        List<StartupMetrics> revenue = startupMetricsService.findLatestTwo(startup.getId(),
+                MetricType.REPORTED_MONTHLY_REVENUE);
+        List<StartupMetrics> burn = startupMetricsService.findLatestTwo(startup.getId(),
+                MetricType.REPORTED_MONTHLY_BURN);
+        List<StartupMetrics> runway = startupMetricsService.findLatestTwo(startup.getId(),
+                MetricType.REPORTED_RUNWAY_MONTHS);
+        if (revenue.isEmpty() && burn.isEmpty() && runway.isEmpty()) {
+            return unavailable(startup, investment, reason);
+        }
+
+        Double latestRevenue = revenue.isEmpty() ? null : toRupees(revenue.get(0).getMetricValue());
+        Double growth = null;
+        if (revenue.size() >= 2 && latestRevenue != null && revenue.get(1).getMetricValue() != null
+                && revenue.get(1).getMetricValue() > 0) {
+            double previous = toRupees(revenue.get(1).getMetricValue());
+            growth = ((latestRevenue - previous) / previous) * 100;
+        }
+        Double latestRunway = runway.isEmpty() ? null : runway.get(0).getMetricValue();
+
+        return base(startup, investment)
+                .source("reports")
+                .status("ok")
+                .fallbackReason(reason)
+                .computedAt(revenue.isEmpty() ? null : revenue.get(0).getRecordedAt())
+                .monthlyRevenue(latestRevenue)
+                .revenueGrowthPercentage(growth)
+                .monthlyBurn(burn.isEmpty() ? null : toRupees(burn.get(0).getMetricValue()))
+                .cashRunwayMonths(latestRunway != null ? latestRunway.intValue() : null)
+                .build();
+    }
+
+    private static Double toRupees(Double lakhs) {
+        return lakhs != null ? lakhs * RUPEES_PER_LAKH : null;
+    }
+
+    private static PortfolioCompanyAnalyticsDTO unavailable(Startup startup, Investment investment, String reason) {
+        return base(startup, investment)
+                .source("none")
+                .status("unavailable")
+                .fallbackReason(reason)
+                .build();
+    }
+
+    private static PortfolioCompanyAnalyticsDTO.PortfolioCompanyAnalyticsDTOBuilder base(Startup startup,
+            Investment investment) {
+        return PortfolioCompanyAnalyticsDTO.builder()
+                .startupId(startup.getId())
+                .startupName(startup.getStartupName())
+                .investmentAmount(investment.getTotalInvestedAmount())
+                .ownershipPercentage(investment.getOwnershipPercentage());
+    }
+
+    private static PortfolioAnalyticsDTO aggregate(List<PortfolioCompanyAnalyticsDTO> companies) {
+        double totalRevenue = 0.0;
+        double totalBurn = 0.0;
+        double ownedRevenue = 0.0;
+        double ownedBurn = 0.0;
+        WeightedAverage growth = new WeightedAverage();
+        WeightedAverage runway = new WeightedAverage();
+        WeightedAverage churn = new WeightedAverage();
+        List<String> unavailable = new ArrayList<>();
+
+        for (PortfolioCompanyAnalyticsDTO company : companies) {
+            if ("unavailable".equals(company.getStatus())) {
+                unavailable.add(company.getStartupId());
+                continue;
+            }
+            double ownership = company.getOwnershipPercentage() != null ? company.getOwnershipPercentage() / 100.0
+                    : 0.0;
+            double invested = company.getInvestmentAmount() != null ? company.getInvestmentAmount() : 0.0;
+
+            if (company.getMonthlyRevenue() != null) {
+                totalRevenue += company.getMonthlyRevenue();
+                ownedRevenue += company.getMonthlyRevenue() * ownership;
+            }
+            if (company.getMonthlyBurn() != null) {
+                totalBurn += company.getMonthlyBurn();
+                ownedBurn += company.getMonthlyBurn() * ownership;
+            }
+            growth.add(company.getRevenueGrowthPercentage(), invested);
+            runway.add(company.getCashRunwayMonths() != null ? company.getCashRunwayMonths().doubleValue() : null,
+                    invested);
+            churn.add(company.getChurnPercentage(), invested);
+        }
+
+        return PortfolioAnalyticsDTO.builder()
+                .totalCompanies(companies.size())
+                .companiesWithData(companies.size() - unavailable.size())
+                .unavailableStartupIds(unavailable)
+                .totalMonthlyRevenue(round(totalRevenue))
+                .totalMonthlyBurn(round(totalBurn))
+                .ownershipWeightedMonthlyRevenue(round(ownedRevenue))
+                .ownershipWeightedMonthlyBurn(round(ownedBurn))
+                .investmentWeightedGrowthPercentage(round(growth.value()))
+                .investmentWeightedRunwayMonths(round(runway.value()))
+                .investmentWeightedChurnPercentage(round(churn.value()))
+                .companies(companies)
+                .build();
+    }
+
+    private static Double round(Double value) {
+        if (value == null)
+            return null;
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    /**
+     * Average weighted by invested amount. Falls back to a plain average when none of the contributing
+     * companies has an amount on record, and is null when no company has the figure at all.
+     */
+    private static final class WeightedAverage {
+
+        private double weightedSum;
+        private double weights;
+        private double plainSum;
+        private int count;
+
+        void add(Double value, double weight) {
+            if (value == null) {
+                return;
+            }
+            weightedSum += value * weight;
+            weights += weight;
+            plainSum += value;
+            count++;
+        }
+
+        Double value() {
+            if (count == 0) {
+                return null;
+            }
+            return weights > 0 ? weightedSum / weights : plainSum / count;
+        }
+    }
+}
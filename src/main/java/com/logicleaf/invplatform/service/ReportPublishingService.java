@@ -0,0 +1,406 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.model.DeliveryStatus;
+import com.logicleaf.invplatform.model.Investor;
+import com.logicleaf.invplatform.model.ReportDelivery;
+import com.logicleaf.invplatform.model.ReportPublishJob;
+import com.logicleaf.invplatform.model.ReportPublishStatus;
+import com.logicleaf.invplatform.model.Startup;
+import com.logicleaf.invplatform.model.TimelyReport;
+import com.logicleaf.invplatform.model.TimelyReportAttachment;
+import com.logicleaf.invplatform.model.User;
+import com.logicleaf.invplatform.repository.ReportPublishJobRepository;
+import com.logicleaf.invplatform.repository.StartupRepository;
+import com.logicleaf.invplatform.repository.TimelyReportRepository;
+import com.logicleaf.invplatform.repository.UserRepository;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Publishes timely reports off the request thread. Saving a report creates a {@link ReportPublishJob};
+ * a worker then renders the PDF, stores it with the report's metrics and activity, and mails each investor,
+ * recording every delivery on the job as it goes.
+ *
+ * A worker holds a job through a lease and fences its writes with the job's attempt counter, so when a
+ * lease runs out (crash, restart, full queue) the scheduler can hand the job to another worker and the
+ * old one stops at its next write. Failed deliveries are retried the same way after a delay.
+ */
+@Service
+public class ReportPublishingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportPublishingService.class);
+
+    private static final List<ReportPublishStatus> ACTIVE = List.of(
+            ReportPublishStatus.QUEUED, ReportPublishStatus.RENDERING, ReportPublishStatus.DISTRIBUTING);
+
+    private final ReportPublishJobRepository jobRepository;
+    private final TimelyReportRepository timelyReportRepository;
+    private final StartupRepository startupRepository;
+    private final UserRepository userRepository;
+    private final InvestorService investorService;
+    private final MailService mailService;
+    private final PdfGeneratorService pdfGeneratorService;
+    private final FileStorageService fileStorageService;
+    private final StartupMetricsService startupMetricsService;
+    private final StartupActivityService startupActivityService;
+    private final MongoTemplate mongoTemplate;
+    private final Executor reportExecutor;
+
+    @Value("${reports.publish.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${reports.publish.retry-delay-seconds:60}")
+    private long retryDelaySeconds;
+
+    @Value("${reports.publish.max-attempts:3}")
+    private int maxAttempts;
+
+    public ReportPublishingService(ReportPublishJobRepository jobRepository,
+            TimelyReportRepository timelyReportRepository,
+            StartupRepository startupRepository,
+            UserRepository userRepository,
+            InvestorService investorService,
+            MailService mailService,
+            PdfGeneratorService pdfGeneratorService,
+            FileStorageService fileStorageService,
+            StartupMetricsService startupMetricsService,
+            StartupActivityService startupActivityService,
+            MongoTemplate mongoTemplate,
+            @Qualifier("reportExecutor") Executor reportExecutor) {
+        this.jobRepository = jobRepository;
+        this.timelyReportRepository = timelyReportRepository;
+        this.startupRepository = startupRepository;
+        this.userRepository = userRepository;
+        this.investorService = investorService;
+        this.mailService = mailService;
+        this.pdfGeneratorService = pdfGeneratorService;
+        this.fileStorageService = fileStorageService;
+        this.startupMetricsService = startupMetricsService;
+        this.startupActivityService = startupActivityService;
+        this.mongoTemplate = mongoTemplate;
+        this.reportExecutor = reportExecutor;
+    }
+
+    /**
+     * Saves the report as the latest version to publish and queues its job. Earlier unfinished jobs
+     * for the same report are superseded. Returns the saved report, with {@code publishJobId} set.
+     */
+    public TimelyReport publish(TimelyReport report, boolean update) {
+        String jobId = new ObjectId().toHexString();
+        report.setPublishJobId(jobId);
+        TimelyReport saved = timelyReportRepository.save(report);
+        supersedeOthers(saved.getId(), jobId);
+
+        List<ReportDelivery> deliveries = new ArrayList<>();
+        if (!saved.isDraftReport() && saved.getInvestorUserIds() != null) {
+            for (String investorId : new LinkedHashSet<>(saved.getInvestorUserIds())) {
+                deliveries.add(ReportDelivery.builder()
+                        .investorId(investorId)
+                        .status(DeliveryStatus.PENDING)
+                        .build());
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        ReportPublishJob job = jobRepository.insert(ReportPublishJob.builder()
+                .id(jobId)
+                .reportId(saved.getId())
+                .startupId(saved.getStartupId())
+                .founderUserId(saved.getFounderUserId())
+                .draft(saved.isDraftReport())
+                .update(update)
+                .status(ReportPublishStatus.QUEUED)
+                .attempts(1)
+                .deliveries(deliveries)
+                // Claimed for the worker it is submitted to right below
+                .leaseUntil(now.plusSeconds(leaseSeconds))
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+
+        submit(job);
+        return saved;
+    }
+
+    public ReportPublishJob getJobForFounder(String jobId, String founderUserId) {
+        return jobRepository.findByIdAndFounderUserId(jobId, founderUserId)
+                .orElseThrow(() -> new ResourceNotFoundException("Report publishing job not found: " + jobId));
+    }
+
+    /**
+     * Picks up jobs whose lease ran out: queued work lost to a restart or a full executor,
+     * workers that died, and jobs waiting to retry failed deliveries.
+     */
+    @Scheduled(fixedDelayString = "${reports.publish.poll-ms:30000}",
+            initialDelayString = "${reports.publish.poll-ms:30000}")
+    public void resumeExpired() {
+        Query query = Query.query(Criteria.where("status").in(ACTIVE)
+                .orOperator(Criteria.where("leaseUntil").is(null),
+                        Criteria.where("leaseUntil").lt(LocalDateTime.now())));
+        query.fields().include("_id");
+        query.limit(100);
+
+        for (ReportPublishJob candidate : mongoTemplate.find(query, ReportPublishJob.class)) {
+            ReportPublishJob job = claim(candidate.getId());
+            if (job != null) {
+                submit(job);
+            }
+        }
+    }
+
+    private void submit(ReportPublishJob job) {
+        try {
+            reportExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Report publishing queue full, job {} left for the scheduler", job.getId());
+            write(job, new Update().set("leaseUntil", null));
+        }
+    }
+
+    private void run(ReportPublishJob job) {
+        try {
+            if (job.getAttempts() > maxAttempts) {
+                finish(job, ReportPublishStatus.FAILED, "Gave up after " + maxAttempts + " attempts: "
+                        + job.getLastError());
+                return;
+            }
+
+            TimelyReport report = timelyReportRepository.findById(job.getReportId()).orElse(null);
+            if (report == null || !job.getId().equals(report.getPublishJobId())) {
+                finish(job, ReportPublishStatus.SUPERSEDED, null);
+                return;
+            }
+            Startup startup = startupRepository.findById(job.getStartupId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Startup not found: " + job.getStartupId()));
+
+            if (!job.isStored()) {
+                if (!write(job, new Update().set("status", ReportPublishStatus.RENDERING))) {
+                    return;
+                }
+                report = store(job, report, startup);
+                if (report == null) {
+                    return;
+                }
+            }
+
+            if (!write(job, new Update().set("status", ReportPublishStatus.DISTRIBUTING))) {
+                return;
+            }
+            distribute(job, report, startup);
+        } catch (Exception e) {
+            logger.error("❌ Publishing failed for report {} (job {}, attempt {}): {}", job.getReportId(),
+                    job.getId(), job.getAttempts(), e.getMessage());
+            retryLater(job, e.getMessage());
+        }
+    }
+
+    /**
+     * Render and store stage. Returns the report with its PDF, or null when a newer job took over.
+     */
+    private TimelyReport store(ReportPublishJob job, TimelyReport report, Startup startup) {
+        // A retried job may already have attached its PDF before losing the lease
+        if (report.getReportPdf() == null) {
+            TimelyReportAttachment pdfAttachment = savePdfAttachment(report, startup.getStartupName());
+
+            // updatedAt moves too, so the founder's report list ETag turns over
+            boolean attached = mongoTemplate.updateFirst(
+                    Query.query(Criteria.where("_id").is(report.getId()).and("publishJobId").is(job.getId())),
+                    new Update().set("reportPdf", pdfAttachment).set("updatedAt", System.currentTimeMillis()),
+                    TimelyReport.class).getMatchedCount() > 0;
+            if (!attached) {
+                fileStorageService.deleteFile(pdfAttachment.getFilePath());
+                finish(job, ReportPublishStatus.SUPERSEDED, null);
+                return null;
+            }
+            report.setReportPdf(pdfAttachment);
+        }
+
+        recordMetrics(report);
+
+        // ✅ Update latest startup activity
+        if (!report.isDraftReport()) {
+            startupActivityService.upsertActivity(startup.getId(), startup.getStartupName(),
+                    (job.isUpdate() ? "Timely Report Updated: " : "Published Quarterly Report: ") + report.getTitle());
+        }
+
+        if (!write(job, new Update().set("stored", true))) {
+            return null;
+        }
+        return report;
+    }
+
+    /**
+     * Mails the PDF to every investor not reached yet, one at a time, recording each outcome on the job.
+     */
+    private void distribute(ReportPublishJob job, TimelyReport report, Startup startup) {
+        User founder = userRepository.findById(job.getFounderUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Founder not found"));
+
+        Resource pdf = null;
+        int retryable = 0;
+        for (ReportDelivery delivery : job.getDeliveries()) {
+            if (delivery.getStatus() == DeliveryStatus.SENT || delivery.getAttempts() >= maxAttempts) {
+                continue;
+            }
+            String investorId = delivery.getInvestorId();
+
+            // Counts the attempt and renews the lease; false means another worker owns the job now
+            if (!writeDelivery(job, investorId, new Update().inc("deliveries.$.attempts", 1))) {
+                return;
+            }
+
+            String investorEmail = null;
+            try {
+                Investor investor = investorService.findById(investorId);
+                User investorUser = userRepository.findById(investor.getUserId())
+                        .orElseThrow(() -> new ResourceNotFoundException(
+                                "User not found for investor: " + investorId));
+                investorEmail = investorUser.getEmail();
+
+                if (pdf == null) {
+                    pdf = fileStorageService.loadFile(report.getReportPdf().getFileName());
+                }
+                mailService.sendTimelyReportWithPdf(
+                        founder.getEmail(),
+                        investorEmail,
+                        startup.getStartupName(),
+                        report,
+                        pdf,
+                        report.getReportPdf().getFileName());
+
+                writeDelivery(job, investorId, new Update()
+                        .set("deliveries.$.status", DeliveryStatus.SENT)
+                        .set("deliveries.$.investorEmail", investorEmail)
+                        .set("deliveries.$.lastError", null)
+                        .set("deliveries.$.sentAt", LocalDateTime.now()));
+            } catch (Exception e) {
+                logger.warn("⚠️ Failed to send report {} to investor {}: {}", report.getId(), investorId,
+                        e.getMessage());
+                writeDelivery(job, investorId, new Update()
+                        .set("deliveries.$.status", DeliveryStatus.FAILED)
+                        .set("deliveries.$.investorEmail", investorEmail)
+                        .set("deliveries.$.lastError", e.getMessage()));
+                if (delivery.getAttempts() + 1 < maxAttempts) {
+                    retryable++;
+                }
+            }
+        }
+
+        if (retryable > 0) {
+            retryLater(job, retryable + " deliveries failed, retrying");
+        } else {
+            finish(job, ReportPublishStatus.COMPLETED, null);
+            logger.info("✅ Report {} published (job {})", report.getId(), job.getId());
+        }
+    }
+
+    // 📈 Published figures go into the startup's metric time series
+    private void recordMetrics(TimelyReport report) {
+        try {
+            startupMetricsService.recordReport(report);
+        } catch (Exception e) {
+            logger.warn("⚠️ Failed to record report metrics for {}: {}", report.getId(), e.getMessage());
+        }
+    }
+
+    // 💾 Render the PDF straight into its file and return reference
+    private TimelyReportAttachment savePdfAttachment(TimelyReport report, String startupName) {
+        try {
+            String fileName = startupName + "_" + report.getTitle() + ".pdf";
+            String safeFileName = fileStorageService.getUniqueFileName(fileName);
+
+            // Streamed page by page, so memory does not grow with the size of the PDF
+            String savedPath = fileStorageService.writeFile(safeFileName,
+                    out -> pdfGeneratorService.writeTimelyReportPdf(report, startupName, out));
+
+            return TimelyReportAttachment.builder()
+                    .fileName(safeFileName)
+                    .filePath(savedPath)
+                    .build();
+
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to save generated PDF report: " + e.getMessage(), e);
+        }
+    }
+
+    private ReportPublishJob claim(String jobId) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("_id").is(jobId).and("status").in(ACTIVE)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now)));
+        return mongoTemplate.findAndModify(query,
+                new Update().inc("attempts", 1)
+                        .set("leaseUntil", now.plusSeconds(leaseSeconds))
+                        .set("updatedAt", now),
+                FindAndModifyOptions.options().returnNew(true),
+                ReportPublishJob.class);
+    }
+
+    private void supersedeOthers(String reportId, String jobId) {
+        mongoTemplate.updateMulti(
+                Query.query(Criteria.where("reportId").is(reportId).and("_id").ne(jobId).and("status").in(ACTIVE)),
+                new Update().set("status", ReportPublishStatus.SUPERSEDED)
+                        .set("leaseUntil", null)
+                        .set("completedAt", LocalDateTime.now())
+                        .set("updatedAt", LocalDateTime.now()),
+                ReportPublishJob.class);
+    }
+
+    private void retryLater(ReportPublishJob job, String error) {
+        write(job, new Update().set("lastError", error)
+                .set("leaseUntil", LocalDateTime.now().plusSeconds(retryDelaySeconds)));
+    }
+
+    private void finish(ReportPublishJob job, ReportPublishStatus status, String error) {
+        write(job, new Update().set("status", status)
+                .set("lastError", error)
+                .set("leaseUntil", null)
+                .set("completedAt", LocalDateTime.now()));
+    }
+
+    /**
+     * Applies {@code update} if this worker still owns the job, renewing the lease unless the update sets it.
+     */
+    private boolean write(ReportPublishJob job, Update update) {
+        return writeWhere(owned(job), update);
+    }
+
+    private boolean writeDelivery(ReportPublishJob job, String investorId, Update update) {
+        return writeWhere(owned(job).and("deliveries.investorId").is(investorId), update);
+    }
+
+    private boolean writeWhere(Criteria criteria, Update update) {
+        LocalDateTime now = LocalDateTime.now();
+        if (!update.modifies("leaseUntil")) {
+            update.set("leaseUntil", now.plusSeconds(leaseSeconds));
+        }
+        update.set("updatedAt", now);
+        return mongoTemplate.updateFirst(Query.query(criteria), update, ReportPublishJob.class)
+                .getMatchedCount() > 0;
+    }
+
+    // Another claim bumps attempts, and superseding changes status; either way this worker's writes stop matching
+    private static Criteria owned(ReportPublishJob job) {
+        return Criteria.where("_id").is(job.getId())
+                .and("attempts").is(job.getAttempts())
+                .and("status").in(ACTIVE);
+    }
+}
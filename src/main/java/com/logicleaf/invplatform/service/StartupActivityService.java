@@ -41,4 +41,11 @@ public class StartupActivityService {
     public List<StartupActivity> getActivitiesForStartups(List<String> startupIds) {
         return startupActivityRepository.findByStartupIdIn(startupIds);
     }
+
+    /**
+     * Activities with only startupId and updatedAt set, enough to tell whether the feed changed.
+     */
+    public List<StartupActivity> getActivityVersionsForStartups(List<String> startupIds) {
+        return startupActivityRepository.findUpdatedAtByStartupIdIn(startupIds);
+    }
 }
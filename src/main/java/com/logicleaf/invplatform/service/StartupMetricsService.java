@@ -0,0 +1,514 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.MetricEntryRequest;
+import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.model.DataMigration;
+import com.logicleaf.invplatform.model.MetricType;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import com.logicleaf.invplatform.model.Startup;
+import com.logicleaf.invplatform.model.StartupMetricRollup;
+import com.logicleaf.invplatform.model.StartupMetrics;
+import com.logicleaf.invplatform.model.TimelyReport;
+import com.logicleaf.invplatform.model.User;
+import com.logicleaf.invplatform.model.ZohoRecord;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import com.logicleaf.invplatform.repository.StartupMetricRollupRepository;
+import com.logicleaf.invplatform.repository.StartupMetricsRepository;
+import com.logicleaf.invplatform.repository.StartupRepository;
+import com.logicleaf.invplatform.repository.UserRepository;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Typed time series of startup metrics (startup_metrics) with monthly and quarterly rollups
+ * (startup_metric_rollups) refreshed on every write.
+ * Points come from Zoho syncs, published timely reports and manual entry; readers run range
+ * queries here instead of recomputing figures from raw Zoho data or reports.
+ */
+@Service
+public class StartupMetricsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupMetricsService.class);
+
+    public static final String SOURCE_ZOHO = "zoho";
+    public static final String SOURCE_REPORT = "report";
+    public static final String SOURCE_MANUAL = "manual";
+
+    private static final String REPORT_BACKFILL = "timely-report-metrics";
+
+    private final StartupMetricsRepository startupMetricsRepository;
+    private final StartupMetricRollupRepository rollupRepository;
+    private final UserRepository userRepository;
+    private final StartupRepository startupRepository;
+    private final MongoTemplate mongoTemplate;
+    private final Executor reportExecutor;
+
+    @Value("${metrics.backfill.page-size:200}")
+    private int backfillPageSize;
+
+    @Value("${metrics.backfill.lease-seconds:600}")
+    private long backfillLeaseSeconds;
+
+    public StartupMetricsService(StartupMetricsRepository startupMetricsRepository,
+            StartupMetricRollupRepository rollupRepository,
+            UserRepository userRepository,
+            StartupRepository startupRepository,
+            MongoTemplate mongoTemplate,
+            @Qualifier("reportExecutor") Executor reportExecutor) {
+        this.startupMetricsRepository = startupMetricsRepository;
+        this.rollupRepository = rollupRepository;
+        this.userRepository = userRepository;
+        this.startupRepository = startupRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.reportExecutor = reportExecutor;
+    }
+
+    // ---------------------------
+    // Writers
+    // ---------------------------
+
+    /**
+     * Upserts the points and refreshes the rollups of every month and quarter they fall in.
+     */
+    public void record(List<StartupMetrics> points) {
+        if (points.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StartupMetrics.class);
+        Map<Series, Set<LocalDate>> touchedQuarters = new HashMap<>();
+
+        for (StartupMetrics point : points) {
+            point.setId(StartupMetrics.idFor(point.getStartupId(), point.getMetricName(), point.getDateCaptured(),
+                    point.getSource()));
+            point.setRecordedAt(now);
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(point.getId())), point,
+                    FindAndReplaceOptions.options().upsert());
+
+            touchedQuarters.computeIfAbsent(new Series(point.getStartupId(), point.getMetricName()),
+                    k -> new HashSet<>()).add(RollupPeriod.QUARTER.startOf(point.getDateCaptured()));
+        }
+        bulk.execute();
+
+        touchedQuarters.forEach((series, quarters) -> {
+            for (LocalDate quarterStart : quarters) {
+                refreshRollups(series.startupId(), series.metric(), quarterStart);
+            }
+        });
+    }
+
+    public StartupMetrics recordManual(String founderEmail, MetricEntryRequest request) {
+        Startup startup = findStartupForFounder(founderEmail);
+        StartupMetrics point = point(startup.getId(), request.getMetricName(),
+                request.getDate() != null ? request.getDate() : LocalDate.now(),
+                request.getValue(), SOURCE_MANUAL);
+        record(List.of(point));
+        return point;
+    }
+
+    /**
+     * Captures the figures of a published report at the date it was first created,
+     * so editing the report later overwrites its own points instead of adding new ones.
+     */
+    public void recordReport(TimelyReport report) {
+        if (report.isDraftReport() || report.getStartupId() == null) {
+            return;
+        }
+
+        LocalDate date = report.getCreatedAt() != null
+                ? Instant.ofEpochMilli(report.getCreatedAt()).atZone(ZoneId.systemDefault()).toLocalDate()
+                : LocalDate.now();
+
+        List<StartupMetrics> points = new ArrayList<>();
+        addPoint(points, report.getStartupId(), MetricType.REPORTED_MONTHLY_REVENUE, date,
+                report.getMonthlyRevenue());
+        addPoint(points, report.getStartupId(), MetricType.REPORTED_MONTHLY_BURN, date, report.getMonthlyBurn());
+        addPoint(points, report.getStartupId(), MetricType.REPORTED_RUNWAY_MONTHS, date,
+                report.getCashRunway() != null ? report.getCashRunway().doubleValue() : null);
+        addPoint(points, report.getStartupId(), MetricType.REPORTED_TEAM_SIZE, date,
+                report.getTeamSize() != null ? report.getTeamSize().doubleValue() : null);
+        record(points);
+    }
+
+    /**
+     * Derives monthly revenue, expenses and burn for every month plus today's cash and runway from the
+     * startup's Zoho mirror. Used after a full sync.
+     */
+    public void recordFromMirror(String startupId) {
+        recordFromMirror(startupId, null);
+    }
+
+    /**
+     * Same as {@link #recordFromMirror(String)}, but only re-derives the months in {@code changedMonths}
+     * (the months of sales orders and expenses an incremental sync wrote), so only their monthly and
+     * quarterly rollups are refreshed. The current month is always included for runway.
+     * Aggregated in Mongo, so it is cheap enough to run after every sync.
+     */
+    public void recordFromMirror(String startupId, Set<YearMonth> changedMonths) {
+        YearMonth currentMonth = YearMonth.now();
+        Set<YearMonth> only = null;
+        if (changedMonths != null) {
+            only = new TreeSet<>(changedMonths);
+            only.add(currentMonth);
+        }
+        Map<YearMonth, Double> revenue = monthlyTotals(startupId, ZohoSyncEntity.SALES_ORDERS, only);
+        Map<YearMonth, Double> expenses = monthlyTotals(startupId, ZohoSyncEntity.EXPENSES, only);
+
+        List<StartupMetrics> points = new ArrayList<>();
+        Set<YearMonth> months = new TreeSet<>(revenue.keySet());
+        months.addAll(expenses.keySet());
+        if (only != null) {
+            // A month whose records were all deleted or moved away drops to zero instead of keeping old totals
+            months.addAll(only);
+        }
+        for (YearMonth month : months) {
+            double monthRevenue = revenue.getOrDefault(month, 0.0);
+            double monthExpenses = expenses.getOrDefault(month, 0.0);
+            LocalDate date = month.atDay(1);
+
+            points.add(point(startupId, MetricType.REVENUE, date, monthRevenue, SOURCE_ZOHO));
+            points.add(point(startupId, MetricType.EXPENSES, date, monthExpenses, SOURCE_ZOHO));
+            points.add(point(startupId, MetricType.BURN, date, Math.max(0.0, monthExpenses - monthRevenue),
+                    SOURCE_ZOHO));
+        }
+
+        Double cash = totalBalance(startupId);
+        if (cash != null) {
+            LocalDate today = LocalDate.now();
+            points.add(point(startupId, MetricType.CASH_BALANCE, today, cash, SOURCE_ZOHO));
+
+            // Same rule as the founder dashboard: cash over this month's expenses
+            double currentExpenses = expenses.getOrDefault(currentMonth, 0.0);
+            points.add(point(startupId, MetricType.RUNWAY_MONTHS, today,
+                    currentExpenses > 0 ? Math.floor(cash / currentExpenses) : 0.0, SOURCE_ZOHO));
+        }
+
+        record(points);
+        logger.info("✅ Captured {} metric points from the Zoho mirror for startupId: {}", points.size(), startupId);
+    }
+
+    /**
+     * Reports published before the metric store existed only live in timely_reports; copy them over once.
+     * Runs on reportExecutor so startup does not wait for it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillReportMetrics() {
+        try {
+            reportExecutor.execute(this::runReportBackfill);
+        } catch (RejectedExecutionException e) {
+            logger.warn("Timely report metric backfill not started, executor busy; it runs on the next start");
+        }
+    }
+
+    /**
+     * One-off migration tracked in data_migrations: claimed through a lease so only one instance runs it,
+     * paged by report _id with the position saved after every page, and marked complete at the end.
+     * Recording a report is idempotent, so a page repeated after a crash does no harm.
+     */
+    private void runReportBackfill() {
+        try {
+            DataMigration migration = claimMigration(REPORT_BACKFILL);
+            if (migration == null) {
+                return;
+            }
+
+            String after = migration.getResumeAfterId();
+            int count = 0;
+            while (true) {
+                Criteria criteria = Criteria.where("draftReport").ne(true);
+                if (after != null) {
+                    criteria = criteria.and("_id").gt(after);
+                }
+                List<TimelyReport> page = mongoTemplate.find(Query.query(criteria)
+                        .with(Sort.by("_id"))
+                        .limit(backfillPageSize), TimelyReport.class);
+                if (page.isEmpty()) {
+                    break;
+                }
+                page.forEach(this::recordReport);
+                count += page.size();
+                after = page.get(page.size() - 1).getId();
+                mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(REPORT_BACKFILL)),
+                        new Update().set("resumeAfterId", after)
+                                .set("leaseUntil", LocalDateTime.now().plusSeconds(backfillLeaseSeconds)),
+                        DataMigration.class);
+            }
+
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(REPORT_BACKFILL)),
+                    new Update().set("completedAt", LocalDateTime.now()).set("leaseUntil", null),
+                    DataMigration.class);
+            logger.info("✅ Backfilled metrics from {} published timely reports", count);
+        } catch (Exception e) {
+            logger.warn("Timely report metric backfill failed, it resumes on the next start: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The migration's record if this instance now holds it; null once it is complete or while another
+     * instance's lease is current.
+     */
+    private DataMigration claimMigration(String name) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("_id").is(name).and("completedAt").is(null)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now)));
+        try {
+            return mongoTemplate.findAndModify(query,
+                    new Update().set("leaseUntil", now.plusSeconds(backfillLeaseSeconds)),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    DataMigration.class);
+        } catch (DuplicateKeyException e) {
+            // The record exists but did not match: complete, or leased to another instance
+            return null;
+        }
+    }
+
+    // ---------------------------
+    // Readers
+    // ---------------------------
+
+    /**
+     * Raw points in [from, to], oldest first.
+     */
+    public List<StartupMetrics> findSeries(String startupId, MetricType metric, LocalDate from, LocalDate to) {
+        Query query = Query.query(Criteria.where("startupId").is(startupId)
+                .and("metricName").is(metric)
+                .and("dateCaptured").gte(from).lte(to))
+                .with(Sort.by("dateCaptured"));
+        return mongoTemplate.find(query, StartupMetrics.class);
+    }
+
+    /**
+     * Rollups whose period starts in [from, to], oldest first.
+     */
+    public List<StartupMetricRollup> findRollups(String startupId, MetricType metric, RollupPeriod period,
+            LocalDate from, LocalDate to) {
+        Query query = Query.query(Criteria.where("startupId").is(startupId)
+                .and("metricName").is(metric)
+                .and("period").is(period)
+                .and("periodStart").gte(period.startOf(from)).lte(to))
+                .with(Sort.by("periodStart"));
+        return mongoTemplate.find(query, StartupMetricRollup.class);
+    }
+
+    /**
+     * Newest first; at most two points, e.g. for "latest value and change since the previous one".
+     */
+    public List<StartupMetrics> findLatestTwo(String startupId, MetricType metric) {
+        return startupMetricsRepository.findTop2ByStartupIdAndMetricNameOrderByDateCapturedDesc(startupId, metric);
+    }
+
+    public Startup findStartupForFounder(String founderEmail) {
+        User user = userRepository.findByEmail(founderEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + founderEmail));
+        return startupRepository.findByFounderUserId(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Startup not found for user: " + founderEmail));
+    }
+
+    // ---------------------------
+    // Rollups
+    // ---------------------------
+
+    /**
+     * Recomputes the quarter starting at {@code quarterStart} and its three months from the stored points.
+     * When several sources captured the same day, the manual entry wins over a report, and a report over Zoho.
+     * Flows are resolved per month instead: Zoho stores a whole month's total on its first day, so a month
+     * with any manual flow entry takes only the manual entries, and the quarter adds up the resolved months.
+     */
+    private void refreshRollups(String startupId, MetricType metric, LocalDate quarterStart) {
+        LocalDate quarterEnd = RollupPeriod.QUARTER.endOf(quarterStart);
+        Map<LocalDate, StartupMetrics> byDay = new TreeMap<>();
+        for (StartupMetrics point : findSeries(startupId, metric, quarterStart, quarterEnd)) {
+            byDay.merge(point.getDateCaptured(), point,
+                    (kept, other) -> precedence(other.getSource()) > precedence(kept.getSource()) ? other : kept);
+        }
+        List<StartupMetrics> points = new ArrayList<>(byDay.values());
+        if (metric.isAdditive()) {
+            points = highestSourcePerMonth(points);
+        }
+        if (points.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<StartupMetricRollup> rollups = new ArrayList<>(4);
+        rollups.add(rollup(startupId, metric, RollupPeriod.QUARTER, quarterStart, points, now));
+
+        for (int i = 0; i < 3; i++) {
+            LocalDate monthStart = quarterStart.plusMonths(i);
+            LocalDate monthEnd = RollupPeriod.MONTH.endOf(monthStart);
+            List<StartupMetrics> monthPoints = points.stream()
+                    .filter(p -> !p.getDateCaptured().isBefore(monthStart) && !p.getDateCaptured().isAfter(monthEnd))
+                    .toList();
+            if (!monthPoints.isEmpty()) {
+                rollups.add(rollup(startupId, metric, RollupPeriod.MONTH, monthStart, monthPoints, now));
+            }
+        }
+        rollupRepository.saveAll(rollups);
+    }
+
+    /**
+     * {@code points} are sorted by date, so the last one is the period's latest value.
+     */
+    private StartupMetricRollup rollup(String startupId, MetricType metric, RollupPeriod period, LocalDate start,
+            List<StartupMetrics> points, LocalDateTime computedAt) {
+        double sum = 0.0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        double last = 0.0;
+        int count = 0;
+
+        for (StartupMetrics point : points) {
+            if (point.getMetricValue() == null) {
+                continue;
+            }
+            double value = point.getMetricValue();
+            sum += value;
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+            last = value;
+            count++;
+        }
+
+        return StartupMetricRollup.builder()
+                .id(StartupMetricRollup.idFor(startupId, metric, period, start))
+                .startupId(startupId)
+                .metricName(metric)
+                .period(period)
+                .periodStart(start)
+                .value(metric.isAdditive() ? sum : last)
+                .sum(sum)
+                .min(count == 0 ? 0.0 : min)
+                .max(count == 0 ? 0.0 : max)
+                .count(count)
+                .computedAt(computedAt)
+                .build();
+    }
+
+    // ---------------------------
+    // Helpers
+    // ---------------------------
+
+    /**
+     * Keeps, in each month, only the points of the highest-precedence source present in that month.
+     */
+    private static List<StartupMetrics> highestSourcePerMonth(List<StartupMetrics> points) {
+        Map<LocalDate, Integer> topByMonth = new HashMap<>();
+        for (StartupMetrics point : points) {
+            topByMonth.merge(RollupPeriod.MONTH.startOf(point.getDateCaptured()), precedence(point.getSource()),
+                    Math::max);
+        }
+        return points.stream()
+                .filter(point -> precedence(point.getSource())
+                        == topByMonth.get(RollupPeriod.MONTH.startOf(point.getDateCaptured())))
+                .toList();
+    }
+
+    private static int precedence(String source) {
+        if (SOURCE_MANUAL.equals(source)) {
+            return 2;
+        }
+        return SOURCE_REPORT.equals(source) ? 1 : 0;
+    }
+
+    /**
+     * Totals per month of the entity's records, for every month or only those in {@code only}.
+     */
+    private Map<YearMonth, Double> monthlyTotals(String startupId, ZohoSyncEntity entity, Set<YearMonth> only) {
+        Criteria match = Criteria.where("startupId").is(startupId).and("entity").is(entity);
+        if (only == null) {
+            match = match.and("date").ne(null);
+        } else {
+            // "yyyy-MM-dd" strings sort by date, so the changed months' span is one range
+            TreeSet<YearMonth> months = new TreeSet<>(only);
+            match = match.and("date").gte(months.first().atDay(1).toString())
+                    .lt(months.last().plusMonths(1).atDay(1).toString());
+        }
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(match),
+                Aggregation.project()
+                        .and(StringOperators.valueOf("date").substring(0, 7)).as("month")
+                        .and("data.total").as("total"),
+                Aggregation.group("month").sum("total").as("total"));
+
+        Map<YearMonth, Double> totals = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(aggregation, ZohoRecord.class, Document.class)) {
+            try {
+                YearMonth month = YearMonth.parse(row.getString("_id"));
+                if (only != null && !only.contains(month)) {
+                    continue;
+                }
+                Object total = row.get("total");
+                totals.put(month, total instanceof Number number ? number.doubleValue() : 0.0);
+            } catch (Exception ignored) {
+            }
+        }
+        return totals;
+    }
+
+    private Double totalBalance(String startupId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("startupId").is(startupId)
+                        .and("entity").is(ZohoSyncEntity.BANK_ACCOUNTS)),
+                Aggregation.group().sum("data.balance").as("total"));
+
+        Document row = mongoTemplate.aggregate(aggregation, ZohoRecord.class, Document.class).getUniqueMappedResult();
+        if (row == null || !(row.get("total") instanceof Number total)) {
+            return null;
+        }
+        return total.doubleValue();
+    }
+
+    private void addPoint(List<StartupMetrics> points, String startupId, MetricType metric, LocalDate date,
+            Double value) {
+        if (value != null) {
+            points.add(point(startupId, metric, date, value, SOURCE_REPORT));
+        }
+    }
+
+    private StartupMetrics point(String startupId, MetricType metric, LocalDate date, double value, String source) {
+        return StartupMetrics.builder()
+                .startupId(startupId)
+                .metricName(metric)
+                .metricValue(value)
+                .dateCaptured(date)
+                .source(source)
+                .build();
+    }
+
+    private record Series(String startupId, MetricType metric) {
+    }
+}
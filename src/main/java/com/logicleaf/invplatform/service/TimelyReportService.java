@@ -11,7 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -22,13 +22,7 @@ public class TimelyReportService {
     private final TimelyReportRepository timelyReportRepository;
     private final UserRepository userRepository;
     private final StartupRepository startupRepository;
-    private final MailService mailService;
-    private final InvestorService investorService;
-
-    private final StartupActivityService startupActivityService;
-
-    @Autowired
-    private PdfGeneratorService pdfGeneratorService;
+    private final ReportPublishingService reportPublishingService;
 
     @Autowired
     private FileStorageService fileStorageService;
@@ -62,65 +56,8 @@ public class TimelyReportService {
         report.setCreatedAt(System.currentTimeMillis());
         report.setUpdatedAt(System.currentTimeMillis());
 
-        // ✅ Generate PDF report
-        byte[] pdfBytes = pdfGeneratorService.generateTimelyReportPdf(report, startup.getStartupName());
-
-        TimelyReportAttachment pdfAttachment = savePdfAttachment(pdfBytes, report.getTitle(), startup.getStartupName());
-        report.setReportPdf(pdfAttachment);
-
-        TimelyReport savedReport = timelyReportRepository.save(report);
-
-        // ✅ Update latest startup activity
-        if (!report.isDraftReport()) {
-            startupActivityService.upsertActivity(startup.getId(), startup.getStartupName(),
-                    "Published Quarterly Report: " + report.getTitle());
-        }
-
-        // ✅ Send to investors
-        if (!report.isDraftReport()) {
-            if (report.getInvestorUserIds() != null && !report.getInvestorUserIds().isEmpty()) {
-                for (String investorId : report.getInvestorUserIds()) {
-                    try {
-                        Investor investor = investorService.findById(investorId);
-                        User investorUser = userRepository.findById(investor.getUserId())
-                                .orElseThrow(() -> new ResourceNotFoundException(
-                                        "User not found for investor: " + investorId));
-
-                        mailService.sendTimelyReportWithPdf(
-                                founder.getEmail(),
-                                investorUser.getEmail(), // ✅ actual email from user
-                                startup.getStartupName(),
-                                savedReport,
-                                pdfBytes,
-                                pdfAttachment.getFileName());
-                    } catch (Exception e) {
-                        System.err.println("⚠️ Failed to send email to investor " + investorId + ": " + e.getMessage());
-                    }
-                }
-            }
-        }
-
-        return savedReport;
-    }
-
-    // 💾 Save PDF file to disk and return reference
-    private TimelyReportAttachment savePdfAttachment(byte[] pdfBytes, String title, String startupName) {
-        try {
-
-            String fileName = startupName + "_" + title + ".pdf";
-            String safeFileName = fileStorageService.getUniqueFileName(fileName);
-
-            // Use global file storage service to save file
-            String savedPath = fileStorageService.uploadFile(safeFileName, pdfBytes);
-
-            return TimelyReportAttachment.builder()
-                    .fileName(safeFileName)
-                    .filePath(savedPath)
-                    .build();
-
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to save generated PDF report: " + e.getMessage(), e);
-        }
+        // ✅ PDF, metrics, activity and investor emails happen in the publishing job
+        return reportPublishingService.publish(report, false);
     }
 
     /**
@@ -130,23 +67,22 @@ public class TimelyReportService {
         List<TimelyReportAttachment> savedFiles = new ArrayList<>();
 
         for (MultipartFile file : attachments) {
-            try {
-                String fileName = (file.getOriginalFilename() != null)
-                        ? file.getOriginalFilename().replaceAll("[^a-zA-Z0-9_.\\-]", "_")
-                        : "attachment";
-
-                String safeFileName = fileStorageService.getUniqueFileName(fileName);
-                // Save using FileStorageService
-                String savedPath = fileStorageService.uploadFile(safeFileName, file.getBytes());
+            String fileName = (file.getOriginalFilename() != null)
+                    ? file.getOriginalFilename().replaceAll("[^a-zA-Z0-9_.\\-]", "_")
+                    : "attachment";
 
-                savedFiles.add(TimelyReportAttachment.builder()
-                        .fileName(safeFileName)
-                        .filePath(savedPath)
-                        .build());
+            String safeFileName = fileStorageService.getUniqueFileName(fileName);
+            // Copied from the upload as a stream rather than loaded whole with getBytes()
+            String savedPath = fileStorageService.writeFile(safeFileName, out -> {
+                try (InputStream in = file.getInputStream()) {
+                    in.transferTo(out);
+                }
+            });
 
-            } catch (IOException e) {
-                throw new RuntimeException("Failed to save attachment: " + e.getMessage(), e);
-            }
+            savedFiles.add(TimelyReportAttachment.builder()
+                    .fileName(safeFileName)
+                    .filePath(savedPath)
+                    .build());
         }
 
         return savedFiles;
@@ -213,46 +149,11 @@ public class TimelyReportService {
         existing.setAsksFromInvestors(updatedReport.getAsksFromInvestors());
         existing.setDraftReport(updatedReport.isDraftReport());
         existing.setInvestorUserIds(updatedReport.getInvestorUserIds());
+        existing.setStartupId(startup.getId());
         existing.setUpdatedAt(System.currentTimeMillis());
 
-        TimelyReport savedReport = timelyReportRepository.save(existing);
-
-        byte[] pdfBytes = pdfGeneratorService.generateTimelyReportPdf(savedReport, startup.getStartupName());
-        TimelyReportAttachment pdfAttachment = savePdfAttachment(pdfBytes, savedReport.getTitle(),
-                startup.getStartupName());
-        savedReport.setReportPdf(pdfAttachment);
-        timelyReportRepository.save(savedReport);
-
-        // ✅ Update latest startup activity
-        if (!savedReport.isDraftReport()) {
-            startupActivityService.upsertActivity(startup.getId(), startup.getStartupName(),
-                    "Timely Report Updated: " + savedReport.getTitle());
-        }
-
-        // ✅ Optional: send updated PDF to investors (if not draft)
-        if (!savedReport.isDraftReport() && savedReport.getInvestorUserIds() != null) {
-            for (String investorId : savedReport.getInvestorUserIds()) {
-                try {
-                    Investor investor = investorService.findById(investorId);
-                    User investorUser = userRepository.findById(investor.getUserId())
-                            .orElseThrow(
-                                    () -> new ResourceNotFoundException("User not found for investor: " + investorId));
-
-                    mailService.sendTimelyReportWithPdf(
-                            founder.getEmail(),
-                            investorUser.getEmail(),
-                            startup.getStartupName(),
-                            savedReport,
-                            pdfBytes,
-                            pdfAttachment.getFileName());
-                } catch (Exception e) {
-                    System.err.println(
-                            "⚠️ Failed to send updated report email to investor " + investorId + ": " + e.getMessage());
-                }
-            }
-        }
-
-        return savedReport;
+        // ✅ Regenerated and re-sent by a new publishing job, superseding any still running
+        return reportPublishingService.publish(existing, true);
     }
 
     public TimelyReport getDraftTimelyReport(String founderUserId) {
@@ -268,4 +169,11 @@ public class TimelyReportService {
     public List<TimelyReport> getReportsByFounder(String founderUserId) {
         return timelyReportRepository.findByFounderUserId(founderUserId);
     }
+
+    /**
+     * The founder's reports with only id and updatedAt set, enough to tell whether the list changed.
+     */
+    public List<TimelyReport> getReportVersionsByFounder(String founderUserId) {
+        return timelyReportRepository.findUpdatedAtByFounderUserId(founderUserId);
+    }
 }
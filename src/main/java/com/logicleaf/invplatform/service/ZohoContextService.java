@@ -0,0 +1,135 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.logicleaf.invplatform.exception.BadRequestException;
+import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationType;
+import com.logicleaf.invplatform.model.Startup;
+import com.logicleaf.invplatform.model.User;
+import com.logicleaf.invplatform.model.ZohoContext;
+import com.logicleaf.invplatform.repository.IntegrationRepository;
+import com.logicleaf.invplatform.repository.StartupRepository;
+import com.logicleaf.invplatform.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Resolves founder email -> startup -> Zoho integration once and keeps the result,
+ * so a dashboard render does not repeat the same three Mongo lookups for every Zoho call.
+ * Entries are dropped whenever the integration changes and otherwise expire after a short TTL;
+ * the cache is bounded so a burst of distinct founders cannot grow it without limit.
+ */
+@Service
+public class ZohoContextService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZohoContextService.class);
+
+    private final UserRepository userRepository;
+    private final StartupRepository startupRepository;
+    private final IntegrationRepository integrationRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, ZohoContext> contextsByEmail;
+
+    public ZohoContextService(UserRepository userRepository,
+            StartupRepository startupRepository,
+            IntegrationRepository integrationRepository,
+            ObjectMapper objectMapper,
+            @Value("${zoho.context.ttl-seconds:300}") long ttlSeconds,
+            @Value("${zoho.context.max-entries:10000}") long maxEntries) {
+        this.userRepository = userRepository;
+        this.startupRepository = startupRepository;
+        this.integrationRepository = integrationRepository;
+        this.objectMapper = objectMapper;
+        this.contextsByEmail = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public ZohoContext resolve(String founderEmail) {
+        ZohoContext cached = contextsByEmail.getIfPresent(founderEmail);
+        if (cached != null) {
+            return cached;
+        }
+
+        ZohoContext context = load(founderEmail);
+        contextsByEmail.put(founderEmail, context);
+        return context;
+    }
+
+    /**
+     * Replaces every cached entry for the context's startup, e.g. after a token refresh.
+     */
+    public void update(ZohoContext context) {
+        contextsByEmail.asMap().replaceAll((email, cached) -> cached.getStartupId().equals(context.getStartupId())
+                ? context
+                : cached);
+    }
+
+    public void invalidate(String startupId) {
+        contextsByEmail.asMap().values().removeIf(cached -> cached.getStartupId().equals(startupId));
+    }
+
+    public ZohoContext fromIntegration(Integration integration) {
+        return ZohoContext.builder()
+                .startupId(integration.getStartupId())
+                .integrationId(integration.getId())
+                .organizationId(integration.getOrganizationId())
+                .accessToken(integration.getAccessToken())
+                .expiresAt(integration.getExpiresAt())
+                .lastSyncTime(integration.getLastSyncTime())
+                .build();
+    }
+
+    private ZohoContext load(String founderEmail) {
+        User user = userRepository.findByEmail(founderEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + founderEmail));
+
+        Startup startup = startupRepository.findByFounderUserId(user.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Startup not found for user: " + founderEmail));
+
+        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
+                startup.getId(), IntegrationType.ZOHO);
+
+        if (integration == null || integration.getAccessToken() == null) {
+            throw new BadRequestException("Zoho integration not connected for this startup.");
+        }
+
+        if (integration.getOrganizationId() == null) {
+            migrateOrganizationId(integration);
+        }
+
+        if (integration.getOrganizationId() == null) {
+            throw new BadRequestException("Zoho organization ID not found in integration configuration.");
+        }
+
+        return fromIntegration(integration);
+    }
+
+    /**
+     * Integrations connected before organizationId became a field only have it inside connectionConfig.
+     * Copy it over once so later loads don't need to parse JSON.
+     */
+    private void migrateOrganizationId(Integration integration) {
+        try {
+            if (integration.getConnectionConfig() != null) {
+                JsonNode config = objectMapper.readTree(integration.getConnectionConfig());
+                String organizationId = config.path("organization_id").asText(null);
+                if (organizationId != null) {
+                    integration.setOrganizationId(organizationId);
+                    integrationRepository.save(integration);
+                }
+            }
+        } catch (Exception e) {
+            logger.error("❌ Failed to parse organization_id from integration config: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.logicleaf.invplatform.service;
+
+/**
+ * Published when a startup's Zoho data changed: a sync stored records or the integration was reconnected.
+ */
+public record ZohoDataChangedEvent(String startupId) {
+}
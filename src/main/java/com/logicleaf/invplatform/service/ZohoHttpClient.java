@@ -0,0 +1,239 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicleaf.invplatform.exception.ZohoApiException;
+import com.logicleaf.invplatform.exception.ZohoRateLimitException;
+import com.logicleaf.invplatform.exception.ZohoUnavailableException;
+import com.logicleaf.invplatform.model.ZohoEndpoint;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import okhttp3.FormBody;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Thin wrapper over the pooled OkHttp client used for every Zoho call.
+ * Each endpoint gets its own circuit breaker, and its own read and call timeouts where it sets them, but they
+ * all share one connection pool and one concurrency bulkhead, so a Zoho brownout fails fast instead of tying up
+ * request threads.
+ */
+@Component
+public class ZohoHttpClient {
+
+    // Background calls retry once after honouring Retry-After; a second 429 goes back to the caller.
+    // Interactive calls get the 429 straight away, since acquire() fails them fast until the back-off ends.
+    private static final int MAX_ATTEMPTS = 2;
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(60);
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ZohoRateLimiter rateLimiter;
+    private final Bulkhead bulkhead;
+    private final Map<ZohoEndpoint, OkHttpClient> endpointClients = new EnumMap<>(ZohoEndpoint.class);
+    private final Map<ZohoEndpoint, CircuitBreaker> circuitBreakers = new EnumMap<>(ZohoEndpoint.class);
+
+    public ZohoHttpClient(OkHttpClient zohoOkHttpClient, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            ZohoRateLimiter rateLimiter, CircuitBreakerRegistry circuitBreakerRegistry,
+            BulkheadRegistry bulkheadRegistry) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+        this.bulkhead = bulkheadRegistry.bulkhead("zoho");
+
+        // newBuilder() shares the pool and dispatcher, only the timeouts differ; endpoints without a
+        // timeout of their own use the shared client and zoho.http.read-timeout-ms / call-timeout-ms
+        for (ZohoEndpoint endpoint : ZohoEndpoint.values()) {
+            endpointClients.put(endpoint, endpoint.getReadTimeout() == null
+                    ? zohoOkHttpClient
+                    : zohoOkHttpClient.newBuilder()
+                            .readTimeout(endpoint.getReadTimeout())
+                            .callTimeout(endpoint.getCallTimeout())
+                            .build());
+            // Created up front so every breaker shows in actuator before its first call
+            circuitBreakers.put(endpoint, circuitBreakerRegistry.circuitBreaker(
+                    "zoho-" + endpoint.name().toLowerCase().replace('_', '-')));
+        }
+    }
+
+    public JsonNode get(ZohoEndpoint endpoint, String url, String accessToken) {
+        return execute(endpoint, authorizedGet(url, accessToken), objectMapper::readTree);
+    }
+
+    /**
+     * Binds the response straight from the stream into {@code type}; fields the type doesn't declare are skipped.
+     */
+    public <T> T get(ZohoEndpoint endpoint, String url, String accessToken, Class<T> type) {
+        return execute(endpoint, authorizedGet(url, accessToken), in -> objectMapper.readValue(in, type));
+    }
+
+    /**
+     * Fetches one page of a Zoho list endpoint and streams each element of {@code recordsField}
+     * to the consumer as it is parsed, without building a tree for the whole page.
+     * Records are bound to {@code type}, which may be {@code JsonNode} for untyped access.
+     *
+     * @return Zoho's {@code page_context.has_more_page} for this page
+     */
+    public <T> boolean getPage(ZohoEndpoint endpoint, String url, String accessToken, String recordsField,
+            Class<T> type, Consumer<? super T> consumer) {
+        return execute(endpoint, authorizedGet(url, accessToken), in -> readPage(in, recordsField, type, consumer));
+    }
+
+    public JsonNode postForm(ZohoEndpoint endpoint, String url, Map<String, String> form) {
+        FormBody.Builder body = new FormBody.Builder();
+        form.forEach(body::add);
+
+        Request request = new Request.Builder()
+                .url(url)
+                .header("Accept", "application/json")
+                .post(body.build())
+                .build();
+        return execute(endpoint, request, objectMapper::readTree);
+    }
+
+    private Request authorizedGet(String url, String accessToken) {
+        return new Request.Builder()
+                .url(url)
+                .header("Authorization", "Zoho-oauthtoken " + accessToken)
+                .header("Accept", "application/json")
+                .get()
+                .build();
+    }
+
+    private <T> boolean readPage(InputStream in, String recordsField, Class<T> type, Consumer<? super T> consumer)
+            throws IOException {
+        boolean hasMorePage = false;
+
+        try (JsonParser parser = objectMapper.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object from Zoho");
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (recordsField.equals(field) && value == JsonToken.START_ARRAY) {
+                    JsonToken token;
+                    while ((token = parser.nextToken()) != null && token != JsonToken.END_ARRAY) {
+                        consumer.accept(parser.readValueAs(type));
+                    }
+                } else if ("page_context".equals(field) && value == JsonToken.START_OBJECT) {
+                    JsonNode pageContext = parser.readValueAsTree();
+                    hasMorePage = pageContext.path("has_more_page").asBoolean(false);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return hasMorePage;
+    }
+
+    /**
+     * Books calls carry organization_id and are budgeted per organization; OAuth calls are not.
+     */
+    private <T> T execute(ZohoEndpoint endpoint, Request request, BodyReader<T> reader) {
+        String organizationId = request.url().queryParameter("organization_id");
+        if (organizationId == null) {
+            return guarded(endpoint, request, reader);
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            rateLimiter.acquire(organizationId);
+            try {
+                return guarded(endpoint, request, reader);
+            } catch (ZohoRateLimitException e) {
+                rateLimiter.backOff(organizationId, e.getRetryAfter());
+                if (!rateLimiter.isBackground() || attempt >= MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * The bulkhead sits outside the breaker so that rejections for concurrency don't count as Zoho failures.
+     */
+    private <T> T guarded(ZohoEndpoint endpoint, Request request, BodyReader<T> reader) {
+        CircuitBreaker circuitBreaker = circuitBreakers.get(endpoint);
+        try {
+            return Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, () -> send(endpoint, request, reader))).get();
+        } catch (CallNotPermittedException e) {
+            throw new ZohoUnavailableException("Zoho " + endpoint.getPath() + " is temporarily unavailable");
+        } catch (BulkheadFullException e) {
+            throw new ZohoUnavailableException("Too many Zoho calls in flight, try again shortly");
+        }
+    }
+
+    private <T> T send(ZohoEndpoint endpoint, Request request, BodyReader<T> reader) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+
+        try (Response response = endpointClients.get(endpoint).newCall(request).execute()) {
+            status = String.valueOf(response.code());
+            ResponseBody body = response.body();
+
+            if (response.code() == 429) {
+                throw new ZohoRateLimitException("Zoho rate limit reached for " + endpoint, retryAfter(response));
+            }
+
+            if (!response.isSuccessful()) {
+                String error = body != null ? body.string() : "";
+                throw new ZohoApiException(response.code(), "Zoho API returned " + response.code() + ": " + error);
+            }
+
+            return reader.read(body != null ? body.byteStream() : InputStream.nullInputStream());
+        } catch (IOException e) {
+            throw new ZohoApiException("Zoho " + endpoint + " call failed: " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("zoho.http.requests")
+                    .tag("endpoint", endpoint.name())
+                    .tag("status", status)
+                    .register(meterRegistry));
+        }
+    }
+
+    private Duration retryAfter(Response response) {
+        String header = response.header("Retry-After");
+        if (header == null) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(1L, Long.parseLong(header.trim())));
+        } catch (NumberFormatException e) {
+            // Retry-After may also be an HTTP date
+            Date date = response.headers().getDate("Retry-After");
+            if (date == null) {
+                return DEFAULT_RETRY_AFTER;
+            }
+            Duration untilDate = Duration.between(Instant.now(), date.toInstant());
+            return untilDate.isNegative() ? Duration.ofSeconds(1) : untilDate;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream in) throws IOException;
+    }
+}
@@ -0,0 +1,54 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicleaf.invplatform.model.ZohoRecord;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read side of the local Zoho mirror kept up to date by {@link ZohoSyncService}.
+ */
+@Service
+@RequiredArgsConstructor
+public class ZohoMirrorService {
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Mirrored records bound to {@code type}, optionally limited to records whose {@code date}
+     * falls in [fromDate, toDate].
+     */
+    public <T> List<T> find(String startupId, ZohoSyncEntity entity, String fromDate, String toDate, Class<T> type) {
+        Criteria criteria = Criteria.where("startupId").is(startupId).and("entity").is(entity);
+        if (fromDate != null || toDate != null) {
+            Criteria date = criteria.and("date");
+            if (fromDate != null) {
+                date.gte(fromDate);
+            }
+            if (toDate != null) {
+                date.lte(toDate);
+            }
+        }
+
+        Query query = Query.query(criteria);
+        query.fields().include("data");
+
+        List<T> records = new ArrayList<>();
+        for (ZohoRecord record : mongoTemplate.find(query, ZohoRecord.class)) {
+            records.add(objectMapper.convertValue(record.getData(), type));
+        }
+        return records;
+    }
+
+    public <T> List<T> find(String startupId, ZohoSyncEntity entity, Class<T> type) {
+        return find(startupId, entity, null, null, type);
+    }
+}
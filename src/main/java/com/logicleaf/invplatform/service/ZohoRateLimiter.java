@@ -0,0 +1,251 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.exception.ZohoApiException;
+import com.logicleaf.invplatform.exception.ZohoRateLimitException;
+import com.logicleaf.invplatform.model.ZohoCallPriority;
+import com.logicleaf.invplatform.model.ZohoRateWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Per-organization budget for Zoho Books calls, shared across nodes through atomic counters in Mongo:
+ * one per org per minute and one per org per (UTC) day, matching Zoho's per-minute and daily limits.
+ * <ul>
+ * <li>Interactive calls may use the whole budget; background calls stop short of it, leaving
+ * {@code zoho.ratelimit.interactive-reserve} calls per minute and {@code zoho.ratelimit.daily-interactive-reserve}
+ * calls per day for users.</li>
+ * <li>When the budget is spent, interactive calls fail at once with {@link ZohoRateLimitException};
+ * background calls wait for the next minute, up to {@code zoho.ratelimit.background-max-wait-ms}.
+ * A spent daily budget is never waited for.</li>
+ * <li>A 429 from Zoho blocks the org on this node until its Retry-After has passed.</li>
+ * </ul>
+ */
+@Component
+public class ZohoRateLimiter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZohoRateLimiter.class);
+
+    private static final ThreadLocal<ZohoCallPriority> PRIORITY =
+            ThreadLocal.withInitial(() -> ZohoCallPriority.INTERACTIVE);
+
+    private final MongoTemplate mongoTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Instant> blockedUntil = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> windowUsage = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> dayUsage = new ConcurrentHashMap<>();
+
+    @Value("${zoho.ratelimit.requests-per-minute:90}")
+    private int requestsPerMinute;
+
+    @Value("${zoho.ratelimit.interactive-reserve:20}")
+    private int interactiveReserve;
+
+    @Value("${zoho.ratelimit.requests-per-day:1000}")
+    private int requestsPerDay;
+
+    @Value("${zoho.ratelimit.daily-interactive-reserve:200}")
+    private int dailyInteractiveReserve;
+
+    @Value("${zoho.ratelimit.background-max-wait-ms:65000}")
+    private long backgroundMaxWaitMs;
+
+    public ZohoRateLimiter(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs {@code work} with every Zoho call it makes on this thread counted as background traffic.
+     */
+    public <T> T inBackground(Supplier<T> work) {
+        ZohoCallPriority previous = PRIORITY.get();
+        PRIORITY.set(ZohoCallPriority.BACKGROUND);
+        try {
+            return work.get();
+        } finally {
+            PRIORITY.set(previous);
+        }
+    }
+
+    public void inBackground(Runnable work) {
+        inBackground(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Whether Zoho calls on this thread currently count as background traffic.
+     */
+    public boolean isBackground() {
+        return PRIORITY.get() == ZohoCallPriority.BACKGROUND;
+    }
+
+    /**
+     * Wraps {@code work} so that it keeps the calling thread's priority when handed to another thread.
+     */
+    public <T> Supplier<T> propagate(Supplier<T> work) {
+        ZohoCallPriority priority = PRIORITY.get();
+        return () -> {
+            ZohoCallPriority previous = PRIORITY.get();
+            PRIORITY.set(priority);
+            try {
+                return work.get();
+            } finally {
+                PRIORITY.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns once the organization has budget for one more call. Throws {@link ZohoRateLimitException}
+     * right away for interactive callers, and for background callers once waiting would take longer
+     * than they may wait.
+     */
+    public void acquire(String organizationId) {
+        ZohoCallPriority priority = PRIORITY.get();
+        boolean interactive = priority == ZohoCallPriority.INTERACTIVE;
+        int minuteLimit = interactive ? requestsPerMinute : Math.max(1, requestsPerMinute - interactiveReserve);
+        int dayLimit = interactive ? requestsPerDay : Math.max(1, requestsPerDay - dailyInteractiveReserve);
+        long deadline = System.currentTimeMillis() + (interactive ? 0L : backgroundMaxWaitMs);
+
+        while (true) {
+            Instant now = Instant.now();
+            Instant blocked = blockedUntil.get(organizationId);
+
+            Instant retryAt;
+            if (blocked != null && blocked.isAfter(now)) {
+                retryAt = blocked;
+            } else {
+                retryAt = tryConsume(organizationId, now, minuteLimit, dayLimit);
+                if (retryAt == null) {
+                    count(organizationId, priority, "granted");
+                    return;
+                }
+            }
+
+            long waitMs = Math.max(1L, Duration.between(now, retryAt).toMillis());
+            if (interactive || System.currentTimeMillis() + waitMs > deadline) {
+                count(organizationId, priority, "rejected");
+                throw new ZohoRateLimitException(
+                        "Zoho request budget exhausted for organization " + organizationId,
+                        Duration.ofMillis(waitMs));
+            }
+
+            count(organizationId, priority, "throttled");
+            sleep(waitMs);
+        }
+    }
+
+    /**
+     * Zoho answered 429; hold every call for this organization until {@code retryAfter} has passed.
+     */
+    public void backOff(String organizationId, Duration retryAfter) {
+        Instant until = Instant.now().plus(retryAfter);
+        blockedUntil.merge(organizationId, until, (current, next) -> next.isAfter(current) ? next : current);
+        logger.warn("Zoho rate-limited organization {}; backing off for {} s", organizationId,
+                retryAfter.toSeconds());
+    }
+
+    /**
+     * Takes one call from the current minute and the current day, or neither.
+     * Returns null when the call may go ahead, otherwise when the exhausted budget renews.
+     */
+    private Instant tryConsume(String organizationId, Instant now, int minuteLimit, int dayLimit) {
+        Instant minuteStart = now.truncatedTo(ChronoUnit.MINUTES);
+        Instant dayStart = now.truncatedTo(ChronoUnit.DAYS);
+        Query minute = Query.query(Criteria.where("_id").is(organizationId + ":" + minuteStart.getEpochSecond() / 60));
+        Query day = Query.query(Criteria.where("_id").is(organizationId + ":day:" + dayStart.getEpochSecond() / 86400));
+
+        try {
+            if (!consume(minute, organizationId, minuteStart.plus(2, ChronoUnit.MINUTES), minuteLimit,
+                    usage(windowUsage, "zoho.ratelimit.window.used", "minute", organizationId))) {
+                return minuteStart.plus(1, ChronoUnit.MINUTES);
+            }
+            if (!consume(day, organizationId, dayStart.plus(2, ChronoUnit.DAYS), dayLimit,
+                    usage(dayUsage, "zoho.ratelimit.day.used", "day", organizationId))) {
+                // The call is not made, so it must not count against the minute either
+                mongoTemplate.updateFirst(minute, new Update().inc("count", -1), ZohoRateWindow.class);
+                return dayStart.plus(1, ChronoUnit.DAYS);
+            }
+            return null;
+        } catch (DataAccessException e) {
+            // Never let the limiter itself take Zoho access down; Zoho's own 429s still apply
+            logger.warn("Zoho rate limiter unavailable, allowing call for organization {}: {}", organizationId,
+                    e.getMessage());
+            return null;
+        }
+    }
+
+    private boolean consume(Query window, String organizationId, Instant expiresAt, int limit, AtomicInteger usage) {
+        ZohoRateWindow counted = mongoTemplate.findAndModify(
+                window,
+                new Update().inc("count", 1)
+                        .setOnInsert("organizationId", organizationId)
+                        .setOnInsert("expiresAt", expiresAt),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                ZohoRateWindow.class);
+
+        int used = counted != null ? counted.getCount() : 1;
+        if (used <= limit) {
+            usage.set(used);
+            return true;
+        }
+
+        // Over budget: give the slot back so the counter reflects calls actually made
+        mongoTemplate.updateFirst(window, new Update().inc("count", -1), ZohoRateWindow.class);
+        usage.set(used - 1);
+        return false;
+    }
+
+    private AtomicInteger usage(Map<String, AtomicInteger> usages, String gauge, String period,
+            String organizationId) {
+        return usages.computeIfAbsent(organizationId, org -> {
+            AtomicInteger used = new AtomicInteger();
+            Gauge.builder(gauge, used, AtomicInteger::get)
+                    .description("Zoho calls made to the organization in the current " + period + ", across all nodes")
+                    .tag("organization", org)
+                    .register(meterRegistry);
+            return used;
+        });
+    }
+
+    private void count(String organizationId, ZohoCallPriority priority, String outcome) {
+        Counter.builder("zoho.ratelimit.requests")
+                .description("Zoho call permits by organization, priority and outcome")
+                .tag("organization", organizationId)
+                .tag("priority", priority.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ZohoApiException("Interrupted while waiting for Zoho rate limit", e);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.logicleaf.invplatform.model.ZohoEndpoint;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * In-process cache for Zoho Books GET responses, keyed by startup, endpoint, normalized query and
+ * the shape the response was bound to (raw JsonNode or a typed model).
+ * A response is fresh for its endpoint's cache TTL. After that it is still served for up to
+ * {@code zoho.cache.max-stale-seconds} while a background reload replaces it (stale-while-revalidate).
+ * Loads run on zohoExecutor, outside the cache's locks; callers wait on the shared future.
+ * Cached values are shared between callers and must be treated as read-only.
+ */
+@Component
+public class ZohoResponseCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZohoResponseCache.class);
+
+    private final AsyncCache<CacheKey, CachedResponse> cache;
+    private final Set<CacheKey> revalidating = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolTaskExecutor zohoExecutor;
+    private final ZohoRateLimiter zohoRateLimiter;
+    private final Counter staleHits;
+
+    public ZohoResponseCache(@Qualifier("zohoExecutor") ThreadPoolTaskExecutor zohoExecutor,
+            ZohoRateLimiter zohoRateLimiter,
+            MeterRegistry meterRegistry,
+            @Value("${zoho.cache.max-entries:5000}") long maxEntries,
+            @Value("${zoho.cache.max-stale-seconds:900}") long maxStaleSeconds) {
+        this.zohoExecutor = zohoExecutor;
+        this.zohoRateLimiter = zohoRateLimiter;
+
+        Duration maxStale = Duration.ofSeconds(maxStaleSeconds);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new StaleWindowExpiry(maxStale))
+                .recordStats()
+                .buildAsync();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "zoho.responses");
+        this.staleHits = Counter.builder("zoho.responses.stale")
+                .description("Zoho responses served stale while a background reload ran")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached response for this URL, loading it with {@code loader} on a miss.
+     * Concurrent misses for the same key share one load.
+     */
+    public JsonNode get(String startupId, ZohoEndpoint endpoint, String url, Supplier<JsonNode> loader) {
+        return get(startupId, endpoint, url, JsonNode.class, loader);
+    }
+
+    /**
+     * Same as above for typed results. {@code shape} tells apart the same URL cached as different
+     * types (e.g. a raw JsonNode for the API passthrough and a typed list for the dashboard).
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String startupId, ZohoEndpoint endpoint, String url, Class<?> shape, Supplier<T> loader) {
+        if (!endpoint.isCacheable()) {
+            return loader.get();
+        }
+
+        CacheKey key = new CacheKey(startupId, endpoint, normalize(url), shape);
+        CompletableFuture<CachedResponse> mine = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> loading = cache.get(key, (k, executor) -> mine);
+        if (loading == mine) {
+            load(mine, loader);
+        }
+
+        CachedResponse cached;
+        try {
+            cached = loading.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        if (cached.isStale(endpoint.getCacheTtl())) {
+            staleHits.increment();
+            revalidate(key, loader);
+        }
+        return (T) cached.body();
+    }
+
+    /**
+     * Completes {@code target} with a fresh response. A failed load leaves no entry behind.
+     * Callers already on a zohoExecutor thread (the dashboard fan-out) load in place, since queueing
+     * behind themselves on the same bounded pool could leave every thread waiting.
+     */
+    private void load(CompletableFuture<CachedResponse> target, Supplier<?> loader) {
+        Supplier<CachedResponse> task = zohoRateLimiter.propagate(
+                () -> new CachedResponse(loader.get(), System.nanoTime()));
+        Runnable run = () -> {
+            try {
+                target.complete(task.get());
+            } catch (RuntimeException e) {
+                target.completeExceptionally(e);
+            }
+        };
+
+        if (Thread.currentThread().getThreadGroup() == zohoExecutor.getThreadGroup()) {
+            run.run();
+            return;
+        }
+        try {
+            zohoExecutor.execute(run);
+        } catch (RejectedExecutionException e) {
+            target.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Drops every cached response for the startup, e.g. after the integration is reconnected.
+     */
+    public void invalidate(String startupId) {
+        cache.asMap().keySet().removeIf(key -> key.startupId().equals(startupId));
+    }
+
+    private void revalidate(CacheKey key, Supplier<?> loader) {
+        if (!revalidating.add(key)) {
+            return;
+        }
+        try {
+            zohoExecutor.execute(() -> {
+                try {
+                    // Nobody is waiting on this reload, so it queues behind interactive calls
+                    Object body = zohoRateLimiter.inBackground(loader);
+                    cache.put(key, CompletableFuture.completedFuture(new CachedResponse(body, System.nanoTime())));
+                } catch (Exception e) {
+                    // Keep serving the stale copy until it ages out
+                    logger.warn("Background reload of Zoho {} failed for startupId {}: {}",
+                            key.endpoint(), key.startupId(), e.getMessage());
+                } finally {
+                    revalidating.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            revalidating.remove(key);
+        }
+    }
+
+    /**
+     * Sorts query parameters so that the same request built in a different order hits the same entry.
+     */
+    static String normalize(String url) {
+        UriComponents components = UriComponentsBuilder.fromUriString(url).build();
+        MultiValueMap<String, String> params = components.getQueryParams();
+
+        StringBuilder normalized = new StringBuilder(components.getPath() != null ? components.getPath() : "");
+        char separator = '?';
+        for (Map.Entry<String, List<String>> param : new TreeMap<>(params).entrySet()) {
+            for (String value : param.getValue().stream().sorted().toList()) {
+                normalized.append(separator).append(param.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+        return normalized.toString();
+    }
+
+    private record CacheKey(String startupId, ZohoEndpoint endpoint, String query, Class<?> shape) {
+    }
+
+    private record CachedResponse(Object body, long fetchedAtNanos) {
+
+        boolean isStale(Duration ttl) {
+            return System.nanoTime() - fetchedAtNanos > ttl.toNanos();
+        }
+    }
+
+    /**
+     * Entries live for their endpoint's TTL plus the stale window; reads do not extend them.
+     */
+    private record StaleWindowExpiry(Duration maxStale) implements Expiry<CacheKey, CachedResponse> {
+
+        @Override
+        public long expireAfterCreate(CacheKey key, CachedResponse value, long currentTime) {
+            return key.endpoint().getCacheTtl().plus(maxStale).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(CacheKey key, CachedResponse value, long currentTime,
+                long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(CacheKey key, CachedResponse value, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
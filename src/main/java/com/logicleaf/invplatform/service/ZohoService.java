@@ -1,28 +1,43 @@
 package com.logicleaf.invplatform.service;
 
-import com.logicleaf.invplatform.exception.BadRequestException;
-import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.dto.ZohoBankAccount;
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.dto.ZohoProfitAndLoss;
+import com.logicleaf.invplatform.dto.ZohoSalesOrder;
+import com.logicleaf.invplatform.exception.ZohoApiException;
+import com.logicleaf.invplatform.exception.ZohoUnavailableException;
 import com.logicleaf.invplatform.model.Integration;
 import com.logicleaf.invplatform.model.IntegrationStatus;
 import com.logicleaf.invplatform.model.IntegrationType;
 import com.logicleaf.invplatform.model.Startup;
 import com.logicleaf.invplatform.model.User;
+import com.logicleaf.invplatform.model.ZohoContext;
+import com.logicleaf.invplatform.model.ZohoEndpoint;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
 import com.logicleaf.invplatform.repository.IntegrationRepository;
 import com.logicleaf.invplatform.repository.StartupRepository;
 import com.logicleaf.invplatform.repository.UserRepository;
+import com.logicleaf.invplatform.repository.ZohoRecordRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.*;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,18 +61,38 @@ public class ZohoService {
     private UserRepository userRepository;
 
     @Autowired
-    private RestTemplate restTemplate;
+    private ZohoHttpClient zohoHttpClient;
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private ZohoContextService zohoContextService;
+
+    @Autowired
+    private ZohoTokenService zohoTokenService;
+
+    @Autowired
+    private ZohoResponseCache zohoResponseCache;
+
+    @Autowired
+    private ZohoRecordRepository zohoRecordRepository;
+
+    @Autowired
+    private ZohoMirrorService zohoMirrorService;
 
     @Autowired
     private IntegrationRepository integrationRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     private static final Logger logger = LoggerFactory.getLogger(ZohoService.class);
 
     private static final String ZOHO_AUTH_URL = "https://accounts.zoho.in/oauth/v2/auth";
     private static final String ZOHO_TOKEN_URL = "https://accounts.zoho.in/oauth/v2/token";
+    private static final String ZOHO_BOOKS_URL = "https://www.zohoapis.in/books/v3/";
+
+    // Zoho Books caps per_page at 200; the page limit only guards against a runaway has_more_page
+    private static final int PAGE_SIZE = 200;
+    private static final int MAX_PAGES = 1000;
 
     public String getZohoAuthUrl(String userEmail) {
         // We pass the user's email as state to identify them on callback
@@ -75,20 +110,14 @@ public class ZohoService {
         Startup startup = startupRepository.findByFounderUserId(user.getId())
                 .orElseThrow(() -> new RuntimeException("Startup profile not found for user: " + userEmail));
 
-        RestTemplate restTemplate = new RestTemplate();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        MultiValueMap<String, String> map = new LinkedMultiValueMap<>();
-        map.add("code", code);
-        map.add("client_id", zohoClientId);
-        map.add("client_secret", zohoClientSecret);
-        map.add("redirect_uri", zohoRedirectUri);
-        map.add("grant_type", "authorization_code");
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("code", code);
+        form.put("client_id", zohoClientId);
+        form.put("client_secret", zohoClientSecret);
+        form.put("redirect_uri", zohoRedirectUri);
+        form.put("grant_type", "authorization_code");
 
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(map, headers);
-
-        JsonNode response = restTemplate.postForObject(ZOHO_TOKEN_URL, request, JsonNode.class);
+        JsonNode response = zohoHttpClient.postForm(ZohoEndpoint.OAUTH_TOKEN, ZOHO_TOKEN_URL, form);
 
         if (response == null || !response.has("access_token")) {
             throw new RuntimeException("Failed to obtain Zoho access token.");
@@ -100,17 +129,11 @@ public class ZohoService {
 
         // Fetch organization ID from Zoho Books
         String orgUrl = "https://books.zoho.in/api/v3/organizations";
-        HttpHeaders orgHeaders = new HttpHeaders();
-        orgHeaders.set("Authorization", "Zoho-oauthtoken " + accessToken);
-        HttpEntity<Void> orgEntity = new HttpEntity<>(orgHeaders);
-
-        ResponseEntity<JsonNode> orgResp = restTemplate.exchange(orgUrl, HttpMethod.GET, orgEntity, JsonNode.class);
+        JsonNode orgResp = zohoHttpClient.get(ZohoEndpoint.ORGANIZATIONS, orgUrl, accessToken);
         String organizationId = null;
-        if (orgResp.getStatusCode().is2xxSuccessful() && orgResp.getBody() != null) {
-            JsonNode organizations = orgResp.getBody().get("organizations");
-            if (organizations != null && organizations.isArray() && organizations.size() > 0) {
-                organizationId = organizations.get(0).path("organization_id").asText();
-            }
+        JsonNode organizations = orgResp.get("organizations");
+        if (organizations != null && organizations.isArray() && organizations.size() > 0) {
+            organizationId = organizations.get(0).path("organization_id").asText();
         }
 
         Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
@@ -124,471 +147,223 @@ public class ZohoService {
                     .accessToken(accessToken)
                     .refreshToken(refreshToken)
                     .expiresAt(LocalDateTime.now().plusSeconds(expiresIn))
-                    .connectionConfig(organizationId != null
-                            ? "{\"organization_id\": \"" + organizationId + "\"}"
-                            : null)
-                    .lastSyncTime(LocalDateTime.now())
+                    .organizationId(organizationId)
                     .build();
         } else {
             integration.setStatus(IntegrationStatus.CONNECTED);
             integration.setAccessToken(accessToken);
             integration.setRefreshToken(refreshToken);
             integration.setExpiresAt(LocalDateTime.now().plusSeconds(expiresIn));
-            integration.setLastSyncTime(LocalDateTime.now());
+            // Reconnecting starts the mirror over with a full sync
+            integration.setLastSyncTime(null);
             if (organizationId != null) {
-                integration.setConnectionConfig("{\"organization_id\": \"" + organizationId + "\"}");
+                if (!organizationId.equals(integration.getOrganizationId())) {
+                    zohoRecordRepository.deleteByStartupId(startup.getId());
+                }
+                integration.setOrganizationId(organizationId);
             }
         }
         integrationRepository.save(integration);
 
+        zohoContextService.invalidate(startup.getId());
+        // Data cached under the previous connection may belong to a different Zoho org
+        zohoResponseCache.invalidate(startup.getId());
+        eventPublisher.publishEvent(new ZohoDataChangedEvent(startup.getId()));
     }
 
-    private String extractOrganizationId(Integration integration) {
-        try {
-            if (integration.getConnectionConfig() != null) {
-                JsonNode config = objectMapper.readTree(integration.getConnectionConfig());
-                return config.path("organization_id").asText(null);
-            }
-        } catch (Exception e) {
-            logger.error("❌ Failed to parse organization_id from integration config: {}", e.getMessage());
-        }
-        return null;
+    /**
+     * Resolves the founder's Zoho context once, with a usable access token.
+     * Pass the result to the fetch methods below instead of the email.
+     */
+    public ZohoContext resolveContext(String founderEmail) {
+        return ensureValidToken(zohoContextService.resolve(founderEmail));
     }
 
     public JsonNode fetchSalesOrdersForFounder(String founderEmail, String startDate, String endDate) {
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new BadRequestException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new BadRequestException("Zoho organization ID not found in integration configuration.");
-        }
+        return fetchSalesOrdersForFounder(resolveContext(founderEmail), startDate, endDate);
+    }
 
-        StringBuilder urlBuilder = new StringBuilder("https://www.zohoapis.in/books/v3/salesorders");
-        urlBuilder.append("?organization_id=").append(organizationId);
+    public JsonNode fetchSalesOrdersForFounder(ZohoContext context, String startDate, String endDate) {
+        UriComponentsBuilder builder = booksUrl(context, ZohoEndpoint.SALES_ORDERS);
         if (startDate != null && !startDate.isBlank())
-            urlBuilder.append("&date_start=").append(startDate);
+            builder.queryParam("date_start", startDate);
         if (endDate != null && !endDate.isBlank())
-            urlBuilder.append("&date_end=").append(endDate);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+            builder.queryParam("date_end", endDate);
 
         try {
-            ResponseEntity<String> resp = restTemplate.exchange(urlBuilder.toString(), HttpMethod.GET, entity,
-                    String.class);
-
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
-
-            JsonNode responseJson = objectMapper.readTree(resp.getBody());
-            logger.info(" Sales orders fetched successfully for startupId: {}", startup.getId());
-            return responseJson;
-        } catch (Exception e) {
-            logger.error(" Error fetching sales orders for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch sales orders: " + e.getMessage(), e);
+            return getFromZoho(context, ZohoEndpoint.SALES_ORDERS, builder.toUriString(), "sales orders");
+        } catch (ZohoUnavailableException e) {
+            return fromMirror(context, ZohoSyncEntity.SALES_ORDERS, startDate, endDate, e);
         }
     }
 
     public JsonNode fetchExpensesForFounder(String founderEmail, String startDate, String endDate) {
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new BadRequestException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new BadRequestException("Zoho organization ID not found in integration configuration.");
-        }
+        return fetchExpensesForFounder(resolveContext(founderEmail), startDate, endDate);
+    }
 
-        StringBuilder urlBuilder = new StringBuilder("https://www.zohoapis.in/books/v3/expenses");
-        urlBuilder.append("?organization_id=").append(organizationId);
+    public JsonNode fetchExpensesForFounder(ZohoContext context, String startDate, String endDate) {
+        UriComponentsBuilder builder = booksUrl(context, ZohoEndpoint.EXPENSES);
         if (startDate != null && !startDate.isBlank())
-            urlBuilder.append("&date_start=").append(startDate);
+            builder.queryParam("date_start", startDate);
         if (endDate != null && !endDate.isBlank())
-            urlBuilder.append("&date_end=").append(endDate);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+            builder.queryParam("date_end", endDate);
 
         try {
-            ResponseEntity<String> resp = restTemplate.exchange(urlBuilder.toString(), HttpMethod.GET, entity,
-                    String.class);
-
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
-
-            JsonNode responseJson = objectMapper.readTree(resp.getBody());
-            logger.info(" Expenses fetched successfully for startupId: {}", startup.getId());
-            return responseJson;
-        } catch (Exception e) {
-            logger.error(" Error fetching expenses for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch expenses: " + e.getMessage(), e);
-        }
-    }
-
-    private void refreshAccessToken(Integration integration) {
-        String refreshToken = integration.getRefreshToken();
-        if (refreshToken == null || refreshToken.isEmpty()) {
-            throw new RuntimeException("Refresh token missing. Please reauthorize your Zoho integration.");
-        }
-
-        String url = "https://accounts.zoho.in/oauth/v2/token";
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
-
-        MultiValueMap<String, String> params = new LinkedMultiValueMap<>();
-        params.add("refresh_token", refreshToken);
-        params.add("client_id", zohoClientId);
-        params.add("client_secret", zohoClientSecret);
-        params.add("grant_type", "refresh_token");
-
-        HttpEntity<MultiValueMap<String, String>> request = new HttpEntity<>(params, headers);
-
-        try {
-            ResponseEntity<JsonNode> resp = restTemplate.exchange(url, HttpMethod.POST, request, JsonNode.class);
-            JsonNode body = resp.getBody();
-
-            if (body == null || !body.has("access_token")) {
-                throw new RuntimeException(
-                        "Failed to refresh Zoho token: " + (body != null ? body.toString() : "null response"));
-            }
-
-            String newAccessToken = body.get("access_token").asText();
-            long expiresIn = body.has("expires_in") ? body.get("expires_in").asLong() : 3600L;
-
-            integration.setAccessToken(newAccessToken);
-            integration.setExpiresAt(LocalDateTime.now().plusSeconds(expiresIn));
-            integration.setLastSyncTime(LocalDateTime.now());
-
-            integrationRepository.save(integration);
-
-            logger.info(" Zoho access token refreshed successfully for startupId: {}", integration.getStartupId());
-        } catch (Exception e) {
-            logger.error(" Error refreshing Zoho token for startupId {}: {}", integration.getStartupId(),
-                    e.getMessage());
-            throw new RuntimeException("Error refreshing Zoho token: " + e.getMessage(), e);
+            return getFromZoho(context, ZohoEndpoint.EXPENSES, builder.toUriString(), "expenses");
+        } catch (ZohoUnavailableException e) {
+            return fromMirror(context, ZohoSyncEntity.EXPENSES, startDate, endDate, e);
         }
     }
 
-    private void ensureValidToken(Integration integration) {
-        if (integration.getAccessToken() == null) {
-            throw new IllegalStateException("Missing Zoho access token. Please reconnect Zoho integration.");
-        }
-
-        if (integration.getExpiresAt() == null || integration.getExpiresAt().isBefore(LocalDateTime.now())) {
-            logger.info(" Zoho token expired — refreshing for startupId {}", integration.getStartupId());
-            refreshAccessToken(integration);
-        }
+    private ZohoContext ensureValidToken(ZohoContext context) {
+        return zohoTokenService.ensureValid(context);
     }
 
     public JsonNode fetchAllUsersFromZoho(String founderEmail) {
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new RuntimeException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new RuntimeException("Zoho organization ID not found in integration config.");
-        }
-
-        String url = String.format("https://www.zohoapis.in/books/v3/users?organization_id=%s", organizationId);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<String> resp = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
-
-            logger.info(" Users fetched successfully from Zoho for startupId: {}", startup.getId());
-            return objectMapper.readTree(resp.getBody());
-
-        } catch (Exception e) {
-            logger.error(" Error fetching Zoho users for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch users from Zoho: " + e.getMessage(), e);
-        }
+        ZohoContext context = resolveContext(founderEmail);
+        String url = booksUrl(context, ZohoEndpoint.USERS).toUriString();
+        return getFromZoho(context, ZohoEndpoint.USERS, url, "users");
     }
 
-    public JsonNode fetchEmployeesFromZoho(String founderEmail, Integer page, Integer perPage) {
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new RuntimeException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new RuntimeException("Zoho organization ID not found in integration config.");
-        }
-
-        StringBuilder urlBuilder = new StringBuilder(
-                String.format("https://www.zohoapis.in/books/v3/employees?organization_id=%s", organizationId));
-
-        urlBuilder.append("&page=").append(page != null && page > 0 ? page : 1);
-        urlBuilder.append("&per_page=").append(perPage != null && perPage > 0 ? perPage : 200);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+    public JsonNode fetchEmployeesFromZoho(String founderEmail) {
+        return fetchEmployeesFromZoho(resolveContext(founderEmail));
+    }
 
-        try {
-            ResponseEntity<String> resp = restTemplate.exchange(urlBuilder.toString(), HttpMethod.GET, entity,
-                    String.class);
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
+    public JsonNode fetchEmployeesFromZoho(ZohoContext context) {
+        return fetchAllPages(context, ZohoEndpoint.EMPLOYEES, "employees", null, "employees");
+    }
 
-            logger.info("✅ Employees fetched successfully from Zoho for startupId: {}", startup.getId());
-            return objectMapper.readTree(resp.getBody());
-        } catch (Exception e) {
-            logger.error("❌ Error fetching Zoho employees for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch employees from Zoho: " + e.getMessage(), e);
-        }
+    public int forEachEmployee(ZohoContext context, Consumer<JsonNode> consumer) {
+        return forEachRecord(context, ZohoEndpoint.EMPLOYEES, "employees", null, consumer);
     }
 
     public JsonNode fetchAllBankAccountsForFounder(String founderEmail) {
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new BadRequestException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new BadRequestException("Zoho organization ID not found in integration configuration.");
-        }
-
-        String url = String.format(
-                "https://www.zohoapis.in/books/v3/bankaccounts?organization_id=%s",
-                organizationId);
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException(
-                        "Zoho API returned " + response.getStatusCodeValue() + ": " + response.getBody());
-            }
+        return fetchAllBankAccountsForFounder(resolveContext(founderEmail));
+    }
 
-            JsonNode responseJson = objectMapper.readTree(response.getBody());
-            logger.info("✅ All bank accounts fetched successfully for startupId: {}", startup.getId());
-            return responseJson;
-        } catch (Exception e) {
-            logger.error("❌ Error fetching all bank accounts for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch all bank accounts: " + e.getMessage(), e);
-        }
+    public JsonNode fetchAllBankAccountsForFounder(ZohoContext context) {
+        String url = booksUrl(context, ZohoEndpoint.BANK_ACCOUNTS).toUriString();
+        return getFromZoho(context, ZohoEndpoint.BANK_ACCOUNTS, url, "all bank accounts");
     }
 
     public JsonNode fetchBankAccountDetailsForFounder(String founderEmail, String bankAccountId) {
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new BadRequestException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new BadRequestException("Zoho organization ID not found in integration configuration.");
-        }
+        ZohoContext context = resolveContext(founderEmail);
 
         // ✅ Zoho Bank Account API Endpoint
-        String url = String.format(
-                "https://www.zohoapis.in/books/v3/bankaccounts/%s?organization_id=%s",
-                bankAccountId, organizationId);
+        String url = booksUrl(context, ZohoEndpoint.BANK_ACCOUNTS)
+                .pathSegment(bankAccountId)
+                .toUriString();
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url, HttpMethod.GET, entity, String.class);
-
-            if (!response.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException(
-                        "Zoho API returned " + response.getStatusCodeValue() + ": " + response.getBody());
-            }
-
-            JsonNode responseJson = objectMapper.readTree(response.getBody());
-            logger.info("✅ Bank account details fetched successfully for startupId: {}", startup.getId());
-            return responseJson;
-        } catch (Exception e) {
-            logger.error("❌ Error fetching bank account details for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch bank account details: " + e.getMessage(), e);
-        }
+        return getFromZoho(context, ZohoEndpoint.BANK_ACCOUNTS, url, "bank account details");
     }
 
     public JsonNode fetchContactsFromZoho(
             String founderEmail,
             Map<String, String> filters // dynamic filters
     ) {
+        return fetchContactsFromZoho(resolveContext(founderEmail), filters);
+    }
 
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Startup not found for user: " + founderEmail));
+    /**
+     * All contacts matching the filters, across every page, as {@code {"contacts": [...]}}.
+     */
+    public JsonNode fetchContactsFromZoho(ZohoContext context, Map<String, String> filters) {
+        return fetchAllPages(context, ZohoEndpoint.CONTACTS, "contacts", filters, "contacts");
+    }
 
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
+    public int forEachContact(ZohoContext context, Map<String, String> filters, Consumer<JsonNode> consumer) {
+        return forEachRecord(context, ZohoEndpoint.CONTACTS, "contacts", filters, consumer);
+    }
 
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new RuntimeException("Zoho integration not connected for this startup.");
-        }
+    public JsonNode fetchInvoicesFromZoho(String founderEmail, Map<String, String> filters) {
+        return fetchInvoicesFromZoho(resolveContext(founderEmail), filters);
+    }
 
-        ensureValidToken(integration);
+    public JsonNode fetchInvoicesFromZoho(ZohoContext context, Map<String, String> filters) {
+        return fetchAllPages(context, ZohoEndpoint.INVOICES, "invoices", filters, "invoices");
+    }
 
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new RuntimeException("Zoho organization ID not found in integration config.");
-        }
+    public int forEachInvoice(ZohoContext context, Map<String, String> filters, Consumer<JsonNode> consumer) {
+        return forEachRecord(context, ZohoEndpoint.INVOICES, "invoices", filters, consumer);
+    }
 
-        // ---------- Build Query Params ----------
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromHttpUrl("https://www.zohoapis.in/books/v3/contacts")
-                .queryParam("organization_id", organizationId);
+    public JsonNode fetchProfitAndLossReport(
+            String founderEmail,
+            String fromDate,
+            String toDate) {
+        return fetchProfitAndLossReport(resolveContext(founderEmail), fromDate, toDate);
+    }
 
-        if (filters != null) {
-            for (Map.Entry<String, String> entry : filters.entrySet()) {
-                if (entry.getValue() != null && !entry.getValue().isEmpty()) {
-                    builder.queryParam(entry.getKey(), entry.getValue());
-                }
-            }
-        }
+    public JsonNode fetchProfitAndLossReport(ZohoContext context, String fromDate, String toDate) {
+        String finalUrl = booksUrl(context, ZohoEndpoint.PROFIT_AND_LOSS)
+                .queryParam("from_date", fromDate)
+                .queryParam("to_date", toDate)
+                .toUriString();
+        logger.info("Fetching Profit & Loss Report from Zoho: {}", finalUrl);
 
-        String finalUrl = builder.toUriString();
-        logger.info(" Fetching Zoho contacts with URL: {}", finalUrl);
+        return getFromZoho(context, ZohoEndpoint.PROFIT_AND_LOSS, finalUrl, "P&L report");
+    }
 
-        // ---------- Headers ----------
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+    public JsonNode fetchRecurringInvoicesFromZoho(String founderEmail, Map<String, String> filters) {
+        return fetchRecurringInvoicesFromZoho(resolveContext(founderEmail), filters);
+    }
 
-        try {
-            ResponseEntity<String> resp = restTemplate.exchange(finalUrl, HttpMethod.GET, entity, String.class);
+    public JsonNode fetchRecurringInvoicesFromZoho(ZohoContext context, Map<String, String> filters) {
+        return fetchAllPages(context, ZohoEndpoint.RECURRING_INVOICES, "recurring_invoices", filters,
+                "recurring invoices");
+    }
 
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
+    public int forEachRecurringInvoice(ZohoContext context, Map<String, String> filters,
+            Consumer<JsonNode> consumer) {
+        return forEachRecord(context, ZohoEndpoint.RECURRING_INVOICES, "recurring_invoices", filters, consumer);
+    }
 
-            logger.info(" Contacts fetched successfully from Zoho for startupId: {}", startup.getId());
-            return objectMapper.readTree(resp.getBody());
+    // ---------- Typed reads (only the fields the dashboard uses are bound) ----------
 
-        } catch (Exception e) {
-            logger.error(" Error fetching Zoho contacts for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch Zoho contacts: " + e.getMessage(), e);
-        }
+    public List<ZohoSalesOrder> fetchSalesOrders(ZohoContext context, String startDate, String endDate) {
+        return fetchAllRecords(context, ZohoSyncEntity.SALES_ORDERS, dateRange(startDate, endDate),
+                ZohoSalesOrder.class);
     }
 
-    public JsonNode fetchInvoicesFromZoho(String founderEmail, Map<String, String> filters) {
-
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found: " + founderEmail));
+    public List<ZohoExpense> fetchExpenses(ZohoContext context, String startDate, String endDate) {
+        return fetchAllRecords(context, ZohoSyncEntity.EXPENSES, dateRange(startDate, endDate), ZohoExpense.class);
+    }
 
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Startup not found for user: " + founderEmail));
+    public List<ZohoBankAccount> fetchBankAccounts(ZohoContext context) {
+        return fetchAllRecords(context, ZohoSyncEntity.BANK_ACCOUNTS, null, ZohoBankAccount.class);
+    }
 
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
+    public List<ZohoContact> fetchContacts(ZohoContext context) {
+        return fetchAllRecords(context, ZohoSyncEntity.CONTACTS, null, ZohoContact.class);
+    }
 
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new RuntimeException("Zoho integration not connected for this startup.");
-        }
+    public List<ZohoInvoice> fetchInvoices(ZohoContext context) {
+        return fetchAllRecords(context, ZohoSyncEntity.INVOICES, null, ZohoInvoice.class);
+    }
 
-        ensureValidToken(integration);
+    public ZohoProfitAndLoss fetchProfitAndLoss(ZohoContext context, String fromDate, String toDate) {
+        String url = booksUrl(context, ZohoEndpoint.PROFIT_AND_LOSS)
+                .queryParam("from_date", fromDate)
+                .queryParam("to_date", toDate)
+                .toUriString();
+
+        return zohoResponseCache.get(context.getStartupId(), ZohoEndpoint.PROFIT_AND_LOSS, url,
+                ZohoProfitAndLoss.class, () -> {
+                    ZohoContext valid = ensureValidToken(context);
+                    return zohoHttpClient.get(ZohoEndpoint.PROFIT_AND_LOSS, url, valid.getAccessToken(),
+                            ZohoProfitAndLoss.class);
+                });
+    }
 
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new RuntimeException("Zoho organization ID not found in integration config.");
-        }
+    // ---------- Helpers ----------
 
-        // -------- Build URL with dynamic filters --------
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromHttpUrl("https://www.zohoapis.in/books/v3/invoices")
-                .queryParam("organization_id", organizationId);
+    private UriComponentsBuilder booksUrl(ZohoContext context, ZohoEndpoint endpoint) {
+        return UriComponentsBuilder
+                .fromUriString(ZOHO_BOOKS_URL + endpoint.getPath())
+                .queryParam("organization_id", context.getOrganizationId());
+    }
 
+    private UriComponentsBuilder withFilters(UriComponentsBuilder builder, Map<String, String> filters) {
         if (filters != null) {
             for (Map.Entry<String, String> entry : filters.entrySet()) {
                 if (entry.getValue() != null && !entry.getValue().isEmpty()) {
@@ -596,153 +371,151 @@ public class ZohoService {
                 }
             }
         }
+        return builder;
+    }
 
-        String finalUrl = builder.toUriString();
-        logger.info(" Fetching Zoho invoices with URL: {}", finalUrl);
-
-        // -------- Headers --------
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-
-            ResponseEntity<String> resp = restTemplate.exchange(finalUrl, HttpMethod.GET, entity, String.class);
-
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
-
-            logger.info(" Invoices fetched successfully for startupId: {}", startup.getId());
-            return objectMapper.readTree(resp.getBody());
-
-        } catch (Exception e) {
-            logger.error(" Error fetching Zoho invoices for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch invoices from Zoho: " + e.getMessage(), e);
-        }
+    /**
+     * Whether {@link #forEachRecord} may have stopped at its page limit after delivering {@code delivered}
+     * records, so the read cannot be taken as everything Zoho has.
+     */
+    public static boolean reachedPageLimit(int delivered) {
+        return delivered >= PAGE_SIZE * MAX_PAGES;
     }
 
-    public JsonNode fetchProfitAndLossReport(
-            String founderEmail,
-            String fromDate,
-            String toDate) {
+    /**
+     * Streams every record of a Zoho list endpoint to the consumer, page by page, following
+     * {@code page_context.has_more_page}. Only the record being handed over is held in memory.
+     *
+     * @return the number of records delivered
+     */
+    public int forEachRecord(ZohoContext context, ZohoEndpoint endpoint, String recordsField,
+            Map<String, String> filters, Consumer<JsonNode> consumer) {
+        return forEachRecord(context, endpoint, recordsField, filters, JsonNode.class, consumer);
+    }
 
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found: " + founderEmail));
+    /**
+     * Same as above, binding each record to {@code type} directly from the response stream.
+     */
+    public <T> int forEachRecord(ZohoContext context, ZohoEndpoint endpoint, String recordsField,
+            Map<String, String> filters, Class<T> type, Consumer<? super T> consumer) {
+        Map<String, String> query = new LinkedHashMap<>();
+        if (filters != null) {
+            query.putAll(filters);
+        }
+        // Paging is driven from here
+        query.remove("page");
+        query.remove("per_page");
 
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Startup not found for user: " + founderEmail));
+        AtomicInteger count = new AtomicInteger();
+        Consumer<T> counting = record -> {
+            count.incrementAndGet();
+            consumer.accept(record);
+        };
 
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
+        ZohoContext valid = context;
+        boolean hasMorePage = true;
+        for (int page = 1; hasMorePage && page <= MAX_PAGES; page++) {
+            String url = withFilters(booksUrl(context, endpoint), query)
+                    .queryParam("page", page)
+                    .queryParam("per_page", PAGE_SIZE)
+                    .toUriString();
 
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new RuntimeException("Zoho integration not connected for this startup.");
+            valid = ensureValidToken(valid);
+            hasMorePage = zohoHttpClient.getPage(endpoint, url, valid.getAccessToken(), recordsField, type,
+                    counting);
         }
 
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new RuntimeException("Zoho organization ID not found in integration config.");
+        if (hasMorePage) {
+            logger.warn("Stopped paging Zoho {} for startupId {} after {} pages", endpoint, context.getStartupId(),
+                    MAX_PAGES);
         }
+        return count.get();
+    }
 
-        // ---------------- Build URL ----------------
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromHttpUrl("https://www.zohoapis.in/books/v3/reports/profitandloss")
-                .queryParam("organization_id", organizationId)
-                .queryParam("from_date", fromDate)
-                .queryParam("to_date", toDate);
-
-        String finalUrl = builder.toUriString();
-        logger.info("Fetching Profit & Loss Report from Zoho: {}", finalUrl);
-
-        // ---------------- Headers ----------------
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
-
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
-
-        try {
-            ResponseEntity<String> resp = restTemplate.exchange(
-                    finalUrl, HttpMethod.GET, entity, String.class);
-
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException(
-                        "Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
+    private <T> List<T> fetchAllRecords(ZohoContext context, ZohoSyncEntity entity, Map<String, String> filters,
+            Class<T> type) {
+        ZohoEndpoint endpoint = entity.getEndpoint();
+        String cacheUrl = withFilters(booksUrl(context, endpoint), filters).toUriString();
+
+        return zohoResponseCache.get(context.getStartupId(), endpoint, cacheUrl, type, () -> {
+            List<T> records = new ArrayList<>();
+            try {
+                forEachRecord(context, endpoint, entity.getRecordsField(), filters, type, records::add);
+            } catch (ZohoApiException e) {
+                logger.error(" Error fetching Zoho {} for startupId {}: {}", entity.getRecordsField(),
+                        context.getStartupId(), e.getMessage());
+                throw e;
             }
-
-            logger.info("Profit & Loss Report fetched successfully for startupId: {}", startup.getId());
-            return objectMapper.readTree(resp.getBody());
-
-        } catch (Exception e) {
-            logger.error("Error fetching Profit & Loss report for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch P&L report: " + e.getMessage(), e);
-        }
+            return Collections.unmodifiableList(records);
+        });
     }
 
-    public JsonNode fetchRecurringInvoicesFromZoho(String founderEmail, Map<String, String> filters) {
-
-        User user = userRepository.findByEmail(founderEmail)
-                .orElseThrow(() -> new RuntimeException("User not found: " + founderEmail));
-
-        Startup startup = startupRepository.findByFounderUserId(user.getId())
-                .orElseThrow(() -> new RuntimeException("Startup not found for user: " + founderEmail));
-
-        Integration integration = integrationRepository.findByStartupIdAndIntegrationType(
-                startup.getId(), IntegrationType.ZOHO);
-
-        if (integration == null || integration.getAccessToken() == null) {
-            throw new RuntimeException("Zoho integration not connected for this startup.");
-        }
-
-        ensureValidToken(integration);
-
-        String organizationId = extractOrganizationId(integration);
-        if (organizationId == null) {
-            throw new RuntimeException("Zoho organization ID not found in integration config.");
-        }
+    /**
+     * Fallback while Zoho is failing fast: serve the mirrored copy, if this startup has one.
+     */
+    private JsonNode fromMirror(ZohoContext context, ZohoSyncEntity entity, String startDate, String endDate,
+            ZohoUnavailableException cause) {
+        if (!context.isMirrorReady()) {
+            throw cause;
+        }
+        logger.warn("Zoho unavailable ({}), serving mirrored {} for startupId {}", cause.getMessage(),
+                entity.getRecordsField(), context.getStartupId());
+
+        String from = startDate != null && !startDate.isBlank() ? startDate : null;
+        String to = endDate != null && !endDate.isBlank() ? endDate : null;
+        ArrayNode records = JsonNodeFactory.instance.arrayNode();
+        records.addAll(zohoMirrorService.find(context.getStartupId(), entity, from, to, JsonNode.class));
+
+        ObjectNode result = JsonNodeFactory.instance.objectNode();
+        result.set(entity.getRecordsField(), records);
+        return result;
+    }
 
-        // ---------- Build URL ----------
-        UriComponentsBuilder builder = UriComponentsBuilder
-                .fromHttpUrl("https://www.zohoapis.in/books/v3/recurringinvoices")
-                .queryParam("organization_id", organizationId);
+    private Map<String, String> dateRange(String startDate, String endDate) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put("date_start", startDate);
+        filters.put("date_end", endDate);
+        return filters;
+    }
 
-        if (filters != null) {
-            for (Map.Entry<String, String> entry : filters.entrySet()) {
-                if (entry.getValue() != null && !entry.getValue().isEmpty()) {
-                    builder.queryParam(entry.getKey(), entry.getValue());
-                }
+    private JsonNode fetchAllPages(ZohoContext context, ZohoEndpoint endpoint, String recordsField,
+            Map<String, String> filters, String label) {
+        String cacheUrl = withFilters(booksUrl(context, endpoint), filters).toUriString();
+
+        return zohoResponseCache.get(context.getStartupId(), endpoint, cacheUrl, () -> {
+            ArrayNode records = JsonNodeFactory.instance.arrayNode();
+            try {
+                forEachRecord(context, endpoint, recordsField, filters, records::add);
+            } catch (ZohoApiException e) {
+                logger.error(" Error fetching Zoho {} for startupId {}: {}", label, context.getStartupId(),
+                        e.getMessage());
+                throw e;
             }
-        }
-
-        String finalUrl = builder.toUriString();
-        logger.info("Fetching Zoho Recurring Invoices with URL: {}", finalUrl);
-
-        // ---------- Headers ----------
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Zoho-oauthtoken " + integration.getAccessToken());
-        headers.set("Accept", "application/json");
+            logger.info(" Zoho {} fetched successfully for startupId: {} ({} records)", label,
+                    context.getStartupId(), records.size());
+
+            ObjectNode result = JsonNodeFactory.instance.objectNode();
+            result.set(recordsField, records);
+            result.putObject("page_context").put("has_more_page", false);
+            return result;
+        });
+    }
 
-        HttpEntity<Void> entity = new HttpEntity<>(headers);
+    private JsonNode getFromZoho(ZohoContext context, ZohoEndpoint endpoint, String url, String label) {
+        return zohoResponseCache.get(context.getStartupId(), endpoint, url,
+                () -> loadFromZoho(context, endpoint, url, label));
+    }
 
+    private JsonNode loadFromZoho(ZohoContext context, ZohoEndpoint endpoint, String url, String label) {
+        ZohoContext valid = ensureValidToken(context);
         try {
-            ResponseEntity<String> resp = restTemplate.exchange(finalUrl, HttpMethod.GET, entity, String.class);
-
-            if (!resp.getStatusCode().is2xxSuccessful()) {
-                throw new RuntimeException("Zoho API returned " + resp.getStatusCodeValue() + ": " + resp.getBody());
-            }
-
-            logger.info("Recurring invoices fetched successfully for startupId: {}", startup.getId());
-            return objectMapper.readTree(resp.getBody());
-
-        } catch (Exception e) {
-            logger.error("Error fetching recurring invoices for {}: {}", founderEmail, e.getMessage());
-            throw new RuntimeException("Failed to fetch recurring invoices from Zoho: " + e.getMessage(), e);
+            JsonNode body = zohoHttpClient.get(endpoint, url, valid.getAccessToken());
+            logger.info(" Zoho {} fetched successfully for startupId: {}", label, valid.getStartupId());
+            return body;
+        } catch (ZohoApiException e) {
+            logger.error(" Error fetching Zoho {} for startupId {}: {}", label, valid.getStartupId(), e.getMessage());
+            throw e;
         }
     }
 
-}
\ No newline at end of file
+}
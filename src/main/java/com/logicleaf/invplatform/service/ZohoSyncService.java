@@ -0,0 +1,407 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationStatus;
+import com.logicleaf.invplatform.model.IntegrationType;
+import com.logicleaf.invplatform.model.ZohoContext;
+import com.logicleaf.invplatform.model.ZohoRecord;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import com.logicleaf.invplatform.model.ZohoSyncLease;
+import com.logicleaf.invplatform.repository.IntegrationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Mirrors Zoho Books lists into the zoho_records collection so dashboards don't hit Zoho per page view.
+ * The first sync after connecting reads everything. Later runs only ask Zoho for records modified
+ * since {@link Integration#getLastSyncTime()} (minus a small overlap for clock skew).
+ * Records are upserted by id, so overlapping or repeated runs are harmless.
+ * Incremental reads never see records deleted in Zoho, so every {@code zoho.sync.reconcile-hours} a run
+ * reads everything again; after any complete read, mirrored rows that read did not return are removed.
+ * Instances sharing the database take turns through a per-integration lease in zoho_sync_leases,
+ * renewed after every entity, so each integration is synced by one instance at a time.
+ */
+@Service
+public class ZohoSyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZohoSyncService.class);
+
+    private static final DateTimeFormatter ZOHO_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ssZ");
+    private static final int BATCH_SIZE = 500;
+
+    private final IntegrationRepository integrationRepository;
+    private final ZohoService zohoService;
+    private final ZohoContextService zohoContextService;
+    private final ZohoRateLimiter zohoRateLimiter;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StartupMetricsService startupMetricsService;
+    private final KpiAggregateService kpiAggregateService;
+    private final Executor syncExecutor;
+
+    // Startups with a sync queued or running here, so a slow sync is not queued again by the next tick
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    @Value("${zoho.sync.lease-seconds:900}")
+    private long leaseSeconds;
+
+    @Value("${zoho.sync.overlap-seconds:300}")
+    private long overlapSeconds;
+
+    @Value("${zoho.sync.reconcile-hours:24}")
+    private long reconcileHours;
+
+    public ZohoSyncService(IntegrationRepository integrationRepository,
+            ZohoService zohoService,
+            ZohoContextService zohoContextService,
+            ZohoRateLimiter zohoRateLimiter,
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            StartupMetricsService startupMetricsService,
+            KpiAggregateService kpiAggregateService,
+            @Qualifier("syncExecutor") Executor syncExecutor) {
+        this.integrationRepository = integrationRepository;
+        this.zohoService = zohoService;
+        this.zohoContextService = zohoContextService;
+        this.zohoRateLimiter = zohoRateLimiter;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.startupMetricsService = startupMetricsService;
+        this.kpiAggregateService = kpiAggregateService;
+        this.syncExecutor = syncExecutor;
+    }
+
+    /**
+     * Hands each connected startup's sync to syncExecutor and returns; the scheduler thread is shared
+     * with the other scheduled jobs and never waits on Zoho itself.
+     */
+    @Scheduled(fixedDelayString = "${zoho.sync.interval-ms:900000}",
+            initialDelayString = "${zoho.sync.initial-delay-ms:60000}")
+    public void syncAll() {
+        List<Integration> integrations = integrationRepository.findByIntegrationTypeAndStatus(
+                IntegrationType.ZOHO, IntegrationStatus.CONNECTED);
+
+        for (Integration integration : integrations) {
+            String startupId = integration.getStartupId();
+            if (!inFlight.add(startupId)) {
+                continue;
+            }
+            try {
+                syncExecutor.execute(() -> runSync(integration));
+            } catch (RejectedExecutionException e) {
+                inFlight.remove(startupId);
+                logger.warn("⚠️ Zoho sync queue full, startupId {} waits for the next run", startupId);
+            }
+        }
+    }
+
+    private void runSync(Integration integration) {
+        String owner = UUID.randomUUID().toString();
+        boolean claimed = false;
+        try {
+            claimed = claimLease(integration.getId(), owner);
+            if (!claimed) {
+                logger.debug("Zoho sync for startupId {} is running on another instance", integration.getStartupId());
+                return;
+            }
+            // Another instance may have synced since the list was read; continue from its cursor
+            Integration current = integrationRepository.findById(integration.getId())
+                    .filter(i -> i.getStatus() == IntegrationStatus.CONNECTED)
+                    .orElse(null);
+            if (current == null) {
+                return;
+            }
+            // Sync only spends what the org's interactive traffic leaves over
+            zohoRateLimiter.inBackground(() -> sync(current, owner));
+        } catch (Exception e) {
+            logger.error("❌ Zoho sync failed for startupId {}: {}", integration.getStartupId(), e.getMessage());
+        } finally {
+            if (claimed) {
+                releaseLease(integration.getId(), owner);
+            }
+            inFlight.remove(integration.getStartupId());
+        }
+    }
+
+    private void sync(Integration integration, String leaseOwner) {
+        if (integration.getOrganizationId() == null) {
+            logger.warn("Skipping Zoho sync for startupId {}: no organization id", integration.getStartupId());
+            return;
+        }
+
+        ZohoContext context = zohoContextService.fromIntegration(integration);
+        LocalDateTime cursor = integration.getLastSyncTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime lastFullSync = integration.getLastFullSyncTime();
+        boolean full = cursor == null || lastFullSync == null
+                || lastFullSync.isBefore(startedAt.minusHours(reconcileHours));
+
+        int total = 0;
+        Set<YearMonth> changedMonths = new HashSet<>();
+        for (ZohoSyncEntity entity : ZohoSyncEntity.values()) {
+            renewLease(integration.getId(), leaseOwner);
+            total += syncEntity(context, entity, full ? null : cursor, changedMonths);
+        }
+        renewLease(integration.getId(), leaseOwner);
+
+        // Only advance once every entity succeeded, otherwise the next run repeats this window
+        advanceCursor(integration, startedAt, full);
+        if (cursor == null) {
+            // Cached contexts still say "not mirrored"; drop them so dashboards switch over
+            zohoContextService.invalidate(integration.getStartupId());
+        }
+        // Full reads neither move the aggregates record by record nor account for pruned rows
+        if (full || kpiAggregateService.needsRebuild(integration.getStartupId())) {
+            rebuildAggregates(integration.getStartupId());
+        }
+        if (full || total > 0) {
+            captureMetrics(integration.getStartupId(), cursor == null ? null : changedMonths);
+            eventPublisher.publishEvent(new ZohoDataChangedEvent(integration.getStartupId()));
+        }
+
+        logger.info("✅ Zoho {} sync stored or removed {} records for startupId: {}",
+                cursor == null ? "full" : full ? "reconcile" : "incremental", total, integration.getStartupId());
+    }
+
+    private void captureMetrics(String startupId, Set<YearMonth> changedMonths) {
+        try {
+            startupMetricsService.recordFromMirror(startupId, changedMonths);
+        } catch (Exception e) {
+            // The mirror is already up to date; the next sync captures the metrics again
+            logger.warn("Metric capture after Zoho sync failed for startupId {}: {}", startupId, e.getMessage());
+        }
+    }
+
+    private void rebuildAggregates(String startupId) {
+        try {
+            kpiAggregateService.rebuild(startupId);
+        } catch (Exception e) {
+            // Dashboards keep reading the record lists until a later sync rebuilds them
+            kpiAggregateService.markStale(startupId);
+            logger.warn("KPI aggregate rebuild failed for startupId {}: {}", startupId, e.getMessage());
+        }
+    }
+
+    private int syncEntity(ZohoContext context, ZohoSyncEntity entity, LocalDateTime cursor,
+            Set<YearMonth> changedMonths) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        if (entity.isIncremental() && cursor != null) {
+            filters.put("last_modified_time", cursor.minusSeconds(overlapSeconds)
+                    .atZone(ZoneId.systemDefault())
+                    .format(ZOHO_TIMESTAMP));
+        }
+
+        // Millisecond precision, as Mongo stores it, so the prune below never matches rows of this read
+        LocalDateTime syncedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        List<ZohoRecord> batch = new ArrayList<>(BATCH_SIZE);
+
+        int count = zohoService.forEachRecord(context, entity.getEndpoint(), entity.getRecordsField(), filters,
+                record -> {
+                    ZohoRecord mirrored = toRecord(context.getStartupId(), entity, record, syncedAt);
+                    if (mirrored == null) {
+                        return;
+                    }
+                    batch.add(mirrored);
+                    if (batch.size() >= BATCH_SIZE) {
+                        write(context.getStartupId(), entity, cursor, batch, changedMonths);
+                        batch.clear();
+                    }
+                });
+        write(context.getStartupId(), entity, cursor, batch, changedMonths);
+
+        if (cursor != null && entity.isIncremental()) {
+            return count;
+        }
+        if (ZohoService.reachedPageLimit(count)) {
+            logger.warn("⚠️ Zoho {} read for startupId {} hit the page limit; not pruning deleted records",
+                    entity, context.getStartupId());
+            return count;
+        }
+        return count + prune(context.getStartupId(), entity, syncedAt, changedMonths);
+    }
+
+    /**
+     * Removes the entity's mirrored rows that a complete read starting at {@code syncedAt} did not return,
+     * i.e. records deleted in Zoho since they were mirrored.
+     */
+    private int prune(String startupId, ZohoSyncEntity entity, LocalDateTime syncedAt, Set<YearMonth> changedMonths) {
+        Query stale = Query.query(Criteria.where("startupId").is(startupId)
+                .and("entity").is(entity)
+                .and("syncedAt").lt(syncedAt));
+        if (entity == ZohoSyncEntity.SALES_ORDERS || entity == ZohoSyncEntity.EXPENSES) {
+            Query dates = Query.of(stale);
+            dates.fields().include("date");
+            for (ZohoRecord removed : mongoTemplate.find(dates, ZohoRecord.class)) {
+                addMonth(changedMonths, removed.getDate());
+            }
+        }
+
+        long removed = mongoTemplate.remove(stale, ZohoRecord.class).getDeletedCount();
+        if (removed > 0) {
+            logger.info("Removed {} Zoho {} records deleted in Zoho for startupId: {}", removed, entity, startupId);
+        }
+        return (int) removed;
+    }
+
+    private ZohoRecord toRecord(String startupId, ZohoSyncEntity entity, JsonNode record, LocalDateTime syncedAt) {
+        String zohoId = record.path(entity.getIdField()).asText(null);
+        if (zohoId == null || zohoId.isEmpty()) {
+            return null;
+        }
+
+        return ZohoRecord.builder()
+                .id(ZohoRecord.idFor(startupId, entity, zohoId))
+                .startupId(startupId)
+                .entity(entity)
+                .zohoId(zohoId)
+                .date(record.path("date").asText(null))
+                .data(objectMapper.convertValue(record, new TypeReference<Map<String, Object>>() {
+                }))
+                .syncedAt(syncedAt)
+                .build();
+    }
+
+    /**
+     * Upserts the batch. On incremental syncs the KPI aggregates are moved by the difference between
+     * each record and the version it replaces; a full sync rebuilds them at the end instead.
+     * Months of sales orders and expenses written, before and after the change, go into {@code changedMonths}.
+     */
+    private void write(String startupId, ZohoSyncEntity entity, LocalDateTime cursor, List<ZohoRecord> batch,
+            Set<YearMonth> changedMonths) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, ZohoRecord> previous = kpiAggregateService.previousVersions(entity, batch);
+        if (entity == ZohoSyncEntity.SALES_ORDERS || entity == ZohoSyncEntity.EXPENSES) {
+            for (ZohoRecord record : batch) {
+                addMonth(changedMonths, record.getDate());
+            }
+            for (ZohoRecord record : previous.values()) {
+                addMonth(changedMonths, record.getDate());
+            }
+        }
+        kpiAggregateService.assignOrdinals(startupId, entity, batch, previous);
+        upsert(batch);
+        if (cursor != null) {
+            kpiAggregateService.applyChanges(startupId, entity, previous, batch);
+        }
+    }
+
+    private static void addMonth(Set<YearMonth> months, String date) {
+        if (date == null || date.length() < 7) {
+            return;
+        }
+        try {
+            months.add(YearMonth.parse(date.substring(0, 7)));
+        } catch (DateTimeParseException ignored) {
+        }
+    }
+
+    private void upsert(List<ZohoRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, ZohoRecord.class);
+        for (ZohoRecord record : records) {
+            bulk.replaceOne(Query.query(Criteria.where("_id").is(record.getId())), record,
+                    FindAndReplaceOptions.options().upsert());
+        }
+        bulk.execute();
+    }
+
+    /**
+     * Sets only the cursor (and the full-read time after a full read), bumping the version so a concurrent
+     * token refresh holding an older copy of the integration fails its optimistic check instead of writing
+     * the old cursor back.
+     */
+    /**
+     * Takes the integration's sync lease if it is free or has run out. Creates the lease record on first use;
+     * a duplicate key means the record exists and another instance holds it.
+     */
+    private boolean claimLease(String integrationId, String owner) {
+        LocalDateTime now = LocalDateTime.now();
+        Query query = Query.query(Criteria.where("_id").is(integrationId)
+                .orOperator(Criteria.where("leaseUntil").is(null), Criteria.where("leaseUntil").lt(now)));
+        try {
+            return mongoTemplate.findAndModify(query,
+                    new Update().set("owner", owner).set("leaseUntil", now.plusSeconds(leaseSeconds)),
+                    FindAndModifyOptions.options().upsert(true).returnNew(true),
+                    ZohoSyncLease.class) != null;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Extends the lease before the next slice of work; stops the sync if the lease ran out and another
+     * instance took the integration over meanwhile.
+     */
+    private void renewLease(String integrationId, String owner) {
+        boolean renewed = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(integrationId).and("owner").is(owner)),
+                new Update().set("leaseUntil", LocalDateTime.now().plusSeconds(leaseSeconds)),
+                ZohoSyncLease.class).getMatchedCount() > 0;
+        if (!renewed) {
+            throw new IllegalStateException("Zoho sync lease lost to another instance");
+        }
+    }
+
+    private void releaseLease(String integrationId, String owner) {
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(integrationId).and("owner").is(owner)),
+                    new Update().set("leaseUntil", null), ZohoSyncLease.class);
+        } catch (Exception e) {
+            // Runs out on its own
+            logger.warn("Could not release Zoho sync lease of integration {}: {}", integrationId, e.getMessage());
+        }
+    }
+
+    private void advanceCursor(Integration integration, LocalDateTime syncedUpTo, boolean full) {
+        Update update = new Update().set("lastSyncTime", syncedUpTo).inc("version", 1);
+        if (full) {
+            update.set("lastFullSyncTime", syncedUpTo);
+        }
+        mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(integration.getId())),
+                update,
+                Integration.class);
+    }
+}
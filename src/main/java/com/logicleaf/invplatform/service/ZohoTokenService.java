@@ -0,0 +1,217 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.logicleaf.invplatform.exception.ResourceNotFoundException;
+import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationStatus;
+import com.logicleaf.invplatform.model.IntegrationType;
+import com.logicleaf.invplatform.model.ZohoContext;
+import com.logicleaf.invplatform.model.ZohoEndpoint;
+import com.logicleaf.invplatform.repository.IntegrationRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Owns Zoho access-token refresh.
+ * <ul>
+ * <li>Single-flight: concurrent callers for one integration wait on the same refresh.</li>
+ * <li>Proactive: a scheduled job renews tokens shortly before they expire.</li>
+ * <li>Cluster safe: Integration is versioned, so a node that loses the race reuses the winner's token.</li>
+ * </ul>
+ */
+@Service
+@RequiredArgsConstructor
+public class ZohoTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ZohoTokenService.class);
+
+    private static final String ZOHO_TOKEN_URL = "https://accounts.zoho.in/oauth/v2/token";
+
+    private final IntegrationRepository integrationRepository;
+    private final ZohoHttpClient zohoHttpClient;
+    private final ZohoContextService zohoContextService;
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${ZOHO_CLIENT_ID}")
+    private String zohoClientId;
+
+    @Value("${ZOHO_CLIENT_SECRET}")
+    private String zohoClientSecret;
+
+    @Value("${zoho.token.refresh-lead-seconds:300}")
+    private long refreshLeadSeconds;
+
+    private final Map<String, CompletableFuture<ZohoContext>> inFlight = new ConcurrentHashMap<>();
+
+    public ZohoContext ensureValid(ZohoContext context) {
+        if (context.getAccessToken() == null) {
+            throw new IllegalStateException("Missing Zoho access token. Please reconnect Zoho integration.");
+        }
+
+        if (context.isTokenExpired()) {
+            logger.info(" Zoho token expired — refreshing for startupId {}", context.getStartupId());
+            return refresh(context.getIntegrationId());
+        }
+        return context;
+    }
+
+    /**
+     * Refreshes the integration's token, or joins a refresh that is already running for it.
+     */
+    public ZohoContext refresh(String integrationId) {
+        CompletableFuture<ZohoContext> mine = new CompletableFuture<>();
+        CompletableFuture<ZohoContext> running = inFlight.putIfAbsent(integrationId, mine);
+
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException re ? re : e;
+            }
+        }
+
+        try {
+            ZohoContext refreshed = doRefresh(integrationId);
+            mine.complete(refreshed);
+            return refreshed;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(integrationId, mine);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${zoho.token.refresh-check-ms:60000}",
+            initialDelayString = "${zoho.token.refresh-check-ms:60000}")
+    public void refreshExpiringTokens() {
+        LocalDateTime threshold = LocalDateTime.now().plusSeconds(refreshLeadSeconds);
+        List<Integration> expiring = integrationRepository.findByIntegrationTypeAndStatusAndExpiresAtBefore(
+                IntegrationType.ZOHO, IntegrationStatus.CONNECTED, threshold);
+
+        for (Integration integration : expiring) {
+            if (integration.getRefreshToken() == null || integration.getRefreshToken().isEmpty()) {
+                continue;
+            }
+            try {
+                refresh(integration.getId());
+            } catch (Exception e) {
+                logger.warn("Background Zoho token refresh failed for startupId {}: {}",
+                        integration.getStartupId(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Integrations saved before versioning have no version field and would be treated as new
+     * on save. Give them version 0 once so optimistic locking applies to them too.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIntegrationVersions() {
+        try {
+            mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("version").exists(false)),
+                    new Update().set("version", 0L),
+                    Integration.class);
+        } catch (Exception e) {
+            logger.warn("Could not backfill integration versions: {}", e.getMessage());
+        }
+    }
+
+    private ZohoContext doRefresh(String integrationId) {
+        Integration integration = loadIntegration(integrationId);
+
+        // Another node (or the background job) may have refreshed it since the caller read it
+        if (hasFreshToken(integration)) {
+            return publish(integration);
+        }
+
+        String refreshToken = integration.getRefreshToken();
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw new RuntimeException("Refresh token missing. Please reauthorize your Zoho integration.");
+        }
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("refresh_token", refreshToken);
+        params.put("client_id", zohoClientId);
+        params.put("client_secret", zohoClientSecret);
+        params.put("grant_type", "refresh_token");
+
+        try {
+            JsonNode body = zohoHttpClient.postForm(ZohoEndpoint.OAUTH_TOKEN, ZOHO_TOKEN_URL, params);
+
+            if (body == null || !body.has("access_token")) {
+                throw new RuntimeException(
+                        "Failed to refresh Zoho token: " + (body != null ? body.toString() : "null response"));
+            }
+
+            String newAccessToken = body.get("access_token").asText();
+            long expiresIn = body.has("expires_in") ? body.get("expires_in").asLong() : 3600L;
+
+            integration.setAccessToken(newAccessToken);
+            integration.setExpiresAt(LocalDateTime.now().plusSeconds(expiresIn));
+            integration.setUpdatedAt(LocalDateTime.now());
+
+            Integration saved;
+            try {
+                saved = integrationRepository.save(integration);
+            } catch (OptimisticLockingFailureException conflict) {
+                Integration current = loadIntegration(integrationId);
+                if (hasFreshToken(current)) {
+                    // Lost the race to another node: its token is as good as ours
+                    logger.info(" Zoho token for startupId {} was refreshed concurrently, reusing it",
+                            current.getStartupId());
+                    return publish(current);
+                }
+                // Something else changed (e.g. the sync cursor); keep that and apply our token on top
+                current.setAccessToken(integration.getAccessToken());
+                current.setExpiresAt(integration.getExpiresAt());
+                current.setUpdatedAt(integration.getUpdatedAt());
+                saved = integrationRepository.save(current);
+            }
+
+            logger.info(" Zoho access token refreshed successfully for startupId: {}", saved.getStartupId());
+            return publish(saved);
+        } catch (RuntimeException e) {
+            logger.error(" Error refreshing Zoho token for startupId {}: {}", integration.getStartupId(),
+                    e.getMessage());
+            throw new RuntimeException("Error refreshing Zoho token: " + e.getMessage(), e);
+        }
+    }
+
+    private Integration loadIntegration(String integrationId) {
+        return integrationRepository.findById(integrationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Zoho integration not found: " + integrationId));
+    }
+
+    private boolean hasFreshToken(Integration integration) {
+        return integration.getAccessToken() != null
+                && integration.getExpiresAt() != null
+                && integration.getExpiresAt().isAfter(LocalDateTime.now().plusSeconds(refreshLeadSeconds));
+    }
+
+    private ZohoContext publish(Integration integration) {
+        ZohoContext context = zohoContextService.fromIntegration(integration);
+        zohoContextService.update(context);
+        return context;
+    }
+}
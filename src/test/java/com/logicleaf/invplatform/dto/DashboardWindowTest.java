@@ -0,0 +1,84 @@
+package com.logicleaf.invplatform.dto;
+
+import com.logicleaf.invplatform.exception.BadRequestException;
+import com.logicleaf.invplatform.model.RollupPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DashboardWindowTest {
+
+    @Test
+    void missingParametersGiveTheDefaultWindow() {
+        DashboardWindow window = DashboardWindow.of(null, null, null);
+
+        assertThat(window.to()).isEqualTo(YearMonth.now());
+        assertThat(window.from()).isEqualTo(YearMonth.now().minusMonths(DashboardWindow.DEFAULT_MONTHS - 1L));
+        assertThat(window.granularity()).isEqualTo(RollupPeriod.MONTH);
+        assertThat(window.months()).isEqualTo(DashboardWindow.DEFAULT_MONTHS);
+        assertThat(window.isDefault()).isTrue();
+        assertThat(window).isEqualTo(DashboardWindow.lastMonths(DashboardWindow.DEFAULT_MONTHS));
+    }
+
+    @Test
+    void explicitWindowIsNotTheDefault() {
+        DashboardWindow window = DashboardWindow.of(YearMonth.of(2024, 1), YearMonth.of(2024, 6), null);
+
+        assertThat(window.isDefault()).isFalse();
+        assertThat(window.months()).isEqualTo(6);
+        assertThat(window.buckets()).isEqualTo(6);
+    }
+
+    @Test
+    void quarterlyWindowIsWidenedToWholeQuarters() {
+        DashboardWindow window = DashboardWindow.of(YearMonth.of(2024, 2), YearMonth.of(2024, 8), RollupPeriod.QUARTER);
+
+        assertThat(window.from()).isEqualTo(YearMonth.of(2024, 1));
+        assertThat(window.to()).isEqualTo(YearMonth.of(2024, 9));
+        assertThat(window.months()).isEqualTo(9);
+        assertThat(window.buckets()).isEqualTo(3);
+        assertThat(window.label(0)).isEqualTo("Q1 2024");
+        assertThat(window.label(2)).isEqualTo("Q3 2024");
+    }
+
+    @Test
+    void startAfterEndIsRejected() {
+        assertThatThrownBy(() -> DashboardWindow.of(YearMonth.of(2024, 6), YearMonth.of(2024, 5), null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void windowsLongerThanTheMaximumAreRejected() {
+        YearMonth to = YearMonth.of(2024, 12);
+
+        assertThat(DashboardWindow.of(to.minusMonths(DashboardWindow.MAX_MONTHS - 1L), to, null).months())
+                .isEqualTo(DashboardWindow.MAX_MONTHS);
+        assertThatThrownBy(() -> DashboardWindow.of(to.minusMonths(DashboardWindow.MAX_MONTHS), to, null))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void monthIndexCoversOnlyTheWindow() {
+        DashboardWindow window = DashboardWindow.of(YearMonth.of(2023, 11), YearMonth.of(2024, 2), null);
+
+        assertThat(window.monthIndex(2023, 10)).isEqualTo(-1);
+        assertThat(window.monthIndex(2023, 11)).isZero();
+        assertThat(window.monthIndex(2024, 1)).isEqualTo(2);
+        assertThat(window.monthIndex(2024, 2)).isEqualTo(3);
+        assertThat(window.monthIndex(2024, 3)).isEqualTo(-1);
+    }
+
+    @Test
+    void labelsAddTheYearOnlyForWindowsLongerThanAYear() {
+        DashboardWindow year = DashboardWindow.of(YearMonth.of(2024, 1), YearMonth.of(2024, 12), null);
+        DashboardWindow longer = DashboardWindow.of(YearMonth.of(2023, 12), YearMonth.of(2024, 12), null);
+
+        assertThat(year.label(0)).isEqualTo("Jan");
+        assertThat(year.label(11)).isEqualTo("Dec");
+        assertThat(longer.label(0)).isEqualTo("Dec 2023");
+        assertThat(longer.label(12)).isEqualTo("Dec 2024");
+    }
+}
@@ -0,0 +1,298 @@
+package com.logicleaf.invplatform.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.logicleaf.invplatform.dto.DashboardWindow;
+import com.logicleaf.invplatform.dto.ZohoContact;
+import com.logicleaf.invplatform.dto.ZohoExpense;
+import com.logicleaf.invplatform.dto.ZohoInvoice;
+import com.logicleaf.invplatform.dto.ZohoProfitAndLoss;
+import com.logicleaf.invplatform.model.KpiAggregateState;
+import com.logicleaf.invplatform.model.KpiMonthAggregate;
+import com.logicleaf.invplatform.model.ZohoRecord;
+import com.logicleaf.invplatform.model.ZohoSyncEntity;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Aggregates maintained through incremental sync deltas must end up where a rebuild from the mirror
+ * lands, and KPIs read from them must match the record-list path. MongoTemplate is replaced by an
+ * in-memory mirror and aggregate store.
+ */
+class KpiAggregateServiceTest {
+
+    private static final String STARTUP = "startup-1";
+    private static final double EPSILON = 1e-9;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // Insertion order is the order a rebuild streams contacts in, so both paths number them alike
+    private final Map<String, ZohoRecord> mirror = new LinkedHashMap<>();
+    private final Map<String, KpiMonthAggregate> deltaAggregates = new HashMap<>();
+    private final Map<String, KpiMonthAggregate> rebuiltAggregates = new HashMap<>();
+
+    private KpiAggregateService deltaService;
+    private KpiAggregateService rebuildService;
+
+    private final YearMonth now = YearMonth.now();
+
+    @BeforeEach
+    void setUp() {
+        deltaService = new KpiAggregateService(inMemoryMongo(deltaAggregates), objectMapper);
+        rebuildService = new KpiAggregateService(inMemoryMongo(rebuiltAggregates), objectMapper);
+    }
+
+    @Test
+    void deltasMatchRebuildAndListKpis() {
+        write(ZohoSyncEntity.CONTACTS,
+                contact("c1", "customer", "active", now.minusMonths(3), 1),
+                contact("c2", "customer", "active", now.minusMonths(2), 15),
+                contact("c3", "vendor", "active", now.minusMonths(2), 3),
+                contact("c4", "customer", "active", null, 0));
+        write(ZohoSyncEntity.INVOICES,
+                invoice("i1", "paid", now.minusMonths(1), 500.0),
+                invoice("i2", "sent", now.minusMonths(2), 300.0),
+                invoice("i3", "paid", null, 200.0));
+        write(ZohoSyncEntity.EXPENSES,
+                expense("e1", "Marketing", now.minusMonths(1), 100.0),
+                expense("e2", "Rent", now.minusMonths(1), 400.0),
+                expense("e3", "Marketing", now.minusMonths(2), 50.0));
+        write(ZohoSyncEntity.SALES_ORDERS,
+                salesOrder("s1", now.minusMonths(1), 1000.0),
+                salesOrder("s2", now.minusMonths(3), 700.0));
+
+        // A later incremental sync: changed statuses, moved dates, amounts and contact types, new records
+        write(ZohoSyncEntity.CONTACTS,
+                contact("c2", "customer", "inactive", now.minusMonths(2), 15),
+                contact("c3", "customer", "active", now.minusMonths(2), 3),
+                contact("c5", "customer", "active", now.minusMonths(1), 1));
+        write(ZohoSyncEntity.INVOICES, invoice("i2", "paid", now.minusMonths(2), 300.0));
+        write(ZohoSyncEntity.EXPENSES,
+                expense("e1", "Marketing", now.minusMonths(2), 120.0),
+                expense("e4", "Marketing", now, 30.0));
+        write(ZohoSyncEntity.SALES_ORDERS, salesOrder("s2", now.minusMonths(3), 900.0));
+
+        rebuildService.rebuild(STARTUP);
+
+        assertSameAggregates(deltaAggregates, rebuiltAggregates);
+
+        KpiEngine engine = new KpiEngine(List.of(new ChurnKpi(), new LifetimeValueKpi(), new AcquisitionCostKpi()));
+        KpiScope scope = scope();
+        Map<String, Double> fromLists = engine.evaluate(listOf(ZohoSyncEntity.CONTACTS, ZohoContact.class),
+                listOf(ZohoSyncEntity.INVOICES, ZohoInvoice.class), expensesIn(DashboardWindow.lastMonths(
+                        DashboardWindow.DEFAULT_MONTHS)), scope);
+        Map<String, Double> fromDeltas = engine.evaluate(new KpiAggregates(new ArrayList<>(deltaAggregates.values())),
+                scope);
+        Map<String, Double> fromRebuild = engine.evaluate(
+                new KpiAggregates(new ArrayList<>(rebuiltAggregates.values())), scope);
+
+        assertThat(fromLists.keySet()).containsExactly("Churn", "LTV", "CAC");
+        assertThat(fromLists.get("CAC")).isGreaterThan(0.0);
+        assertThat(fromLists.get("LTV")).isGreaterThan(0.0);
+        for (String kpi : fromLists.keySet()) {
+            assertThat(fromDeltas.get(kpi)).as(kpi + " from deltas").isCloseTo(fromLists.get(kpi), within(EPSILON));
+            assertThat(fromRebuild.get(kpi)).as(kpi + " from rebuild").isCloseTo(fromLists.get(kpi), within(EPSILON));
+        }
+    }
+
+    /**
+     * What ZohoSyncService does with each incremental batch.
+     */
+    private void write(ZohoSyncEntity entity, ZohoRecord... records) {
+        List<ZohoRecord> batch = List.of(records);
+        Map<String, ZohoRecord> previous = deltaService.previousVersions(entity, batch);
+        deltaService.assignOrdinals(STARTUP, entity, batch, previous);
+        for (ZohoRecord record : batch) {
+            mirror.put(record.getId(), record);
+        }
+        deltaService.applyChanges(STARTUP, entity, previous, batch);
+    }
+
+    private void assertSameAggregates(Map<String, KpiMonthAggregate> actual, Map<String, KpiMonthAggregate> expected) {
+        TreeSet<String> ids = new TreeSet<>(actual.keySet());
+        ids.addAll(expected.keySet());
+        for (String id : ids) {
+            KpiMonthAggregate delta = orEmpty(actual.get(id));
+            KpiMonthAggregate rebuilt = orEmpty(expected.get(id));
+
+            assertThat(delta.getCustomers()).as(id + " customers").isEqualTo(rebuilt.getCustomers());
+            assertThat(delta.getCustomersByCreatedDay()).as(id + " customers by day")
+                    .isEqualTo(rebuilt.getCustomersByCreatedDay());
+            assertThat(KpiAggregates.bits(delta.getActiveCustomers())).as(id + " active")
+                    .isEqualTo(KpiAggregates.bits(rebuilt.getActiveCustomers()));
+            assertThat(KpiAggregates.bits(delta.getActiveCustomersOnFirstDay())).as(id + " active on the 1st")
+                    .isEqualTo(KpiAggregates.bits(rebuilt.getActiveCustomersOnFirstDay()));
+            assertThat(KpiAggregates.bits(delta.getInactiveCustomers())).as(id + " inactive")
+                    .isEqualTo(KpiAggregates.bits(rebuilt.getInactiveCustomers()));
+            assertThat(delta.getRevenue()).as(id + " revenue").isCloseTo(rebuilt.getRevenue(), within(EPSILON));
+            assertThat(delta.getExpenses()).as(id + " expenses").isCloseTo(rebuilt.getExpenses(), within(EPSILON));
+            assertThat(delta.getMarketingExpenses()).as(id + " marketing")
+                    .isCloseTo(rebuilt.getMarketingExpenses(), within(EPSILON));
+            assertThat(delta.getPaidInvoices()).as(id + " paid invoices")
+                    .isCloseTo(rebuilt.getPaidInvoices(), within(EPSILON));
+        }
+    }
+
+    // A month every record moved out of stays behind as zeros on the delta path
+    private static KpiMonthAggregate orEmpty(KpiMonthAggregate aggregate) {
+        return aggregate != null ? aggregate : KpiMonthAggregate.builder().customersByCreatedDay(new int[31]).build();
+    }
+
+    private KpiScope scope() {
+        LocalDate today = LocalDate.now();
+        LocalDate previousMonth = today.minusMonths(1);
+        ZohoProfitAndLoss pnl = new ZohoProfitAndLoss(
+                List.of(new ZohoProfitAndLoss.Section("Gross Profit", 800.0)));
+        return KpiScope.of(today, previousMonth.withDayOfMonth(1),
+                previousMonth.withDayOfMonth(previousMonth.lengthOfMonth()),
+                DashboardWindow.lastMonths(DashboardWindow.DEFAULT_MONTHS), pnl);
+    }
+
+    private <T> List<T> listOf(ZohoSyncEntity entity, Class<T> type) {
+        return mirror.values().stream()
+                .filter(record -> record.getEntity() == entity)
+                .map(record -> objectMapper.convertValue(record.getData(), type))
+                .toList();
+    }
+
+    // The list path reads expenses for the KPI window only
+    private List<ZohoExpense> expensesIn(DashboardWindow window) {
+        return listOf(ZohoSyncEntity.EXPENSES, ZohoExpense.class).stream()
+                .filter(expense -> {
+                    YearMonth month = YearMonth.parse(expense.getDate().substring(0, 7));
+                    return !month.isBefore(window.from()) && !month.isAfter(window.to());
+                })
+                .toList();
+    }
+
+    private ZohoRecord contact(String id, String type, String status, YearMonth created, int day) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("contact_id", id);
+        data.put("contact_type", type);
+        data.put("status", status);
+        if (created != null) {
+            data.put("created_time", created.atDay(day) + "T10:15:00+0530");
+        }
+        return record(ZohoSyncEntity.CONTACTS, id, null, data);
+    }
+
+    private ZohoRecord invoice(String id, String status, YearMonth month, double total) {
+        String date = month != null ? month.atDay(10).toString() : null;
+        Map<String, Object> data = new HashMap<>();
+        data.put("status", status);
+        data.put("total", total);
+        data.put("date", date);
+        return record(ZohoSyncEntity.INVOICES, id, date, data);
+    }
+
+    private ZohoRecord expense(String id, String account, YearMonth month, double total) {
+        String date = month.atDay(5).toString();
+        return record(ZohoSyncEntity.EXPENSES, id, date, Map.of("date", date, "total", total, "account_name", account));
+    }
+
+    private ZohoRecord salesOrder(String id, YearMonth month, double total) {
+        String date = month.atDay(20).toString();
+        return record(ZohoSyncEntity.SALES_ORDERS, id, date, Map.of("date", date, "total", total));
+    }
+
+    private static ZohoRecord record(ZohoSyncEntity entity, String zohoId, String date, Map<String, Object> data) {
+        return ZohoRecord.builder()
+                .id(ZohoRecord.idFor(STARTUP, entity, zohoId))
+                .startupId(STARTUP)
+                .entity(entity)
+                .zohoId(zohoId)
+                .date(date)
+                .data(data)
+                .syncedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private static ZohoRecord copy(ZohoRecord record) {
+        return ZohoRecord.builder()
+                .id(record.getId())
+                .startupId(record.getStartupId())
+                .entity(record.getEntity())
+                .zohoId(record.getZohoId())
+                .date(record.getDate())
+                .data(record.getData())
+                .ordinal(record.getOrdinal())
+                .syncedAt(record.getSyncedAt())
+                .build();
+    }
+
+    /**
+     * Just the MongoTemplate calls KpiAggregateService makes, over {@link #mirror} and {@code aggregates}.
+     * The aggregate state starts out built and empty, as after a first sync of an empty Zoho org.
+     */
+    private MongoTemplate inMemoryMongo(Map<String, KpiMonthAggregate> aggregates) {
+        MongoTemplate mongo = mock(MongoTemplate.class);
+        AtomicLong nextOrdinal = new AtomicLong();
+
+        when(mongo.findById(eq(STARTUP), eq(KpiAggregateState.class))).thenAnswer(invocation ->
+                KpiAggregateState.builder().startupId(STARTUP).builtAt(LocalDateTime.now()).build());
+        when(mongo.findById(anyString(), eq(KpiMonthAggregate.class)))
+                .thenAnswer(invocation -> aggregates.get(invocation.<String>getArgument(0)));
+        when(mongo.save(any(KpiMonthAggregate.class))).thenAnswer(invocation -> {
+            KpiMonthAggregate aggregate = invocation.getArgument(0);
+            aggregates.put(aggregate.getId(), aggregate);
+            return aggregate;
+        });
+        when(mongo.find(any(Query.class), eq(ZohoRecord.class))).thenAnswer(invocation -> {
+            Document ids = (Document) invocation.<Query>getArgument(0).getQueryObject().get("_id");
+            Collection<?> wanted = (Collection<?>) ids.get("$in");
+            return mirror.values().stream().filter(record -> wanted.contains(record.getId())).map(
+                    KpiAggregateServiceTest::copy).toList();
+        });
+        when(mongo.findAndModify(any(Query.class), any(Update.class), any(), eq(KpiAggregateState.class)))
+                .thenAnswer(invocation -> {
+                    Document inc = invocation.<Update>getArgument(1).getUpdateObject().get("$inc", Document.class);
+                    long next = nextOrdinal.addAndGet(((Number) inc.get("nextOrdinal")).longValue());
+                    return KpiAggregateState.builder().startupId(STARTUP).nextOrdinal(next).build();
+                });
+
+        when(mongo.bulkOps(any(BulkOperations.BulkMode.class), eq(ZohoRecord.class)))
+                .thenAnswer(invocation -> mock(BulkOperations.class, RETURNS_SELF));
+        when(mongo.stream(any(Query.class), eq(ZohoRecord.class))).thenAnswer(invocation -> {
+            Object entity = invocation.<Query>getArgument(0).getQueryObject().get("entity");
+            return mirror.values().stream().filter(record -> record.getEntity() == entity)
+                    .map(KpiAggregateServiceTest::copy);
+        });
+        when(mongo.remove(any(Query.class), eq(KpiMonthAggregate.class))).thenAnswer(invocation -> {
+            aggregates.clear();
+            return null;
+        });
+        when(mongo.insertAll(anyCollection())).thenAnswer(invocation -> {
+            for (Object aggregate : invocation.<Collection<?>>getArgument(0)) {
+                aggregates.put(((KpiMonthAggregate) aggregate).getId(), (KpiMonthAggregate) aggregate);
+            }
+            return invocation.getArgument(0);
+        });
+        return mongo;
+    }
+}
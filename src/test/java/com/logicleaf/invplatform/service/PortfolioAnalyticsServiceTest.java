@@ -0,0 +1,159 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.dto.FounderDashboardResponse;
+import com.logicleaf.invplatform.dto.MonthlyMetric;
+import com.logicleaf.invplatform.dto.PortfolioAnalyticsDTO;
+import com.logicleaf.invplatform.model.DashboardSnapshot;
+import com.logicleaf.invplatform.model.Integration;
+import com.logicleaf.invplatform.model.IntegrationStatus;
+import com.logicleaf.invplatform.model.IntegrationType;
+import com.logicleaf.invplatform.model.Investment;
+import com.logicleaf.invplatform.model.MetricType;
+import com.logicleaf.invplatform.model.Startup;
+import com.logicleaf.invplatform.model.StartupMetrics;
+import com.logicleaf.invplatform.repository.IntegrationRepository;
+import com.logicleaf.invplatform.repository.InvestmentRepository;
+import com.logicleaf.invplatform.repository.StartupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Portfolio totals over one Zoho-connected company (rupees) and one report-only company (lakh ₹).
+ */
+class PortfolioAnalyticsServiceTest {
+
+    private static final String INVESTOR = "investor-1";
+
+    private InvestmentRepository investmentRepository;
+    private StartupRepository startupRepository;
+    private IntegrationRepository integrationRepository;
+    private DashboardSnapshotService dashboardSnapshotService;
+    private StartupMetricsService startupMetricsService;
+    private PortfolioAnalyticsService service;
+
+    @BeforeEach
+    void setUp() {
+        investmentRepository = mock(InvestmentRepository.class);
+        startupRepository = mock(StartupRepository.class);
+        integrationRepository = mock(IntegrationRepository.class);
+        dashboardSnapshotService = mock(DashboardSnapshotService.class);
+        startupMetricsService = mock(StartupMetricsService.class);
+
+        service = new PortfolioAnalyticsService(investmentRepository, startupRepository, integrationRepository,
+                dashboardSnapshotService, startupMetricsService, Runnable::run);
+        ReflectionTestUtils.setField(service, "deadlineMs", 5_000L);
+        ReflectionTestUtils.setField(service, "perIntegrationConcurrency", 1);
+
+        when(investmentRepository.findByInvestorId(INVESTOR)).thenReturn(List.of(
+                investment("zoho-co", 10.0),
+                investment("report-co", 20.0)));
+        when(startupRepository.findAllById(any())).thenReturn(List.of(
+                Startup.builder().id("zoho-co").startupName("Zoho Co").build(),
+                Startup.builder().id("report-co").startupName("Report Co").build()));
+        when(integrationRepository.findByStartupIdInAndIntegrationType(anyCollection(), eq(IntegrationType.ZOHO)))
+                .thenReturn(List.of(Integration.builder()
+                        .startupId("zoho-co")
+                        .integrationType(IntegrationType.ZOHO)
+                        .status(IntegrationStatus.CONNECTED)
+                        .accessToken("token")
+                        .organizationId("org-1")
+                        .build()));
+
+        // Zoho dashboard buckets are rupees; the last one is the current, partial month
+        FounderDashboardResponse dashboard = FounderDashboardResponse.builder()
+                .revenueGrowth(List.of(new MonthlyMetric("Jan", 400_000.0), new MonthlyMetric("Feb", 500_000.0),
+                        new MonthlyMetric("Mar", 50_000.0)))
+                .burnRateAnalysis(List.of(new MonthlyMetric("Jan", 200_000.0), new MonthlyMetric("Feb", 300_000.0),
+                        new MonthlyMetric("Mar", 20_000.0)))
+                .keyPerformanceIndicators(Map.of())
+                .cashRunwayMonths(12)
+                .build();
+        when(dashboardSnapshotService.getSnapshotForStartup(any(Integration.class), anyBoolean()))
+                .thenReturn(DashboardSnapshot.builder()
+                        .startupId("zoho-co")
+                        .dashboard(dashboard)
+                        .computedAt(LocalDateTime.now())
+                        .build());
+
+        // Founder reports are lakh ₹
+        when(startupMetricsService.findLatestTwo(anyString(), any(MetricType.class))).thenReturn(List.of());
+        when(startupMetricsService.findLatestTwo("report-co", MetricType.REPORTED_MONTHLY_REVENUE))
+                .thenReturn(List.of(reported(MetricType.REPORTED_MONTHLY_REVENUE, 3.0, 2),
+                        reported(MetricType.REPORTED_MONTHLY_REVENUE, 2.0, 1)));
+        when(startupMetricsService.findLatestTwo("report-co", MetricType.REPORTED_MONTHLY_BURN))
+                .thenReturn(List.of(reported(MetricType.REPORTED_MONTHLY_BURN, 1.5, 2)));
+    }
+
+    @Test
+    void reportedFiguresAreConvertedToRupeesBeforeAggregating() {
+        PortfolioAnalyticsDTO analytics = service.getPortfolioAnalytics(INVESTOR, false);
+
+        assertThat(analytics.getCompaniesWithData()).isEqualTo(2);
+        assertThat(analytics.getCompanies())
+                .filteredOn(company -> "report-co".equals(company.getStartupId()))
+                .singleElement()
+                .satisfies(company -> {
+                    assertThat(company.getSource()).isEqualTo("reports");
+                    assertThat(company.getMonthlyRevenue()).isEqualTo(300_000.0);
+                    assertThat(company.getMonthlyBurn()).isEqualTo(150_000.0);
+                    assertThat(company.getRevenueGrowthPercentage()).isEqualTo(50.0);
+                });
+
+        assertThat(analytics.getTotalMonthlyRevenue()).isEqualTo(500_000.0 + 300_000.0);
+        assertThat(analytics.getTotalMonthlyBurn()).isEqualTo(300_000.0 + 150_000.0);
+        assertThat(analytics.getOwnershipWeightedMonthlyRevenue()).isEqualTo(500_000.0 * 0.10 + 300_000.0 * 0.20);
+        assertThat(analytics.getOwnershipWeightedMonthlyBurn()).isEqualTo(300_000.0 * 0.10 + 150_000.0 * 0.20);
+    }
+
+    @Test
+    void zohoFiguresComeFromTheLastCompleteMonth() {
+        PortfolioAnalyticsDTO analytics = service.getPortfolioAnalytics(INVESTOR, false);
+
+        assertThat(analytics.getCompanies())
+                .filteredOn(company -> "zoho-co".equals(company.getStartupId()))
+                .singleElement()
+                .satisfies(company -> {
+                    assertThat(company.getMonthlyRevenue()).isEqualTo(500_000.0);
+                    assertThat(company.getMonthlyBurn()).isEqualTo(300_000.0);
+                    assertThat(company.getRevenueGrowthPercentage()).isEqualTo(25.0);
+                });
+        // Both companies have the same amount invested: (25% + 50%) / 2
+        assertThat(analytics.getInvestmentWeightedGrowthPercentage()).isEqualTo(37.5);
+    }
+
+    private static Investment investment(String startupId, double ownershipPercentage) {
+        return Investment.builder()
+                .investorId(INVESTOR)
+                .startupId(startupId)
+                .totalInvestedAmount(1_000_000.0)
+                .ownershipPercentage(ownershipPercentage)
+                .isActive(true)
+                .build();
+    }
+
+    private static StartupMetrics reported(MetricType metric, double lakhs, int month) {
+        return StartupMetrics.builder()
+                .startupId("report-co")
+                .metricName(metric)
+                .metricValue(lakhs)
+                .dateCaptured(LocalDate.of(2024, month, 1))
+                .source("report")
+                .recordedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,151 @@
+package com.logicleaf.invplatform.service;
+
+import com.logicleaf.invplatform.exception.ZohoRateLimitException;
+import com.logicleaf.invplatform.model.ZohoRateWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Interactive reserve, daily budget and 429 back-off of {@link ZohoRateLimiter}, over in-memory counters.
+ */
+class ZohoRateLimiterTest {
+
+    private static final String ORG = "org-1";
+
+    // Counters by window kind ("org-1" per minute, "org-1:day" per day), so a test never straddles two windows
+    private final Map<String, Integer> counters = new HashMap<>();
+
+    private MongoTemplate mongoTemplate;
+    private ZohoRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(), eq(ZohoRateWindow.class)))
+                .thenAnswer(invocation -> {
+                    String window = window(invocation.getArgument(0));
+                    int count = counters.merge(window, 1, Integer::sum);
+                    return ZohoRateWindow.builder().id(window).organizationId(ORG).count(count).build();
+                });
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(ZohoRateWindow.class)))
+                .thenAnswer(invocation -> {
+                    counters.merge(window(invocation.getArgument(0)), -1, Integer::sum);
+                    return null;
+                });
+
+        limiter = new ZohoRateLimiter(mongoTemplate, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(limiter, "requestsPerMinute", 10);
+        ReflectionTestUtils.setField(limiter, "interactiveReserve", 3);
+        ReflectionTestUtils.setField(limiter, "requestsPerDay", 1000);
+        ReflectionTestUtils.setField(limiter, "dailyInteractiveReserve", 100);
+        // Background callers give up instead of sleeping into the next minute
+        ReflectionTestUtils.setField(limiter, "backgroundMaxWaitMs", 0L);
+    }
+
+    @Test
+    void backgroundCallsLeaveTheInteractiveReserve() {
+        for (int i = 0; i < 7; i++) {
+            limiter.inBackground(() -> limiter.acquire(ORG));
+        }
+        assertThatThrownBy(() -> limiter.inBackground(() -> limiter.acquire(ORG)))
+                .isInstanceOf(ZohoRateLimitException.class);
+
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(ORG);
+        }
+        assertThat(counters.get(ORG)).isEqualTo(10);
+    }
+
+    @Test
+    void interactiveCallsFailFastOnceTheMinuteIsSpent() {
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire(ORG);
+        }
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> limiter.acquire(ORG))
+                .isInstanceOfSatisfying(ZohoRateLimitException.class, e ->
+                        assertThat(e.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofMinutes(1)));
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(500));
+        // The refused call gave its slot back
+        assertThat(counters.get(ORG)).isEqualTo(10);
+    }
+
+    @Test
+    void dailyBudgetHasItsOwnInteractiveReserve() {
+        ReflectionTestUtils.setField(limiter, "requestsPerMinute", 1000);
+        ReflectionTestUtils.setField(limiter, "requestsPerDay", 8);
+        ReflectionTestUtils.setField(limiter, "dailyInteractiveReserve", 2);
+
+        for (int i = 0; i < 6; i++) {
+            limiter.inBackground(() -> limiter.acquire(ORG));
+        }
+        assertThatThrownBy(() -> limiter.inBackground(() -> limiter.acquire(ORG)))
+                .isInstanceOf(ZohoRateLimitException.class);
+
+        limiter.acquire(ORG);
+        limiter.acquire(ORG);
+        assertThatThrownBy(() -> limiter.acquire(ORG))
+                .isInstanceOfSatisfying(ZohoRateLimitException.class, e ->
+                        assertThat(e.getRetryAfter()).isLessThanOrEqualTo(Duration.ofDays(1)));
+
+        assertThat(counters.get(ORG + ":day")).isEqualTo(8);
+        // Calls refused by the daily budget don't count against the minute
+        assertThat(counters.get(ORG)).isEqualTo(8);
+    }
+
+    @Test
+    void zoho429BlocksTheOrganizationUntilRetryAfter() {
+        limiter.backOff(ORG, Duration.ofSeconds(30));
+
+        assertThatThrownBy(() -> limiter.acquire(ORG))
+                .isInstanceOfSatisfying(ZohoRateLimitException.class, e ->
+                        assertThat(e.getRetryAfter()).isGreaterThan(Duration.ofSeconds(25))
+                                .isLessThanOrEqualTo(Duration.ofSeconds(30)));
+        assertThatThrownBy(() -> limiter.inBackground(() -> limiter.acquire(ORG)))
+                .isInstanceOf(ZohoRateLimitException.class);
+        assertThat(counters).doesNotContainKey(ORG);
+
+        limiter.acquire("org-2");
+        assertThat(counters.get("org-2")).isEqualTo(1);
+    }
+
+    @Test
+    void expiredBackOffNoLongerBlocks() {
+        limiter.backOff(ORG, Duration.ZERO);
+
+        limiter.acquire(ORG);
+        assertThat(counters.get(ORG)).isEqualTo(1);
+    }
+
+    @Test
+    void callsGoAheadWhenTheCountersAreUnavailable() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(), eq(ZohoRateWindow.class)))
+                .thenThrow(new DataAccessResourceFailureException("mongo down"));
+
+        limiter.acquire(ORG);
+        limiter.inBackground(() -> limiter.acquire(ORG));
+    }
+
+    private static String window(Query query) {
+        String id = (String) query.getQueryObject().get("_id", Object.class);
+        return id.substring(0, id.lastIndexOf(':'));
+    }
+}